@@ -23,6 +23,10 @@ package org.openwms.wms;
 public final class ReceivingConstants {
 
     public static final String DEFAULT_ACCOUNT_NAME = "DEFAULT";
+    /** Profile that replaces the remote services with in-process stand-ins, e.g. to run load tests offline. */
+    public static final String SIMULATION_PROFILE = "SIMULATION";
+    /** Routing key of messages that are sent to the dead letter exchange. */
+    public static final String POISON_MESSAGE = "poison-message";
 
     private ReceivingConstants() {}
 }
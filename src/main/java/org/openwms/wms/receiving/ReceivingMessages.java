@@ -34,6 +34,9 @@ public final class ReceivingMessages {
     public static final String RO_NO_OPEN_POSITIONS_TU = "owms.wms.rec.recOrderNoROPWithTU";
     public static final String TU_TYPE_NOT_GIVEN = "owms.wms.rec.tuTypeNotGiven";
     public static final String LOCATION_ID_NOT_GIVEN = "owms.wms.rec.locationIdNotGiven";
+    public static final String LOCATION_NOT_FOUND = "owms.wms.rec.location404";
+    public static final String TU_ALREADY_EXISTS = "owms.wms.rec.tuExists";
+    public static final String IDEMPOTENCY_KEY_REUSED = "owms.wms.rec.idempotencyKeyReused";
     public static final String RO_NO_UNEXPECTED_ALLOWED = "owms.wms.rec.recOrderNoUnexpectedAllowed";
 
     private ReceivingMessages() {
@@ -35,13 +35,17 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
         "org.openwms.wms.receiving.impl",
         "org.openwms.wms.receiving.ui.impl",
         "org.openwms.wms.receiving.transport.impl",
-        "org.openwms.wms.receiving.inventory"
+        "org.openwms.wms.receiving.inventory",
+        "org.openwms.wms.receiving.location",
+        "org.openwms.wms.receiving.outbox"
 })
 @EntityScan(basePackages = {
         "org.openwms.wms.receiving.impl",
         "org.openwms.wms.receiving.ui.impl",
         "org.openwms.wms.receiving.transport.impl",
-        "org.openwms.wms.receiving.inventory"
+        "org.openwms.wms.receiving.inventory",
+        "org.openwms.wms.receiving.location",
+        "org.openwms.wms.receiving.outbox"
 })
 public class ReceivingRunner {
 
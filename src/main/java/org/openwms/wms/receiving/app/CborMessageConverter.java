@@ -0,0 +1,118 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A CborMessageConverter encodes messages in the compact binary CBOR format. Like JSON, unknown properties are ignored
+ * when a message is read, so sender and receiver do not need to share the exact same classes. Payloads larger than the
+ * compression threshold are compressed with GZIP. Messages that are not CBOR encoded, like JSON messages from services
+ * not yet migrated, are read with the JSON converter.
+ *
+ * @author Heiko Scherrer
+ */
+class CborMessageConverter extends AbstractMessageConverter {
+
+    static final String CONTENT_TYPE_CBOR = "application/cbor";
+    static final String CONTENT_ENCODING_GZIP = "gzip";
+    private final ObjectMapper mapper;
+    private final DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+    private final Jackson2JsonMessageConverter fallback = new Jackson2JsonMessageConverter();
+    private final int compressionThreshold;
+
+    /**
+     * Create a CborMessageConverter.
+     *
+     * @param compressionThreshold Payloads with more bytes are compressed, zero or less disables compression
+     */
+    CborMessageConverter(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        this.mapper = CBORMapper.builder()
+                .findAndAddModules()
+                // Repeated property names and values are encoded as references to their first occurrence
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.typeMapper.setTrustedPackages("*");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties) {
+        try {
+            var body = mapper.writeValueAsBytes(object);
+            if (compressionThreshold > 0 && body.length > compressionThreshold) {
+                body = gzip(body);
+                messageProperties.setContentEncoding(CONTENT_ENCODING_GZIP);
+            }
+            messageProperties.setContentType(CONTENT_TYPE_CBOR);
+            messageProperties.setContentLength(body.length);
+            typeMapper.fromJavaType(mapper.constructType(object.getClass()), messageProperties);
+            return new Message(body, messageProperties);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to convert Message content to CBOR", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object fromMessage(Message message) {
+        var properties = message.getMessageProperties();
+        if (properties == null || !CONTENT_TYPE_CBOR.equals(properties.getContentType())) {
+            return fallback.fromMessage(message);
+        }
+        try {
+            var body = CONTENT_ENCODING_GZIP.equals(properties.getContentEncoding()) ? gunzip(message.getBody()) : message.getBody();
+            return mapper.readValue(body, typeMapper.toJavaType(properties));
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to convert CBOR Message content", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        var bos = new ByteArrayOutputStream(body.length / 2);
+        try (var out = new GZIPOutputStream(bos)) {
+            out.write(body);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A ListenerContainerTuning applies the settings of one AMQP listener to its container factory. Each listener is
+ * configured separately and falls back to the default settings, and to the Spring Boot settings if nothing is
+ * configured at all. The time to process messages is published as timer, the number of consumers and the share of them
+ * that are currently processing a message (utilization) as gauges, all tagged with the name of the listener. The age of
+ * inbound messages and the depth of the consumed queues are tracked by the {@link QueueLagMonitor}, back-pressure is
+ * applied by the {@link LoadGovernor}.
+ *
+ * @author Heiko Scherrer
+ */
+class ListenerContainerTuning {
+
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    static final String PREFIX = "owms.receiving.listeners.";
+    static final String DEFAULTS = "default";
+    /** Listener on Product events. */
+    static final String PRODUCTS = "products";
+    /** Listener on TransportUnit events. */
+    static final String TRANSPORT_UNITS = "transport-units";
+    /** Listener on Location events. */
+    static final String LOCATIONS = "locations";
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final QueueLagMonitor queueLagMonitor;
+    private final LoadGovernor loadGovernor;
+
+    ListenerContainerTuning(Environment environment, MeterRegistry meterRegistry, QueueLagMonitor queueLagMonitor,
+            LoadGovernor loadGovernor) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.queueLagMonitor = queueLagMonitor;
+        this.loadGovernor = loadGovernor;
+    }
+
+    /**
+     * Apply the settings of the listener {@code listener} to the {@code factory}.
+     *
+     * @param factory The factory, already configured with the Spring Boot settings. Advices already applied to it, like
+     * the retry interceptor of Spring Boot, are kept and wrap the ones of the listener
+     * @param listener The name of the listener
+     * @return The factory
+     */
+    SimpleRabbitListenerContainerFactory configure(SimpleRabbitListenerContainerFactory factory, String listener) {
+        property(listener, "concurrent-consumers", Integer.class).ifPresent(factory::setConcurrentConsumers);
+        property(listener, "max-concurrent-consumers", Integer.class).ifPresent(factory::setMaxConcurrentConsumers);
+        property(listener, "prefetch", Integer.class).ifPresent(factory::setPrefetchCount);
+        var virtualThreads = property(listener, "virtual-threads", Boolean.class).orElse(false);
+        if (virtualThreads) {
+            var executor = new SimpleAsyncTaskExecutor(listener + "-listener-");
+            executor.setVirtualThreads(true);
+            factory.setTaskExecutor(executor);
+        }
+        var busy = new AtomicInteger();
+        var succeeded = processingTimer(listener, "success");
+        var failed = processingTimer(listener, "failure");
+        var adviceChain = new ArrayList<Advice>();
+        if (factory.getAdviceChain() != null) {
+            adviceChain.addAll(Arrays.asList(factory.getAdviceChain()));
+        }
+        adviceChain.add((MethodInterceptor) invocation -> {
+            loadGovernor.throttle(listener);
+            busy.incrementAndGet();
+            recordAge(invocation.getArguments());
+            var start = System.nanoTime();
+            try {
+                var result = invocation.proceed();
+                succeeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable t) {
+                failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw t;
+            } finally {
+                busy.decrementAndGet();
+            }
+        });
+        factory.setAdviceChain(adviceChain.toArray(Advice[]::new));
+        factory.setContainerCustomizer(container -> {
+            queueLagMonitor.watch(container.getQueueNames());
+            Gauge.builder("owms.receiving.listener.consumers", container, SimpleMessageListenerContainer::getActiveConsumerCount)
+                    .tag("listener", listener)
+                    .register(meterRegistry);
+            Gauge.builder("owms.receiving.listener.utilization", container, c -> {
+                        var consumers = c.getActiveConsumerCount();
+                        return consumers == 0 ? 0 : Math.min(1d, (double) busy.get() / consumers);
+                    })
+                    .tag("listener", listener)
+                    .register(meterRegistry);
+        });
+        BOOT_LOGGER.info("Listener [{}] with consumers [{}..{}], prefetch [{}] and virtual threads [{}]", listener,
+                property(listener, "concurrent-consumers", Integer.class).map(String::valueOf).orElse("default"),
+                property(listener, "max-concurrent-consumers", Integer.class).map(String::valueOf).orElse("default"),
+                property(listener, "prefetch", Integer.class).map(String::valueOf).orElse("default"),
+                virtualThreads);
+        return factory;
+    }
+
+    private void recordAge(Object[] arguments) {
+        var data = arguments.length > 1 ? arguments[1] : null;
+        if (data instanceof Message message) {
+            queueLagMonitor.record(message);
+        } else if (data instanceof List<?> messages) {
+            messages.stream().filter(Message.class::isInstance).map(Message.class::cast).forEach(queueLagMonitor::record);
+        }
+    }
+
+    private Timer processingTimer(String listener, String outcome) {
+        return Timer.builder("owms.receiving.listener.processing")
+                .tag("listener", listener)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private <T> Optional<T> property(String listener, String key, Class<T> type) {
+        var value = environment.getProperty(PREFIX + listener + "." + key, type);
+        return Optional.ofNullable(value != null ? value : environment.getProperty(PREFIX + DEFAULTS + "." + key, type));
+    }
+}
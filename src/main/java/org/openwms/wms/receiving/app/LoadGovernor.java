@@ -0,0 +1,287 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openwms.core.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A LoadGovernor protects the database connection pool from being drained by the AMQP listeners when the pool is
+ * saturated. It samples the share of active connections and the mean time to acquire a connection from the Hikari pool
+ * metrics. Above the throttle thresholds each message of the governed listeners is delayed before processing, above the
+ * pause thresholds the listener containers are stopped. Only after a number of consecutive samples below the resume
+ * thresholds the governor steps back one level, so the listeners don't flap around a single threshold. The current
+ * level and the reason of it are published as metrics and on the {@code loadgovernor} actuator endpoint. The pool is
+ * sampled on a thread of its own, so that scheduled jobs of the application cannot delay it.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@Component
+class LoadGovernor implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadGovernor.class);
+
+    /** The level of back-pressure applied to the governed listeners. */
+    enum Level {
+        /** Listeners consume at full speed. */
+        NORMAL,
+        /** Each message is delayed before processing. */
+        THROTTLED,
+        /** Listener containers are stopped. */
+        PAUSED
+    }
+
+    /**
+     * A LoadSample is the state of the connection pool at one point in time.
+     *
+     * @param activeRatio Share of active connections of the maximum pool size, between 0 and 1
+     * @param meanWait Mean time to acquire a connection since the previous sample
+     */
+    record LoadSample(double activeRatio, Duration meanWait) {
+        static final LoadSample UNKNOWN = new LoadSample(0, Duration.ZERO);
+    }
+
+    /**
+     * The state of the governor.
+     *
+     * @param level The current level
+     * @param reason Why the current level was entered
+     * @param since When the current level was entered
+     * @param sample The latest sample
+     */
+    record State(Level level, String reason, Instant since, LoadSample sample) {
+    }
+
+    private final RabbitListenerEndpointRegistry endpointRegistry;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final List<String> listeners;
+    private final double throttleRatio;
+    private final Duration throttleWait;
+    private final Duration throttleDelay;
+    private final double pauseRatio;
+    private final Duration pauseWait;
+    private final double resumeRatio;
+    private final Duration resumeWait;
+    private final int resumeAfter;
+    private final Map<Level, Counter> transitions;
+    private final ScheduledExecutorService sampler;
+    private volatile State state = new State(Level.NORMAL, "started", Instant.now(), LoadSample.UNKNOWN);
+    private int calmSamples;
+    private long lastAcquireCount;
+    private double lastAcquireNanos;
+
+    LoadGovernor(RabbitListenerEndpointRegistry endpointRegistry, MeterRegistry meterRegistry,
+            @Value("${owms.receiving.load-governor.enabled:false}") boolean enabled,
+            @Value("${owms.receiving.load-governor.listeners:products,transport-units}") List<String> listeners,
+            @Value("${owms.receiving.load-governor.throttle.active-ratio:0.8}") double throttleRatio,
+            @Value("${owms.receiving.load-governor.throttle.wait:50ms}") Duration throttleWait,
+            @Value("${owms.receiving.load-governor.throttle.delay:100ms}") Duration throttleDelay,
+            @Value("${owms.receiving.load-governor.pause.active-ratio:0.95}") double pauseRatio,
+            @Value("${owms.receiving.load-governor.pause.wait:500ms}") Duration pauseWait,
+            @Value("${owms.receiving.load-governor.resume.active-ratio:0.6}") double resumeRatio,
+            @Value("${owms.receiving.load-governor.resume.wait:10ms}") Duration resumeWait,
+            @Value("${owms.receiving.load-governor.resume.after:5}") int resumeAfter,
+            @Value("${owms.receiving.load-governor.interval:1s}") Duration interval) {
+        this.endpointRegistry = endpointRegistry;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.listeners = listeners;
+        this.throttleRatio = throttleRatio;
+        this.throttleWait = throttleWait;
+        this.throttleDelay = throttleDelay;
+        this.pauseRatio = pauseRatio;
+        this.pauseWait = pauseWait;
+        this.resumeRatio = resumeRatio;
+        this.resumeWait = resumeWait;
+        this.resumeAfter = resumeAfter;
+        Gauge.builder("owms.receiving.load-governor.level", this, g -> g.state.level().ordinal())
+                .description("Back-pressure on the AMQP listeners, 0 = normal, 1 = throttled, 2 = paused")
+                .register(meterRegistry);
+        this.transitions = Map.of(
+                Level.NORMAL, transitionCounter(Level.NORMAL),
+                Level.THROTTLED, transitionCounter(Level.THROTTLED),
+                Level.PAUSED, transitionCounter(Level.PAUSED)
+        );
+        if (!enabled) {
+            this.sampler = null;
+            return;
+        }
+        this.sampler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("load-governor").daemon().factory());
+        this.sampler.scheduleWithFixedDelay(this::govern, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        LOGGER.info("Governing listeners {} every [{}], throttling above [{}] active connections or [{}] wait, pausing above [{}] or [{}]",
+                listeners, interval, throttleRatio, throttleWait, pauseRatio, pauseWait);
+    }
+
+    private Counter transitionCounter(Level level) {
+        return Counter.builder("owms.receiving.load-governor.transitions")
+                .tag("level", level.name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the current state.
+     *
+     * @return The state
+     */
+    State getState() {
+        return state;
+    }
+
+    /**
+     * Delay the calling listener thread if the governor is in the {@link Level#THROTTLED} level.
+     *
+     * @param listener The name of the listener that is about to process a message
+     */
+    void throttle(String listener) {
+        if (state.level() == Level.THROTTLED && listeners.contains(listener)) {
+            try {
+                Thread.sleep(throttleDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Sample the connection pool and adjust the level.
+     */
+    void govern() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            evaluate(sample());
+        } catch (RuntimeException e) {
+            // Keep on sampling
+            LOGGER.error("Governing the listeners failed: [{}]", e.getMessage(), e);
+        }
+    }
+
+    private LoadSample sample() {
+        var active = meterRegistry.find("hikaricp.connections.active").gauge();
+        var max = meterRegistry.find("hikaricp.connections.max").gauge();
+        var acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (active == null || max == null || acquire == null || max.value() <= 0) {
+            return LoadSample.UNKNOWN;
+        }
+        var count = acquire.count();
+        var nanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        var meanWait = count > lastAcquireCount
+                ? Duration.ofNanos((long) ((nanos - lastAcquireNanos) / (count - lastAcquireCount)))
+                : Duration.ZERO;
+        lastAcquireCount = count;
+        lastAcquireNanos = nanos;
+        return new LoadSample(active.value() / max.value(), meanWait);
+    }
+
+    /**
+     * Adjust the level according to the {@code sample}. Escalation happens immediately, de-escalation one level at a
+     * time and only after the configured number of calm samples.
+     *
+     * @param sample The latest sample
+     */
+    synchronized void evaluate(LoadSample sample) {
+        var current = state;
+        String reason = null;
+        var target = Level.NORMAL;
+        if (sample.activeRatio() >= pauseRatio || sample.meanWait().compareTo(pauseWait) >= 0) {
+            target = Level.PAUSED;
+            reason = describe(sample, pauseRatio, pauseWait);
+        } else if (sample.activeRatio() >= throttleRatio || sample.meanWait().compareTo(throttleWait) >= 0) {
+            target = Level.THROTTLED;
+            reason = describe(sample, throttleRatio, throttleWait);
+        }
+        if (target.compareTo(current.level()) > 0) {
+            calmSamples = 0;
+            transition(current.level(), target, reason, sample);
+            return;
+        }
+        if (current.level() != Level.NORMAL && sample.activeRatio() < resumeRatio && sample.meanWait().compareTo(resumeWait) < 0) {
+            if (++calmSamples >= resumeAfter) {
+                calmSamples = 0;
+                transition(current.level(), Level.values()[current.level().ordinal() - 1],
+                        "%d samples below %.0f%% active connections and %dms wait".formatted(resumeAfter, resumeRatio * 100, resumeWait.toMillis()),
+                        sample);
+                return;
+            }
+        } else {
+            calmSamples = 0;
+        }
+        state = new State(current.level(), current.reason(), current.since(), sample);
+    }
+
+    private static String describe(LoadSample sample, double ratio, Duration wait) {
+        return sample.activeRatio() >= ratio
+                ? "%.0f%% active connections, threshold %.0f%%".formatted(sample.activeRatio() * 100, ratio * 100)
+                : "%dms mean connection wait, threshold %dms".formatted(sample.meanWait().toMillis(), wait.toMillis());
+    }
+
+    private void transition(Level from, Level to, String reason, LoadSample sample) {
+        state = new State(to, reason, Instant.now(), sample);
+        transitions.get(to).increment();
+        LOGGER.warn("Listeners {} change from [{}] to [{}]: {}", listeners, from, to, reason);
+        if (to == Level.PAUSED) {
+            containers(true);
+        } else if (from == Level.PAUSED) {
+            containers(false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Stop sampling.
+     */
+    @Override
+    public void destroy() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+
+    private void containers(boolean stop) {
+        for (var listener : listeners) {
+            var container = endpointRegistry.getListenerContainer(listener);
+            if (container == null) {
+                continue;
+            }
+            if (stop) {
+                container.stop(() -> LOGGER.info("Listener [{}] paused", listener));
+            } else {
+                container.start();
+            }
+        }
+    }
+}
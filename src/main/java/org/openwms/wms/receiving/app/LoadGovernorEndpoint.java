@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import org.openwms.core.SpringProfiles;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A LoadGovernorEndpoint is an actuator endpoint to show whether and why the AMQP listeners are throttled or paused.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@Component
+@Endpoint(id = "loadgovernor")
+class LoadGovernorEndpoint {
+
+    private final LoadGovernor governor;
+
+    LoadGovernorEndpoint(LoadGovernor governor) {
+        this.governor = governor;
+    }
+
+    /**
+     * Show the current level, the reason and the latest sample of the connection pool.
+     *
+     * @return The state
+     */
+    @ReadOperation
+    public Map<String, Object> state() {
+        var state = governor.getState();
+        var result = new LinkedHashMap<String, Object>();
+        result.put("level", state.level());
+        result.put("reason", state.reason());
+        result.put("since", state.since());
+        result.put("activeRatio", state.sample().activeRatio());
+        result.put("meanWaitMillis", state.sample().meanWait().toMillis());
+        return result;
+    }
+}
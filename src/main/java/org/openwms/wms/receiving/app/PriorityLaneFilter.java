@@ -0,0 +1,199 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A PriorityLaneFilter classifies REST requests into lanes and limits the number of requests each lane processes
+ * concurrently. A request that finds its lane busy waits in a bounded queue of the lane for a limited time. It is
+ * rejected with {@code 429 Too Many Requests} and a {@code Retry-After} header if the queue is full, the time is over or
+ * if any lane of higher priority has requests waiting. So bulk reads and blind receipts are shed first when the service
+ * is overloaded, and captures of expected receipts keep their share of servlet threads and database connections.
+ * Requests that are not classified are not limited. The filter is opt-in, enabled with
+ * {@code owms.receiving.lanes.enabled=true}.
+ *
+ * @author Heiko Scherrer
+ */
+class PriorityLaneFilter extends OncePerRequestFilter {
+
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    static final String PREFIX = "owms.receiving.lanes.";
+    private static final Pattern ORDER_CAPTURE = Pattern.compile("/v1/receiving-orders/[^/]+/capture");
+    private static final Pattern ORDERS = Pattern.compile("/v1/receiving-orders(/search)?");
+
+    /** The lanes in the order of their priority, the highest priority first. */
+    enum Lane {
+        /** Capturing against an expected ReceivingOrder. */
+        EXPECTED_CAPTURE("expected-capture", 50, 100, Duration.ofSeconds(2), Duration.ofSeconds(1)),
+        /** Capturing without an expected ReceivingOrder. */
+        BLIND_CAPTURE("blind-capture", 20, 50, Duration.ofSeconds(1), Duration.ofSeconds(2)),
+        /** All other modifying requests. */
+        WRITE("write", 20, 50, Duration.ofSeconds(1), Duration.ofSeconds(2)),
+        /** Reading all or searching ReceivingOrders. */
+        BULK_READ("bulk-read", 4, 8, Duration.ofMillis(500), Duration.ofSeconds(5));
+
+        private final String key;
+        private final int maxConcurrent;
+        private final int queueSize;
+        private final Duration queueTimeout;
+        private final Duration retryAfter;
+
+        Lane(String key, int maxConcurrent, int queueSize, Duration queueTimeout, Duration retryAfter) {
+            this.key = key;
+            this.maxConcurrent = maxConcurrent;
+            this.queueSize = queueSize;
+            this.queueTimeout = queueTimeout;
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    private record Limiter(Semaphore permits, AtomicInteger queued, int queueSize, Duration queueTimeout, Duration retryAfter,
+            Timer waited, Counter rejected) {
+    }
+
+    private final Map<Lane, Limiter> limiters = new EnumMap<>(Lane.class);
+
+    PriorityLaneFilter(Environment environment, MeterRegistry meterRegistry) {
+        for (var lane : Lane.values()) {
+            var maxConcurrent = environment.getProperty(PREFIX + lane.key + ".max-concurrent", Integer.class, lane.maxConcurrent);
+            var limiter = new Limiter(
+                    new Semaphore(maxConcurrent),
+                    new AtomicInteger(),
+                    environment.getProperty(PREFIX + lane.key + ".queue-size", Integer.class, lane.queueSize),
+                    environment.getProperty(PREFIX + lane.key + ".queue-timeout", Duration.class, lane.queueTimeout),
+                    environment.getProperty(PREFIX + lane.key + ".retry-after", Duration.class, lane.retryAfter),
+                    Timer.builder("owms.receiving.lanes.wait").tag("lane", lane.key).register(meterRegistry),
+                    Counter.builder("owms.receiving.lanes.rejected").tag("lane", lane.key).register(meterRegistry)
+            );
+            Gauge.builder("owms.receiving.lanes.active", limiter.permits(), s -> maxConcurrent - s.availablePermits())
+                    .tag("lane", lane.key)
+                    .register(meterRegistry);
+            Gauge.builder("owms.receiving.lanes.queued", limiter.queued(), AtomicInteger::get)
+                    .tag("lane", lane.key)
+                    .register(meterRegistry);
+            limiters.put(lane, limiter);
+            BOOT_LOGGER.info("Lane [{}] with [{}] concurrent requests and a queue of [{}] waiting up to [{}]", lane.key,
+                    maxConcurrent, limiter.queueSize(), limiter.queueTimeout());
+        }
+    }
+
+    /**
+     * Classify the {@code request}.
+     *
+     * @param request The request
+     * @return The lane or {@literal null} if the request is not limited
+     */
+    static Lane classify(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        var method = request.getMethod();
+        if (HttpMethod.POST.matches(method) && ORDER_CAPTURE.matcher(path).matches()) {
+            return Lane.EXPECTED_CAPTURE;
+        }
+        if (HttpMethod.POST.matches(method) && "/v1/capture".equals(path)) {
+            return Lane.BLIND_CAPTURE;
+        }
+        if (!path.startsWith("/v1/")) {
+            return null;
+        }
+        if (HttpMethod.GET.matches(method)) {
+            return ORDERS.matcher(path).matches() && request.getParameter("orderId") == null ? Lane.BULK_READ : null;
+        }
+        return HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method) ? null : Lane.WRITE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var lane = classify(request);
+        if (lane == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        var limiter = limiters.get(lane);
+        if (!acquire(lane, limiter)) {
+            limiter.rejected().increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, limiter.retryAfter().toSeconds())));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many concurrent requests of kind " + lane.key);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.permits().release();
+        }
+    }
+
+    private boolean acquire(Lane lane, Limiter limiter) {
+        if (higherLaneWaiting(lane)) {
+            return false;
+        }
+        if (limiter.permits().tryAcquire()) {
+            return true;
+        }
+        if (limiter.queued().incrementAndGet() > limiter.queueSize()) {
+            limiter.queued().decrementAndGet();
+            return false;
+        }
+        var start = System.nanoTime();
+        try {
+            return limiter.permits().tryAcquire(limiter.queueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            limiter.queued().decrementAndGet();
+            limiter.waited().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean higherLaneWaiting(Lane lane) {
+        for (var higher : Lane.values()) {
+            if (higher == lane) {
+                return false;
+            }
+            if (limiters.get(higher).queued().get() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
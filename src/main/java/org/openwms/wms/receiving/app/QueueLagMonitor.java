@@ -0,0 +1,135 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A QueueLagMonitor records how old inbound messages are when a listener starts processing them and samples the depth
+ * of the queues the listeners consume from. The age is taken from the AMQP timestamp or, if the producer does not set
+ * it, from the {@value #PUBLISHED_AT_HEADER} header in epoch milliseconds. Messages without both are not recorded. The
+ * depth is read with a passive declaration of the queue, hence the queue is never created by the monitor.
+ *
+ * @author Heiko Scherrer
+ */
+class QueueLagMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueueLagMonitor.class);
+    /** Header with the publishing time in epoch milliseconds, used if the AMQP timestamp is not set. */
+    static final String PUBLISHED_AT_HEADER = "x-published-at";
+    private final AmqpAdmin amqpAdmin;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> ages = new ConcurrentHashMap<>();
+    private final Map<String, QueueState> queues = new ConcurrentHashMap<>();
+
+    QueueLagMonitor(AmqpAdmin amqpAdmin, MeterRegistry meterRegistry) {
+        this.amqpAdmin = amqpAdmin;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private record QueueState(AtomicLong depth, AtomicLong consumers) {
+        QueueState() {
+            this(new AtomicLong(-1), new AtomicLong(-1));
+        }
+    }
+
+    /**
+     * Watch the depth of the given queues from now on.
+     *
+     * @param queueNames The names of the queues
+     */
+    void watch(String... queueNames) {
+        for (var queueName : queueNames) {
+            queues.computeIfAbsent(queueName, q -> {
+                var state = new QueueState();
+                Gauge.builder("owms.receiving.listener.queue.depth", state.depth(), AtomicLong::get)
+                        .tag("queue", q)
+                        .description("Number of messages ready for delivery, -1 if unknown")
+                        .register(meterRegistry);
+                Gauge.builder("owms.receiving.listener.queue.consumers", state.consumers(), AtomicLong::get)
+                        .tag("queue", q)
+                        .description("Number of consumers on the queue across all instances, -1 if unknown")
+                        .register(meterRegistry);
+                return state;
+            });
+        }
+    }
+
+    /**
+     * Record the age of the {@code message} at the moment processing starts.
+     *
+     * @param message The inbound message
+     */
+    void record(Message message) {
+        var properties = message.getMessageProperties();
+        var queue = properties.getConsumerQueue();
+        if (queue == null) {
+            return;
+        }
+        long publishedAt;
+        if (properties.getTimestamp() != null) {
+            publishedAt = properties.getTimestamp().getTime();
+        } else if (properties.getHeader(PUBLISHED_AT_HEADER) instanceof Number n) {
+            publishedAt = n.longValue();
+        } else {
+            return;
+        }
+        var age = Math.max(0, System.currentTimeMillis() - publishedAt);
+        ages.computeIfAbsent(queue, q -> Timer.builder("owms.receiving.listener.message.age")
+                .tag("queue", q)
+                .description("Time between publishing a message and the start of its processing")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(meterRegistry)
+        ).record(Duration.ofMillis(age));
+    }
+
+    /**
+     * Sample the depth of all watched queues.
+     */
+    @Scheduled(fixedDelayString = "${owms.receiving.listeners.queue-depth.interval:30s}")
+    void sample() {
+        queues.forEach((queue, state) -> {
+            try {
+                var properties = amqpAdmin.getQueueProperties(queue);
+                if (properties == null) {
+                    state.depth().set(-1);
+                    state.consumers().set(-1);
+                    return;
+                }
+                state.depth().set(((Number) properties.get(RabbitAdmin.QUEUE_MESSAGE_COUNT)).longValue());
+                state.consumers().set(((Number) properties.get(RabbitAdmin.QUEUE_CONSUMER_COUNT)).longValue());
+            } catch (Exception e) {
+                LOGGER.warn("Can't sample the depth of queue [{}]: [{}]", queue, e.getMessage());
+                state.depth().set(-1);
+                state.consumers().set(-1);
+            }
+        });
+    }
+}
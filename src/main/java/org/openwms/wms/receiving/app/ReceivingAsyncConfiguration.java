@@ -15,10 +15,13 @@
  */
 package org.openwms.wms.receiving.app;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.ameba.amqp.RabbitTemplateConfigurable;
 import org.openwms.core.SpringProfiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
@@ -26,6 +29,7 @@ import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
@@ -35,17 +39,23 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.Objects;
 
 import static org.ameba.LoggingCategories.BOOT;
+import static org.openwms.wms.ReceivingConstants.POISON_MESSAGE;
 
 /**
  * A ReceivingAsyncConfiguration is activated when the service uses asynchronous communication to access other services.
@@ -58,7 +68,6 @@ import static org.ameba.LoggingCategories.BOOT;
 public class ReceivingAsyncConfiguration {
 
     private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
-    private static final String POISON_MESSAGE = "poison-message";
 
     @ConditionalOnExpression("'${owms.receiving.serialization}'=='json'")
     @Bean
@@ -74,6 +83,13 @@ public class ReceivingAsyncConfiguration {
         return new SerializerMessageConverter();
     }
 
+    @ConditionalOnExpression("'${owms.receiving.serialization}'=='cbor'")
+    @Bean
+    MessageConverter cborMessageConverter(@Value("${owms.receiving.cbor.compression-threshold:0}") DataSize compressionThreshold) {
+        BOOT_LOGGER.info("Using CBOR serialization over AMQP, compressing payloads above [{}]", compressionThreshold);
+        return new CborMessageConverter(Math.toIntExact(compressionThreshold.toBytes()));
+    }
+
     @Primary
     @Bean(name = "amqpTemplate")
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
@@ -94,12 +110,96 @@ public class ReceivingAsyncConfiguration {
         return rabbitTemplate;
     }
 
+    /*~ ----------- Container factories ---------- */
+    @Bean
+    QueueLagMonitor queueLagMonitor(AmqpAdmin amqpAdmin, MeterRegistry meterRegistry) {
+        return new QueueLagMonitor(amqpAdmin, meterRegistry);
+    }
+
+    @Bean
+    ListenerContainerTuning listenerContainerTuning(Environment environment, MeterRegistry meterRegistry,
+            QueueLagMonitor queueLagMonitor, LoadGovernor loadGovernor) {
+        return new ListenerContainerTuning(environment, meterRegistry, queueLagMonitor, loadGovernor);
+    }
+
+    @Bean
+    SimpleRabbitListenerContainerFactory productContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory, ListenerContainerTuning tuning) {
+        return containerFactory(configurer, connectionFactory, tuning, ListenerContainerTuning.PRODUCTS);
+    }
+
+    @Bean
+    SimpleRabbitListenerContainerFactory tuContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory, ListenerContainerTuning tuning) {
+        return containerFactory(configurer, connectionFactory, tuning, ListenerContainerTuning.TRANSPORT_UNITS);
+    }
+
+    @Bean
+    SimpleRabbitListenerContainerFactory locationContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory, ListenerContainerTuning tuning) {
+        return containerFactory(configurer, connectionFactory, tuning, ListenerContainerTuning.LOCATIONS);
+    }
+
+    private static SimpleRabbitListenerContainerFactory containerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory, ListenerContainerTuning tuning, String listener) {
+        var factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        return tuning.configure(factory, listener);
+    }
+
+    @ConditionalOnProperty(name = "owms.events.inventory.products.batch.enabled", havingValue = "true")
+    @Bean
+    SimpleRabbitListenerContainerFactory productBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ListenerContainerTuning tuning,
+            @Value("${owms.events.inventory.products.batch.size:100}") int batchSize,
+            @Value("${owms.events.inventory.products.batch.receive-timeout:1s}") Duration receiveTimeout
+    ) {
+        BOOT_LOGGER.info("Consuming Product events in batches of [{}] messages", batchSize);
+        return tuning.configure(batchContainerFactory(configurer, connectionFactory, batchSize, receiveTimeout), ListenerContainerTuning.PRODUCTS);
+    }
+
+    @ConditionalOnProperty(name = "owms.events.common.tu.batch.enabled", havingValue = "true")
+    @Bean
+    SimpleRabbitListenerContainerFactory tuBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ListenerContainerTuning tuning,
+            @Value("${owms.events.common.tu.batch.size:200}") int batchSize,
+            @Value("${owms.events.common.tu.batch.receive-timeout:500ms}") Duration receiveTimeout
+    ) {
+        BOOT_LOGGER.info("Consuming TransportUnit events in batches of [{}] messages", batchSize);
+        return tuning.configure(batchContainerFactory(configurer, connectionFactory, batchSize, receiveTimeout), ListenerContainerTuning.TRANSPORT_UNITS);
+    }
+
+    private static SimpleRabbitListenerContainerFactory batchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory, int batchSize,
+            Duration receiveTimeout) {
+        var factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        // A batch is passed to the listener when it is full or when no further message arrives within the timeout
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        factory.setPrefetchCount(batchSize);
+        // The whole batch is acknowledged after the listener returned or rejected to the dead letter exchange
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
     /*~ --------------- Exchanges --------------- */
     @Bean
     TopicExchange tuExchange(@Value("${owms.events.common.tu.exchange-name}") String exchangeName) {
         return new TopicExchange(exchangeName, true, false);
     }
     @Bean
+    TopicExchange locationExchange(@Value("${owms.events.common.location.exchange-name}") String exchangeName) {
+        return new TopicExchange(exchangeName, true, false);
+    }
+    @Bean
     TopicExchange inventoryExchange(@Value("${owms.events.inventory.exchange-name}") String exchangeName) {
         return new TopicExchange(exchangeName, true, false);
     }
@@ -120,6 +220,16 @@ public class ReceivingAsyncConfiguration {
                 .build();
     }
     @Bean
+    Queue locationQueue(
+            @Value("${owms.events.common.location.queue-name}") String queueName,
+            @Value("${owms.dead-letter.exchange-name}") String exchangeName
+    ) {
+        return QueueBuilder.durable(queueName)
+                .withArgument("x-dead-letter-exchange", exchangeName)
+                .withArgument("x-dead-letter-routing-key", POISON_MESSAGE)
+                .build();
+    }
+    @Bean
     Queue inventoryProductsQueue(
             @Value("${owms.events.inventory.products.queue-name}") String queueName,
             @Value("${owms.dead-letter.exchange-name}") String exchangeName
@@ -143,6 +253,17 @@ public class ReceivingAsyncConfiguration {
                 .with(routingKey);
     }
     @Bean
+    Binding locationBinding(
+            @Qualifier("locationExchange") TopicExchange locationExchange,
+            @Qualifier("locationQueue") Queue locationQueue,
+            @Value("${owms.events.common.location.routing-key}") String routingKey
+    ) {
+        return BindingBuilder
+                .bind(locationQueue)
+                .to(locationExchange)
+                .with(routingKey);
+    }
+    @Bean
     Binding inventoryProductsBinding(
             @Qualifier("inventoryExchange") TopicExchange inventoryExchange,
             @Qualifier("inventoryProductsQueue") Queue inventoryProductsQueue,
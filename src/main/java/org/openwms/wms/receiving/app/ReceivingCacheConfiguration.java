@@ -0,0 +1,42 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductCaches;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * A ReceivingCacheConfiguration enables caching of remote lookups with a bounded and instrumented {@link CacheManager}.
+ *
+ * @author Heiko Scherrer
+ */
+@Configuration
+@EnableCaching
+public class ReceivingCacheConfiguration {
+
+    @Bean
+    CacheManager cacheManager(Environment environment, MeterRegistry meterRegistry) {
+        return new ReceivingCacheManager(environment, meterRegistry,
+                List.of(ProductCaches.BY_SKU, ProductCaches.BY_PRODUCT_UNIT, "wmsLocations", "locations"));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A ReceivingCacheManager creates bounded Caffeine caches that are configured per cache name with properties of the
+ * {@code owms.receiving.cache.<name>} namespace. Caches that are not configured explicitly get the settings of
+ * {@code owms.receiving.cache.default}. All caches record statistics and are bound to the {@link MeterRegistry}.
+ *
+ * @author Heiko Scherrer
+ */
+class ReceivingCacheManager extends AbstractCacheManager {
+
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    static final String PREFIX = "owms.receiving.cache.";
+    static final String DEFAULTS = "default";
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Collection<String> initialCacheNames;
+
+    ReceivingCacheManager(Environment environment, MeterRegistry meterRegistry, Collection<String> initialCacheNames) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.initialCacheNames = initialCacheNames;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return initialCacheNames.stream().map(this::createCache).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    private Cache createCache(String name) {
+        var maximumSize = property(name, "maximum-size", Long.class, DEFAULT_MAXIMUM_SIZE);
+        var expireAfterWrite = property(name, "expire-after-write", Duration.class, DEFAULT_EXPIRE_AFTER_WRITE);
+        var refreshAfterWrite = property(name, "refresh-after-write", Duration.class, null);
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, name);
+        BOOT_LOGGER.info("Cache [{}] configured with maximum-size [{}], expire-after-write [{}], refresh-after-write [{}]",
+                name, maximumSize, expireAfterWrite, refreshAfterWrite);
+        var cache = new CaffeineCache(name, nativeCache, false);
+        return refreshAfterWrite == null || refreshAfterWrite.compareTo(expireAfterWrite) >= 0
+                ? cache
+                : new RefreshAheadCache(cache, refreshAfterWrite);
+    }
+
+    private <T> T property(String cacheName, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + cacheName + "." + key, type,
+                environment.getProperty(PREFIX + DEFAULTS + "." + key, type, defaultValue));
+    }
+}
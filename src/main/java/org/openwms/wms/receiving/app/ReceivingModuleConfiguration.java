@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,6 +36,7 @@ import org.springframework.context.annotation.ImportResource;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.ContextStartedEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -80,6 +82,11 @@ public class ReceivingModuleConfiguration implements WebMvcConfigurer {
         return new CorsFilter(new PermitAllCorsConfigurationSource());
     }
 
+    @ConditionalOnProperty(name = "owms.receiving.lanes.enabled", havingValue = "true")
+    @Bean Filter priorityLaneFilter(Environment environment, MeterRegistry meterRegistry) {
+        return new PriorityLaneFilter(environment, meterRegistry);
+    }
+
     @EventListener
     public void onContextStarted(ContextStartedEvent cse) {
         BOOT_LOGGER.info("<> Receiving Service Library registered");
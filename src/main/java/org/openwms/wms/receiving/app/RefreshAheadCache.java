@@ -0,0 +1,125 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * A RefreshAheadCache decorates a {@link CaffeineCache} and refreshes entries before they expire. The caches are
+ * populated by cache annotations, there is no loader to reload an entry in the background. Instead, the first read of
+ * an entry that is older than {@code refreshAfterWrite} is answered as a miss, so that this single caller reloads and
+ * re-puts the entry. All concurrent readers are still served with the cached value in the meantime and do not suffer
+ * from an expired entry.
+ *
+ * @author Heiko Scherrer
+ */
+class RefreshAheadCache implements Cache {
+
+    private final CaffeineCache delegate;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache;
+    private final Duration refreshAfterWrite;
+    /** Keys that are currently being refreshed by one caller, claims expire in case the caller fails to reload. */
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Boolean> refreshing;
+
+    RefreshAheadCache(CaffeineCache delegate, Duration refreshAfterWrite) {
+        this.delegate = delegate;
+        this.nativeCache = delegate.getNativeCache();
+        this.refreshAfterWrite = refreshAfterWrite;
+        this.refreshing = Caffeine.newBuilder().expireAfterWrite(refreshAfterWrite).build();
+    }
+
+    private boolean claimRefresh(Object key) {
+        var due = nativeCache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .filter(age -> age.compareTo(refreshAfterWrite) >= 0)
+                .isPresent();
+        return due && refreshing.asMap().putIfAbsent(key, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return nativeCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return claimRefresh(key) ? null : delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return claimRefresh(key) ? null : delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (claimRefresh(key)) {
+            try {
+                var value = valueLoader.call();
+                put(key, value);
+                return value;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        refreshing.invalidate(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        refreshing.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        refreshing.invalidate(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        refreshing.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        refreshing.invalidateAll();
+        return delegate.invalidate();
+    }
+}
@@ -16,9 +16,8 @@
 package org.openwms.wms.receiving.events;
 
 import org.ameba.annotation.Public;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductCaches;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
 import org.springframework.stereotype.Component;
 
 /**
@@ -30,10 +29,38 @@ import org.springframework.stereotype.Component;
 @Component
 public class CacheJanitor {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(CacheJanitor.class);
+    private final ProductCaches productCaches;
 
-    @CacheEvict(cacheNames = "products", allEntries = true)
+    CacheJanitor(ProductCaches productCaches) {
+        this.productCaches = productCaches;
+    }
+
+    /**
+     * Evict all {@code Product}s from the caches.
+     */
     public void evictProductCache() {
-        LOGGER.debug("Product cache evicted");
+        productCaches.evictAll(ProductCaches.Cause.MANUAL);
+    }
+
+    /**
+     * Evict a single {@code Product} from the caches, including all entries that have been resolved by one of its
+     * {@code ProductUnit}s.
+     *
+     * @param cause Why the Product is evicted
+     * @param sku The SKU of the Product, may be {@literal null} if the {@code productPKey} is given
+     * @param productPKey The persistent key of the Product in the inventory service, may be {@literal null}
+     */
+    public void evictProduct(ProductCaches.Cause cause, String sku, String productPKey) {
+        productCaches.evict(cause, sku, productPKey);
+    }
+
+    /**
+     * Replace the cached entries of a single {@code Product} with its current representation, if it is cached at all.
+     *
+     * @param cause Why the Product is refreshed
+     * @param product The current representation of the Product
+     */
+    public void refreshProduct(ProductCaches.Cause cause, ProductVO product) {
+        productCaches.refresh(cause, product);
     }
 }
@@ -21,9 +21,9 @@ import org.openwms.wms.receiving.CycleAvoidingMappingContext;
 import org.openwms.wms.receiving.impl.AbstractReceivingOrderPosition;
 import org.openwms.wms.receiving.impl.ReceivingOrderPositionStateChangeEvent;
 import org.openwms.wms.receiving.impl.ReceivingOrderStateChangeEvent;
+import org.openwms.wms.receiving.spool.AmqpSpool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -42,13 +42,13 @@ import org.springframework.transaction.event.TransactionalEventListener;
 class EventPropagator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EventPropagator.class);
-    private final AmqpTemplate amqpTemplate;
+    private final AmqpSpool amqpSpool;
     private final ReceivingMOMapper mapper;
     private final String receivingExchangeName;
 
-    public EventPropagator(AmqpTemplate amqpTemplate,
+    public EventPropagator(AmqpSpool amqpSpool,
             ReceivingMOMapper mapper, @Value("${owms.events.receiving.exchange-name}") String receivingExchangeName) {
-        this.amqpTemplate = amqpTemplate;
+        this.amqpSpool = amqpSpool;
         this.mapper = mapper;
         this.receivingExchangeName = receivingExchangeName;
     }
@@ -62,17 +62,17 @@ class EventPropagator {
             case COMPLETED -> {
                 LOGGER.debug("ReceivingOrder [{}] with all positions completed, sending ReceivingOrderMO: [{}]",
                         event.getSource().getPersistentKey(), mo);
-                amqpTemplate.convertAndSend(receivingExchangeName, "receiving.event.ro.completed", mo);
+                amqpSpool.send(receivingExchangeName, "receiving.event.ro.completed", mo);
             }
             case PARTIALLY_COMPLETED -> {
                 LOGGER.debug("ReceivingOrder [{}] partially completed, sending ReceivingOrderMO: [{}]",
                         event.getSource().getPersistentKey(), mo);
-                amqpTemplate.convertAndSend(receivingExchangeName, "receiving.event.ro.partially-completed", mo);
+                amqpSpool.send(receivingExchangeName, "receiving.event.ro.partially-completed", mo);
             }
             case CANCELED -> {
                 LOGGER.debug("ReceivingOrder [{}] with all positions cancelled, sending ReceivingOrderMO: [{}]",
                         event.getSource().getPersistentKey(), mo);
-                amqpTemplate.convertAndSend(receivingExchangeName, "receiving.event.ro.cancelled", mo);
+                amqpSpool.send(receivingExchangeName, "receiving.event.ro.cancelled", mo);
             }
             default -> LOGGER.debug("ReceivingOrderStateChangeEvent [{}] not exposed", event.getState());
         }
@@ -88,11 +88,11 @@ class EventPropagator {
                     event.getSource().getOrder().getOrderId(), event.getSource().getPosNo(), event.getState(), mo);
         }
         switch(event.getState()) {
-            case CREATED -> amqpTemplate.convertAndSend(receivingExchangeName, "receiving.event.rop.created", mo);
-            case PROCESSING -> amqpTemplate.convertAndSend(receivingExchangeName, "receiving.event.rop.processing", mo);
-            case CANCELED -> amqpTemplate.convertAndSend(receivingExchangeName, "receiving.event.rop.canceled", mo);
-            case PARTIALLY_COMPLETED -> amqpTemplate.convertAndSend(receivingExchangeName, "receiving.event.rop.partially_completed", mo);
-            case COMPLETED -> amqpTemplate.convertAndSend(receivingExchangeName, "receiving.event.rop.completed", mo);
+            case CREATED -> amqpSpool.send(receivingExchangeName, "receiving.event.rop.created", mo);
+            case PROCESSING -> amqpSpool.send(receivingExchangeName, "receiving.event.rop.processing", mo);
+            case CANCELED -> amqpSpool.send(receivingExchangeName, "receiving.event.rop.canceled", mo);
+            case PARTIALLY_COMPLETED -> amqpSpool.send(receivingExchangeName, "receiving.event.rop.partially_completed", mo);
+            case COMPLETED -> amqpSpool.send(receivingExchangeName, "receiving.event.rop.completed", mo);
             default -> LOGGER.warn("ReceivingOrderPositionStateChangeEvent [{}] not supported", event.getState());
         }
     }
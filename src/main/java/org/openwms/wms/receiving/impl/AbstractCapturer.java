@@ -17,6 +17,7 @@ package org.openwms.wms.receiving.impl;
 
 import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
+import org.ameba.exception.GatewayTimeoutException;
 import org.ameba.exception.NotFoundException;
 import org.ameba.i18n.Translator;
 import org.openwms.wms.receiving.ReceivingMessages;
@@ -26,7 +27,12 @@ import org.openwms.wms.receiving.inventory.ProductService;
 import org.openwms.wms.receiving.spi.wms.receiving.CapturingApproval;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.openwms.wms.receiving.ReceivingMessages.RO_NOT_FOUND_BY_PKEY;
 
@@ -72,4 +78,31 @@ public abstract class AbstractCapturer<T extends CaptureRequestVO> {
                 pKey
         ));
     }
+
+    /**
+     * Wait for the result of a lookup that has been issued asynchronously. A lookup that has not completed in time is
+     * cancelled, which interrupts the remote call if it has been issued through the {@code RemoteCallExecutor}.
+     *
+     * @param future The pending lookup
+     * @param timeout How long to wait at most
+     * @param subject What is looked up, used in error messages
+     * @return The result of the lookup
+     * @throws GatewayTimeoutException if the lookup has not completed in time
+     */
+    <R> R await(CompletableFuture<R> future, Duration timeout, String subject) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new GatewayTimeoutException("Lookup of %s timed out after %s".formatted(subject, timeout), new String[]{subject});
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new CapturingException("Lookup of %s failed".formatted(subject), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CapturingException("Interrupted while waiting for the lookup of %s".formatted(subject), e);
+        }
+    }
 }
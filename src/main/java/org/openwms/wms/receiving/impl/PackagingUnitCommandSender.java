@@ -0,0 +1,41 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.impl;
+
+import org.openwms.wms.receiving.spi.wms.inventory.AsyncPackagingUnitApi;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * A PackagingUnitCommandSender sends the commands to create {@code PackagingUnit}s after the capturing transaction has
+ * been committed. So a capture that is rolled back, or run again after a conflicting change, does not send them twice.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class PackagingUnitCommandSender {
+
+    private final AsyncPackagingUnitApi asyncPackagingUnitApi;
+
+    PackagingUnitCommandSender(AsyncPackagingUnitApi asyncPackagingUnitApi) {
+        this.asyncPackagingUnitApi = asyncPackagingUnitApi;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDemanded(PackagingUnitsDemandedEvent event) {
+        event.commands().forEach(asyncPackagingUnitApi::create);
+    }
+}
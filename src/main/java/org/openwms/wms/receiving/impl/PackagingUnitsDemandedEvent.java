@@ -0,0 +1,30 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.impl;
+
+import org.openwms.wms.receiving.spi.wms.inventory.CreatePackagingUnitCommand;
+
+import java.util.List;
+
+/**
+ * A PackagingUnitsDemandedEvent signals that {@code PackagingUnit}s shall be created once the current transaction has
+ * been committed.
+ *
+ * @param commands The commands to send
+ * @author Heiko Scherrer
+ */
+record PackagingUnitsDemandedEvent(List<CreatePackagingUnitCommand> commands) {
+}
@@ -29,22 +29,27 @@ import org.openwms.wms.receiving.api.PositionState;
 import org.openwms.wms.receiving.api.QuantityCaptureOnLocationRequestVO;
 import org.openwms.wms.receiving.inventory.Product;
 import org.openwms.wms.receiving.inventory.ProductService;
+import org.openwms.wms.receiving.location.LocationService;
+import org.openwms.wms.receiving.outbox.CommandOutbox;
+import org.openwms.wms.receiving.spi.wms.inventory.NonBlockingProductApi;
 import org.openwms.wms.receiving.spi.wms.inventory.PackagingUnitVO;
 import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
-import org.openwms.wms.receiving.spi.wms.inventory.SyncPackagingUnitApi;
-import org.openwms.wms.receiving.spi.wms.inventory.SyncProductApi;
 import org.openwms.wms.receiving.spi.wms.receiving.CapturingApproval;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static java.util.Arrays.asList;
+import static org.openwms.wms.receiving.ReceivingMessages.LOCATION_NOT_FOUND;
 import static org.openwms.wms.receiving.ReceivingMessages.PRODUCT_NOT_FOUND;
 import static org.openwms.wms.receiving.ReceivingMessages.RO_NO_OPEN_POSITIONS;
 
@@ -57,17 +62,26 @@ import static org.openwms.wms.receiving.ReceivingMessages.RO_NO_OPEN_POSITIONS;
 class QuantityCaptureOnLocationRequestCapturer extends AbstractCapturer<QuantityCaptureOnLocationRequestVO> implements ReceivingOrderCapturer<QuantityCaptureOnLocationRequestVO> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(QuantityCaptureOnLocationRequestCapturer.class);
-    private final SyncPackagingUnitApi packagingUnitApi;
-    private final SyncProductApi productApi;
+    private final CommandOutbox commandOutbox;
+    private final NonBlockingProductApi productApi;
+    private final LocationService locationService;
+    private final boolean verifyLocation;
+    private final Duration lookupTimeout;
 
     QuantityCaptureOnLocationRequestCapturer(ApplicationEventPublisher publisher, Translator translator,
                                              ReceivingOrderRepository repository, ProductService productService,
                                              Validator validator,
                                              @Autowired(required = false) List<CapturingApproval<QuantityCaptureOnLocationRequestVO>> capturingApprovals,
-                                             SyncPackagingUnitApi packagingUnitApi, SyncProductApi productApi) {
+                                             CommandOutbox commandOutbox, NonBlockingProductApi productApi,
+                                             LocationService locationService,
+                                             @Value("${owms.receiving.capturing.verify-location:false}") boolean verifyLocation,
+                                             @Value("${owms.receiving.capturing.lookup-timeout:5s}") Duration lookupTimeout) {
         super(publisher, translator, validator, repository, capturingApprovals, productService);
-        this.packagingUnitApi = packagingUnitApi;
+        this.commandOutbox = commandOutbox;
         this.productApi = productApi;
+        this.locationService = locationService;
+        this.verifyLocation = verifyLocation;
+        this.lookupTimeout = lookupTimeout;
     }
 
     /**
@@ -77,20 +91,25 @@ class QuantityCaptureOnLocationRequestCapturer extends AbstractCapturer<Quantity
     @Override
     public Optional<ReceivingOrder> capture(String pKey, @NotNull QuantityCaptureOnLocationRequestVO request) {
         ValidationUtil.validate(validator, request, ValidationGroups.CreateQuantityReceipt.class);
+        // The Location is resolved while the Product is looked up
+        var locationExists = verifyLocation
+                ? locationService.findByErpCodeAsync(request.getActualLocation().getErpCode()).thenApply(Optional::isPresent)
+                : CompletableFuture.completedFuture(true);
         if (pKey != null) {
             return handleExpectedReceipt(
                     pKey,
                     request,
-                    v -> createPackagingUnitsForDemand(request)
+                    v -> createPackagingUnitsForDemand(request, locationExists)
             );
         }
-        createPackagingUnitsForDemand(request);
+        createPackagingUnitsForDemand(request, locationExists);
         return Optional.empty();
     }
 
     protected Product getProduct(QuantityCaptureOnLocationRequestVO request) {
         final var skuExistingProduct = request.hasUomRelation()
-                ? Optional.ofNullable(productApi.findProductByProductUnitPkey(request.getUomRelation().pKey)).orElseThrow(ifNotFound(request)).getSku()
+                ? await(productApi.findProductByProductUnitPkey(request.getUomRelation().pKey), lookupTimeout,
+                        "ProductUnit " + request.getUomRelation().pKey).orElseThrow(ifNotFound(request)).getSku()
                 : productService.findBySku(request.getProduct().getSku()).orElseThrow(ifNotFound(request)).getSku();
         return super.getProduct(skuExistingProduct);
     }
@@ -100,8 +119,12 @@ class QuantityCaptureOnLocationRequestCapturer extends AbstractCapturer<Quantity
                 request.getProduct().getSku());
     }
 
-    private void createPackagingUnitsForDemand(QuantityCaptureOnLocationRequestVO request) {
+    private void createPackagingUnitsForDemand(QuantityCaptureOnLocationRequestVO request, CompletableFuture<Boolean> locationExists) {
         final var erpCode = request.getActualLocation().getErpCode();
+        if (!await(locationExists, lookupTimeout, "Location " + erpCode)) {
+            LOGGER.error("Received a goods receipt on Location [{}] that does not exist", erpCode);
+            throw new CapturingException(translator, LOCATION_NOT_FOUND, new String[]{erpCode}, erpCode);
+        }
         final var quantityReceived = request.getQuantityReceived();
         // multi packs
         var pu = request.hasUomRelation()
@@ -118,7 +141,7 @@ class QuantityCaptureOnLocationRequestCapturer extends AbstractCapturer<Quantity
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Create new PackagingUnit [{}] on Location [{}]", pu, erpCode);
         }
-        packagingUnitApi.createOnLocation(asList(pu));
+        commandOutbox.createPackagingUnitsOnLocation(asList(pu));
     }
 
     private Optional<ReceivingOrder> handleExpectedReceipt(String pKey, QuantityCaptureOnLocationRequestVO request, Consumer<Void> func) {
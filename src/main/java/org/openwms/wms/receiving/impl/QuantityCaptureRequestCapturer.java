@@ -26,7 +26,6 @@ import org.openwms.wms.receiving.api.CaptureRequestVO;
 import org.openwms.wms.receiving.api.PositionState;
 import org.openwms.wms.receiving.api.QuantityCaptureRequestVO;
 import org.openwms.wms.receiving.inventory.ProductService;
-import org.openwms.wms.receiving.spi.wms.inventory.AsyncPackagingUnitApi;
 import org.openwms.wms.receiving.spi.wms.inventory.CreatePackagingUnitCommand;
 import org.openwms.wms.receiving.spi.wms.inventory.PackagingUnitVO;
 import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
@@ -36,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -44,7 +44,8 @@ import static org.openwms.wms.receiving.ReceivingMessages.RO_NO_OPEN_POSITIONS;
 import static org.openwms.wms.receiving.ReceivingMessages.RO_NO_UNEXPECTED_ALLOWED;
 
 /**
- * A QuantityCaptureRequestCapturer accepts capturing inbound goods on a TransportUnit only.
+ * A QuantityCaptureRequestCapturer accepts capturing inbound goods on a TransportUnit only. The demanded
+ * PackagingUnits are created after the transaction has been committed, by the {@link PackagingUnitCommandSender}.
  *
  * @author Heiko Scherrer
  */
@@ -52,15 +53,12 @@ import static org.openwms.wms.receiving.ReceivingMessages.RO_NO_UNEXPECTED_ALLOW
 class QuantityCaptureRequestCapturer extends AbstractCapturer<QuantityCaptureRequestVO> implements ReceivingOrderCapturer<QuantityCaptureRequestVO> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(QuantityCaptureRequestCapturer.class);
-    private final AsyncPackagingUnitApi asyncPackagingUnitApi;
 
     QuantityCaptureRequestCapturer(ApplicationEventPublisher publisher, Translator translator, Validator validator,
                                    ReceivingOrderRepository repository,
                                    @Autowired(required = false) List<CapturingApproval<QuantityCaptureRequestVO>> capturingApprovals,
-                                   ProductService productService,
-                                   AsyncPackagingUnitApi asyncPackagingUnitApi) {
+                                   ProductService productService) {
         super(publisher, translator, validator, repository, capturingApprovals, productService);
-        this.asyncPackagingUnitApi = asyncPackagingUnitApi;
     }
 
     /**
@@ -136,6 +134,7 @@ class QuantityCaptureRequestCapturer extends AbstractCapturer<QuantityCaptureReq
 
     private void createPackagingUnitsForDemand(QuantityCaptureRequestVO request) {
         final var sku = request.getProduct().getSku();
+        var commands = new ArrayList<CreatePackagingUnitCommand>();
         for (var i = 0; i < request.getQuantityReceived().getMagnitude().intValue(); i++) {
             // single packs
             var pu = new PackagingUnitVO(
@@ -145,12 +144,13 @@ class QuantityCaptureRequestCapturer extends AbstractCapturer<QuantityCaptureReq
             pu.setDetails(request.getDetails());
             pu.setSerialNumber(request.getSerialNumber());
             pu.setLotId(request.getLotId());
-            asyncPackagingUnitApi.create(new CreatePackagingUnitCommand(
+            commands.add(new CreatePackagingUnitCommand(
                     request.getTransportUnit().getTransportUnitId(),
                     request.getLoadUnitLabel(),
                     request.getLoadUnitType(), pu)
             );
         }
+        publisher.publishEvent(new PackagingUnitsDemandedEvent(commands));
     }
 
     @Override
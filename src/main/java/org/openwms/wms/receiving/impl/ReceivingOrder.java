@@ -24,6 +24,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.MapKeyColumn;
 import jakarta.persistence.OneToMany;
@@ -71,6 +72,10 @@ import static org.openwms.wms.receiving.api.OrderState.VALIDATED;
 @Table(name = "WMS_REC_ORDER",
         uniqueConstraints = {
             @UniqueConstraint(name = "UC_REC_ORDER_ID", columnNames = { "C_ORDER_ID" }),
+        },
+        indexes = {
+            @Index(name = "IDX_REC_ORDER_STATE_EXP", columnList = "C_ORDER_STATE, C_EXPECTED_RECEIPT"),
+            @Index(name = "IDX_REC_ORDER_EXP", columnList = "C_EXPECTED_RECEIPT")
         }
 )
 public class ReceivingOrder extends ApplicationEntity implements Serializable {
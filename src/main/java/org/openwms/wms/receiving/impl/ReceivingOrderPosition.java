@@ -19,6 +19,7 @@ import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
@@ -59,7 +60,11 @@ import static jakarta.persistence.CascadeType.PERSIST;
 // under observation: seems to be fixed with upgrade to SpringBoot 3.4.1
 @Table(
         name = "WMS_REC_ORDER_POS_PRODUCT",
-        uniqueConstraints = @UniqueConstraint(name = "UC_ORDER_ID_POS", columnNames = { "C_ORDER_ID", "C_POS_NO" })
+        uniqueConstraints = @UniqueConstraint(name = "UC_ORDER_ID_POS", columnNames = { "C_ORDER_ID", "C_POS_NO" }),
+        indexes = {
+                @Index(name = "IDX_REC_POS_PRODUCT_SKU", columnList = "C_SKU, C_STATE"),
+                @Index(name = "IDX_REC_POS_PRODUCT_WH", columnList = "C_EXPECTED_RECEIPT_AT, C_STATE")
+        }
 )
 public class ReceivingOrderPosition extends AbstractReceivingOrderPosition implements Convertable, Serializable {
 
@@ -15,8 +15,14 @@
  */
 package org.openwms.wms.receiving.impl;
 
+import org.openwms.wms.receiving.api.PositionState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,9 +30,24 @@ import java.util.Optional;
  *
  * @author Heiko Scherrer
  */
-interface ReceivingOrderRepository extends JpaRepository<ReceivingOrder, Long> {
+interface ReceivingOrderRepository extends JpaRepository<ReceivingOrder, Long>, JpaSpecificationExecutor<ReceivingOrder> {
 
     Optional<ReceivingOrder> findBypKey(String pKey);
 
     Optional<ReceivingOrder> findByOrderId(String orderId);
+
+    /* Projection queries used by the order search. Each one hits a dedicated position index and only returns the
+     persistent keys of the owning orders, positions are never hydrated. */
+
+    @Query("select distinct p.order.pKey from ReceivingOrderPosition p where p.product.sku = :sku and p.state in :states")
+    List<String> findOrderPKeysBySku(@Param("sku") String sku, @Param("states") Collection<PositionState> states);
+
+    @Query("select distinct p.order.pKey from ReceivingTransportUnitOrderPosition p where p.transportUnitBK = :transportUnitBK and p.state in :states")
+    List<String> findOrderPKeysByTransportUnitBK(@Param("transportUnitBK") String transportUnitBK, @Param("states") Collection<PositionState> states);
+
+    @Query("select distinct p.order.pKey from ReceivingOrderPosition p where p.expectedReceiptWarehouse = :warehouse and p.state in :states")
+    List<String> findOrderPKeysOfProductPositionsByWarehouse(@Param("warehouse") String warehouse, @Param("states") Collection<PositionState> states);
+
+    @Query("select distinct p.order.pKey from ReceivingTransportUnitOrderPosition p where p.expectedReceiptWarehouse = :warehouse and p.state in :states")
+    List<String> findOrderPKeysOfTransportUnitPositionsByWarehouse(@Param("warehouse") String warehouse, @Param("states") Collection<PositionState> states);
 }
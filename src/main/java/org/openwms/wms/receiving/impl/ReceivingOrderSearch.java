@@ -0,0 +1,47 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.impl;
+
+import org.openwms.wms.receiving.api.OrderState;
+import org.openwms.wms.receiving.api.PositionState;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * A ReceivingOrderSearch holds the optional criteria to search for {@link ReceivingOrder}s. All given criteria are
+ * combined with a logical AND, criteria that are {@literal null} or empty are ignored.
+ *
+ * @author Heiko Scherrer
+ */
+public record ReceivingOrderSearch(
+
+        /** The SKU of the {@code Product} that is expected on one of the positions. */
+        String sku,
+        /** The business key of the {@code TransportUnit} that is expected on one of the positions. */
+        String transportUnitBK,
+        /** The warehouse where one of the positions is expected to be received. */
+        String warehouse,
+        /** The accepted states of the {@code ReceivingOrder}. */
+        List<OrderState> orderStates,
+        /** The accepted states of the positions that match the SKU, TransportUnit or warehouse criteria. */
+        List<PositionState> positionStates,
+        /** The earliest expected receipt date of the {@code ReceivingOrder} (inclusive). */
+        ZonedDateTime expectedFrom,
+        /** The latest expected receipt date of the {@code ReceivingOrder} (inclusive). */
+        ZonedDateTime expectedTo
+) {
+}
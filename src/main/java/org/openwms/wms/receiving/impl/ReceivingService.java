@@ -20,6 +20,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.openwms.wms.receiving.api.CaptureRequestVO;
 import org.openwms.wms.receiving.api.OrderState;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -127,4 +128,13 @@ public interface ReceivingService<T extends CaptureRequestVO> {
      * @return The updated instance
      */
     @NotNull ReceivingOrder complete(@NotBlank String pKey);
-}
\ No newline at end of file
+
+    /**
+     * Search for {@link ReceivingOrder}s that match all the given criteria, sorted by expected receipt date and orderId.
+     *
+     * @param search The search criteria
+     * @param pageable The requested page, the page size may be limited by the implementation
+     * @return A list of matching ReceivingOrders of the requested page, never {@literal null}
+     */
+    @NotNull List<ReceivingOrder> search(@NotNull ReceivingOrderSearch search, @NotNull Pageable pageable);
+}
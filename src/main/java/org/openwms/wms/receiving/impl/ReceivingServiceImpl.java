@@ -15,6 +15,7 @@
  */
 package org.openwms.wms.receiving.impl;
 
+import jakarta.persistence.criteria.Predicate;
 import jakarta.validation.Valid;
 import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
@@ -30,19 +31,30 @@ import org.openwms.wms.receiving.api.PositionState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.plugin.core.PluginRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.openwms.wms.ReceivingConstants.DEFAULT_ACCOUNT_NAME;
 import static org.openwms.wms.receiving.ReceivingMessages.RO_ALREADY_EXISTS;
 import static org.openwms.wms.receiving.ReceivingMessages.RO_NOT_FOUND_BY_PKEY;
 import static org.openwms.wms.receiving.api.OrderState.COMPLETED;
+import static org.springframework.util.StringUtils.hasText;
 
 /**
  * A ReceivingServiceImpl is a Spring managed transactional Services that deals with {@link ReceivingOrder}s.
@@ -61,12 +73,14 @@ class ReceivingServiceImpl<T extends CaptureRequestVO> implements ReceivingServi
     private final PluginRegistry<ReceivingOrderCapturer<T>, CaptureRequestVO> capturers;
     private final ApplicationEventPublisher publisher;
     private final ServiceProvider serviceProvider;
+    private final int searchMaxResults;
 
     ReceivingServiceImpl(
             Validator validator, NextReceivingOrderRepository nextReceivingOrderRepository, ReceivingOrderRepository repository,
             @Qualifier("plugins") PluginRegistry<ReceivingOrderUpdater, ReceivingOrderUpdater.Type> plugins,
             @Qualifier("capturers") PluginRegistry<ReceivingOrderCapturer<T>, CaptureRequestVO> capturers,
-            ApplicationEventPublisher publisher, ServiceProvider serviceProvider) {
+            ApplicationEventPublisher publisher, ServiceProvider serviceProvider,
+            @Value("${owms.receiving.search.max-results:500}") int searchMaxResults) {
         this.validator = validator;
         this.nextReceivingOrderRepository = nextReceivingOrderRepository;
         this.repository = repository;
@@ -74,6 +88,7 @@ class ReceivingServiceImpl<T extends CaptureRequestVO> implements ReceivingServi
         this.capturers = capturers;
         this.publisher = publisher;
         this.serviceProvider = serviceProvider;
+        this.searchMaxResults = searchMaxResults;
     }
 
     /**
@@ -91,6 +106,7 @@ class ReceivingServiceImpl<T extends CaptureRequestVO> implements ReceivingServi
         } else {
             assignOrderId(order);
         }
+        prefetchProducts(order);
         order.getPositions().stream()
                 .filter(ReceivingOrderPosition.class::isInstance)
                 .forEach(p -> {
@@ -119,6 +135,21 @@ class ReceivingServiceImpl<T extends CaptureRequestVO> implements ReceivingServi
         order.setOrderId(nb.getCompleteOrderId());
     }
 
+    private void prefetchProducts(ReceivingOrder order) {
+        var skus = order.getPositions().stream()
+                .filter(ReceivingOrderPosition.class::isInstance)
+                .map(ReceivingOrderPosition.class::cast)
+                .filter(ReceivingOrderPosition::hasProduct)
+                .map(p -> p.getProduct().getSku())
+                .toList();
+        try {
+            serviceProvider.getProductService().prefetch(skus);
+        } catch (Exception e) {
+            // Only an optimization, each Product is resolved on its own afterwards
+            LOGGER.warn("Prefetching the Products [{}] failed, resolving them one by one: [{}]", skus, e.getMessage());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -257,4 +288,64 @@ class ReceivingServiceImpl<T extends CaptureRequestVO> implements ReceivingServi
     public @NotNull List<ReceivingOrder> findAll() {
          return repository.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     *
+     * The position criteria are resolved first with projection queries on the position indexes, only the resulting
+     * order keys are then used together with the order criteria to load the requested page of the matching
+     * {@link ReceivingOrder}s. The page size is limited to {@code owms.receiving.search.max-results}.
+     */
+    @Override
+    @Measured
+    public @NotNull List<ReceivingOrder> search(@NotNull ReceivingOrderSearch search, @NotNull Pageable pageable) {
+        var positionStates = search.positionStates() == null || search.positionStates().isEmpty()
+                ? EnumSet.allOf(PositionState.class)
+                : EnumSet.copyOf(search.positionStates());
+        Set<String> pKeys = null;
+        if (hasText(search.sku())) {
+            pKeys = retain(pKeys, repository.findOrderPKeysBySku(search.sku(), positionStates));
+        }
+        if (hasText(search.transportUnitBK())) {
+            pKeys = retain(pKeys, repository.findOrderPKeysByTransportUnitBK(search.transportUnitBK(), positionStates));
+        }
+        if (hasText(search.warehouse())) {
+            var keys = new ArrayList<>(repository.findOrderPKeysOfProductPositionsByWarehouse(search.warehouse(), positionStates));
+            keys.addAll(repository.findOrderPKeysOfTransportUnitPositionsByWarehouse(search.warehouse(), positionStates));
+            pKeys = retain(pKeys, keys);
+        }
+        if (pKeys != null && pKeys.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        var page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), searchMaxResults),
+                Sort.by("expectedReceiptDate", "orderId"));
+        return repository.findAll(matching(search, pKeys), page).getContent();
+    }
+
+    private static Set<String> retain(Set<String> current, Collection<String> found) {
+        if (current == null) {
+            return new HashSet<>(found);
+        }
+        current.retainAll(found);
+        return current;
+    }
+
+    private static Specification<ReceivingOrder> matching(ReceivingOrderSearch search, Set<String> pKeys) {
+        return (root, query, cb) -> {
+            var predicates = new ArrayList<Predicate>();
+            if (pKeys != null) {
+                predicates.add(root.get("pKey").in(pKeys));
+            }
+            if (search.orderStates() != null && !search.orderStates().isEmpty()) {
+                predicates.add(root.get("orderState").in(search.orderStates()));
+            }
+            if (search.expectedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("expectedReceiptDate"), search.expectedFrom()));
+            }
+            if (search.expectedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("expectedReceiptDate"), search.expectedTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
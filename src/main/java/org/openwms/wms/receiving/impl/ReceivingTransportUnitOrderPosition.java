@@ -17,6 +17,7 @@ package org.openwms.wms.receiving.impl;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Table;
@@ -45,7 +46,11 @@ import java.util.Objects;
 // under observation: seems to be fixed with upgrade to SpringBoot 3.4.1
 @Table(
         name = "WMS_REC_ORDER_POS_TU",
-        uniqueConstraints = @UniqueConstraint(name = "UC_ORDER_ID_POS_TU", columnNames = { "C_ORDER_ID", "C_POS_NO" })
+        uniqueConstraints = @UniqueConstraint(name = "UC_ORDER_ID_POS_TU", columnNames = { "C_ORDER_ID", "C_POS_NO" }),
+        indexes = {
+                @Index(name = "IDX_REC_POS_TU_BK", columnList = "C_TRANSPORT_UNIT_BK, C_STATE"),
+                @Index(name = "IDX_REC_POS_TU_WH", columnList = "C_EXPECTED_RECEIPT_AT, C_STATE")
+        }
 )
 public class ReceivingTransportUnitOrderPosition extends AbstractReceivingOrderPosition implements Convertable, Serializable {
 
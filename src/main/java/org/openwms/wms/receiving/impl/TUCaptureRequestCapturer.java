@@ -26,10 +26,10 @@ import org.openwms.wms.receiving.api.CaptureRequestVO;
 import org.openwms.wms.receiving.api.PositionState;
 import org.openwms.wms.receiving.api.TUCaptureRequestVO;
 import org.openwms.wms.receiving.inventory.ProductService;
+import org.openwms.wms.receiving.location.LocationService;
+import org.openwms.wms.receiving.outbox.CommandOutbox;
 import org.openwms.wms.receiving.spi.wms.location.LocationVO;
-import org.openwms.wms.receiving.spi.wms.location.SyncLocationApi;
 import org.openwms.wms.receiving.spi.wms.receiving.CapturingApproval;
-import org.openwms.wms.receiving.spi.wms.transport.SyncTransportUnitApi;
 import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,17 +51,17 @@ import static org.openwms.wms.receiving.ReceivingMessages.TU_TYPE_NOT_GIVEN;
 class TUCaptureRequestCapturer extends AbstractCapturer<TUCaptureRequestVO> implements ReceivingOrderCapturer<TUCaptureRequestVO> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TUCaptureRequestCapturer.class);
-    private final SyncTransportUnitApi transportUnitApi;
-    private final SyncLocationApi locationApi;
+    private final CommandOutbox commandOutbox;
+    private final LocationService locationService;
 
     TUCaptureRequestCapturer(ApplicationEventPublisher publisher, Translator translator, Validator validator,
                              ReceivingOrderRepository repository,
                              @Autowired(required = false) List<CapturingApproval<TUCaptureRequestVO>> capturingApprovals,
-                             ProductService productService, SyncTransportUnitApi transportUnitApi,
-                             SyncLocationApi locationApi) {
+                             ProductService productService, CommandOutbox commandOutbox,
+                             LocationService locationService) {
         super(publisher, translator, validator, repository, capturingApprovals, productService);
-        this.transportUnitApi = transportUnitApi;
-        this.locationApi = locationApi;
+        this.commandOutbox = commandOutbox;
+        this.locationService = locationService;
     }
 
     /**
@@ -80,11 +80,11 @@ class TUCaptureRequestCapturer extends AbstractCapturer<TUCaptureRequestVO> impl
         if (!request.hasTransportUnitType()) {
             throw new CapturingException(translator, TU_TYPE_NOT_GIVEN, new String[0]);
         }
-        var locationOpt = locationApi.findByErpCodeOpt(request.getActualLocation().getErpCode());
+        var locationOpt = locationService.findByErpCode(request.getActualLocation().getErpCode());
         var location = locationOpt.map(locationVO -> LocationVO.of(locationVO.getLocationId())).orElseGet(LocationVO::new); // Handle Locations without locationId later
         location.setErpCode(request.getActualLocation().getErpCode());
         var tu = new TransportUnitVO(request.getTransportUnit().getTransportUnitId(), location, request.getTransportUnit().getTransportUnitType());
-        transportUnitApi.createTU(tu);
+        commandOutbox.createTU(tu);
         return Optional.empty();
     }
 
@@ -108,7 +108,7 @@ class TUCaptureRequestCapturer extends AbstractCapturer<TUCaptureRequestVO> impl
                 transportUnitBK, receivingOrder.getOrderId(), openPosition.get().getPosNo());
         openPosition.get().changePositionState(publisher, PositionState.COMPLETED);
         receivingOrder = repository.save(receivingOrder);
-        transportUnitApi.moveTU(transportUnitBK, actualLocationErpCode);
+        commandOutbox.moveTU(transportUnitBK, actualLocationErpCode);
         return Optional.of(receivingOrder);
     }
 
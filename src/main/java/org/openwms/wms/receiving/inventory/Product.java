@@ -29,6 +29,8 @@ import org.openwms.core.units.api.Measurable;
 import org.openwms.core.units.persistence.UnitUserType;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
@@ -76,6 +78,14 @@ public class Product extends ApplicationEntity implements Comparable<Product>, S
     @NotNull
     private Boolean overbookingAllowed;
 
+    /** The version of the Product in the Inventory Service that has been applied last. */
+    @Column(name = "C_FOREIGN_VERSION")
+    private Long foreignVersion;
+
+    /** When the data has been confirmed by the Inventory Service last, independent of whether it has changed. */
+    @Column(name = "C_VERIFIED_AT")
+    private LocalDateTime verifiedAt;
+
     /*~ -------------- constructors -------------- */
     /** Dear JPA ... */
     protected Product() {
@@ -155,6 +165,63 @@ public class Product extends ApplicationEntity implements Comparable<Product>, S
         this.overbookingAllowed = overbookingAllowed;
     }
 
+    public Long getForeignVersion() {
+        return foreignVersion;
+    }
+
+    public void setForeignVersion(Long foreignVersion) {
+        this.foreignVersion = foreignVersion;
+    }
+
+    public LocalDateTime getVerifiedAt() {
+        return verifiedAt;
+    }
+
+    /**
+     * Remember that the data of this Product has just been confirmed by the Inventory Service.
+     */
+    public void markVerified() {
+        this.verifiedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Check whether a change with the given {@code version} from the Inventory Service has already been applied or is
+     * outdated. Changes without a version are never considered as stale.
+     *
+     * @param version The version of the change
+     * @return {@literal true} if the change must not be applied
+     */
+    public boolean isStale(Long version) {
+        return version != null && foreignVersion != null && version <= foreignVersion;
+    }
+
+    /**
+     * Check whether all attributes that are synchronized with the Inventory Service are equal to the ones of the
+     * {@code other} Product.
+     *
+     * @param other The other Product
+     * @return {@literal true} if nothing has to be changed
+     */
+    public boolean hasSameDataAs(Product other) {
+        return Objects.equals(sku, other.sku) && Objects.equals(label, other.label)
+                && Objects.equals(description, other.description)
+                && normalized(baseUnit).equals(normalized(other.baseUnit))
+                && Objects.equals(overbookingAllowed, other.overbookingAllowed);
+    }
+
+    /**
+     * Return a textual representation of the {@code unit} that does not depend on the scale of the magnitude, because
+     * the database may return it with a different scale than it has been written with.
+     *
+     * @param unit The unit, may be {@literal null}
+     * @return The normalized representation, an empty String for {@literal null}
+     */
+    public static String normalized(Measurable<?, ?, ?> unit) {
+        return unit == null
+                ? ""
+                : new BigDecimal(String.valueOf(unit.getMagnitude())).stripTrailingZeros().toPlainString() + " " + unit.getUnitType();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -15,6 +15,8 @@
  */
 package org.openwms.wms.receiving.inventory;
 
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
@@ -31,6 +33,7 @@ public interface ProductMapper {
 
     @Mapping(target = "foreignPKey", source = "pKey")
     @Mapping(target = "overbookingAllowed", source = "overbookingAllowed")
+    @Mapping(target = "foreignVersion", source = "version")
     @Mapping(target = "ol", ignore = true)
     Product convertFromMO(InventoryProductMO mo);
 
@@ -42,4 +45,11 @@ public interface ProductMapper {
     @Mapping(target = "overbookingAllowed", source = "overbookingAllowed")
     @Mapping(target = "ol", ignore = true)
     Product convertFromVO(ProductVO vo);
+
+    @BeanMapping(builder = @Builder(disableBuilder = true))
+    @Mapping(target = "pKey", source = "foreignPKey")
+    @Mapping(target = "ol", ignore = true)
+    @Mapping(target = "createDt", ignore = true)
+    @Mapping(target = "lastModifiedDt", ignore = true)
+    ProductVO convertToVO(Product product);
 }
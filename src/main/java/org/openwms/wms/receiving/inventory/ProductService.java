@@ -16,7 +16,9 @@
 package org.openwms.wms.receiving.inventory;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -33,4 +35,12 @@ public interface ProductService {
      * @return The instance
      */
     Optional<Product> findBySku(@NotBlank String sku);
+
+    /**
+     * Resolve the {@code Product}s of the given SKUs with one remote call, so that following lookups of these SKUs are
+     * served from the cache.
+     *
+     * @param skus The identifying SKUs
+     */
+    void prefetch(@NotNull Collection<String> skus);
 }
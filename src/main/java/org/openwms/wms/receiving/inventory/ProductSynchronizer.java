@@ -18,6 +18,9 @@ package org.openwms.wms.receiving.inventory;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * A ProductSynchronizer offers methods to synchronize the internal state of a {@link Product} with an external source.
  *
@@ -33,10 +36,10 @@ public interface ProductSynchronizer {
     void create(@NotNull Product product);
 
     /**
-     * Update an existing {@link Product} instance
+     * Update an existing {@link Product} instance. Updates with a version that has already been applied are skipped.
      *
      * @param product The instance to update
-     * @return The updated instance
+     * @return The updated instance or the current one if the update has been skipped
      */
     Product update(@NotNull Product product);
 
@@ -46,4 +49,14 @@ public interface ProductSynchronizer {
      * @param pKey The persistent key of the instance to delete
      */
     void delete(@NotBlank String pKey);
+
+    /**
+     * Create or update the given {@link Product}s and delete others in one go. Existing {@link Product}s are identified
+     * by their {@code foreignPKey}, stale or duplicate updates are skipped.
+     *
+     * @param upserts The instances to create or update
+     * @param deletions The persistent keys of the instances to delete
+     * @return All instances that have actually been created or updated
+     */
+    List<Product> synchronize(@NotNull Collection<Product> upserts, @NotNull Collection<String> deletions);
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ameba.annotation.Measured;
+import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.events.CacheJanitor;
+import org.openwms.wms.receiving.inventory.Product;
+import org.openwms.wms.receiving.inventory.ProductMapper;
+import org.openwms.wms.receiving.inventory.ProductSynchronizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.Cause.CREATED;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.Cause.DELETED;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.Cause.UPDATED;
+
+/**
+ * A InventoryBatchMessageListener is a Spring managed bean, active in profile ASYNCHRONOUS that listens on Product
+ * changes in batches instead of single messages. Only the latest event of each Product within a batch is applied, with
+ * respect to the version of the Product if the event carries one. All upserts and deletions of a batch are written in
+ * one transaction. The batch is acknowledged as a whole or rejected to the dead letter exchange.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@ConditionalOnProperty(name = "owms.events.inventory.products.batch.enabled", havingValue = "true")
+@Component
+class InventoryBatchMessageListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InventoryBatchMessageListener.class);
+    static final String EVENT_TYPE_HEADER = "owms_event_type";
+    private final ProductSynchronizer productSynchronizer;
+    private final ProductMapper mapper;
+    private final CacheJanitor cacheJanitor;
+    private final DistributionSummary batchSizes;
+    private final Counter conflated;
+
+    InventoryBatchMessageListener(ProductSynchronizer productSynchronizer, ProductMapper mapper, CacheJanitor cacheJanitor,
+            MeterRegistry meterRegistry) {
+        this.productSynchronizer = productSynchronizer;
+        this.mapper = mapper;
+        this.cacheJanitor = cacheJanitor;
+        this.batchSizes = DistributionSummary.builder("owms.receiving.product.events.batch.size")
+                .description("Number of Product events received in one batch")
+                .register(meterRegistry);
+        this.conflated = meterRegistry.counter("owms.receiving.product.events.conflated");
+    }
+
+    @Measured
+    @RabbitListener(id = "products", queues = "${owms.events.inventory.products.queue-name}", containerFactory = "productBatchContainerFactory")
+    void handle(List<Message<InventoryProductMO>> messages) {
+        try {
+            batchSizes.record(messages.size());
+            var latest = new LinkedHashMap<String, Message<InventoryProductMO>>(messages.size());
+            for (var message : messages) {
+                var type = message.getHeaders().get(EVENT_TYPE_HEADER, String.class);
+                if (!"created".equals(type) && !"updated".equals(type) && !"deleted".equals(type)) {
+                    LOGGER.warn("Product event of type [{}] is currently not supported", type);
+                    continue;
+                }
+                var pKey = message.getPayload().getpKey();
+                var previous = latest.get(pKey);
+                if (previous != null) {
+                    conflated.increment();
+                    if (isOlder(message.getPayload(), previous.getPayload())) {
+                        LOGGER.debug("Dropping out of order event for Product [{}] with version [{}]", pKey, message.getPayload().getVersion());
+                        continue;
+                    }
+                    // Remove first so that the insertion order follows the latest event
+                    latest.remove(pKey);
+                }
+                latest.put(pKey, message);
+            }
+            apply(latest.values());
+        } catch (Exception e) {
+            throw new AmqpRejectAndDontRequeueException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Events without a version are ordered by arrival only.
+     */
+    private static boolean isOlder(InventoryProductMO candidate, InventoryProductMO current) {
+        return candidate.getVersion() != null && current.getVersion() != null && candidate.getVersion() < current.getVersion();
+    }
+
+    private void apply(Collection<Message<InventoryProductMO>> events) {
+        var upserts = new ArrayList<Product>();
+        var deletions = new ArrayList<String>();
+        var created = new HashSet<String>();
+        for (var event : events) {
+            var mo = event.getPayload();
+            switch (event.getHeaders().get(EVENT_TYPE_HEADER, String.class)) {
+                case "created" -> {
+                    upserts.add(mapper.convertFromMO(mo));
+                    created.add(mo.getpKey());
+                }
+                case "updated" -> upserts.add(mapper.convertFromMO(mo));
+                case "deleted" -> deletions.add(mo.getpKey());
+                default -> throw new IllegalStateException("Unexpected event type");
+            }
+        }
+        LOGGER.debug("Applying [{}] upserts and [{}] deletions of Products", upserts.size(), deletions.size());
+        var written = productSynchronizer.synchronize(upserts, deletions);
+
+        // Only Products that have actually changed need to be touched in the caches
+        for (var product : written) {
+            if (created.contains(product.getForeignPKey())) {
+                // A Product that was unknown before is not cached, but a previous SKU of the same Product might be
+                cacheJanitor.evictProduct(CREATED, product.getSku(), product.getForeignPKey());
+            } else {
+                cacheJanitor.refreshProduct(UPDATED, mapper.convertToVO(product));
+            }
+        }
+        deletions.forEach(pKey -> cacheJanitor.evictProduct(DELETED, null, pKey));
+    }
+}
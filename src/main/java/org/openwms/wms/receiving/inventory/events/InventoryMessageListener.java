@@ -22,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.handler.annotation.Header;
@@ -33,6 +34,7 @@ import org.springframework.stereotype.Component;
  * @author Heiko Scherrer
  */
 @Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@ConditionalOnProperty(name = "owms.events.inventory.products.batch.enabled", havingValue = "false", matchIfMissing = true)
 @Component
 class InventoryMessageListener {
 
@@ -46,7 +48,7 @@ class InventoryMessageListener {
     }
 
     @Measured
-    @RabbitListener(queues = "${owms.events.inventory.products.queue-name}")
+    @RabbitListener(id = "products", queues = "${owms.events.inventory.products.queue-name}", containerFactory = "productContainerFactory")
     void handle(InventoryProductMO msg, @Header("owms_event_type") String header) {
         try {
             switch (header) {
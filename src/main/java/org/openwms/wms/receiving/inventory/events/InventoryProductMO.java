@@ -34,6 +34,8 @@ public class InventoryProductMO implements Serializable {
     private Measurable baseUnit;
     private Boolean overbookingAllowed;
     private String description;
+    /** The version of the Product in the Inventory Service, increases with each change. */
+    private Long version;
 
     public String getpKey() {
         return pKey;
@@ -83,6 +85,14 @@ public class InventoryProductMO implements Serializable {
         this.description = description;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -92,7 +102,7 @@ public class InventoryProductMO implements Serializable {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof InventoryProductMO that)) return false;
-        return Objects.equals(pKey, that.pKey) && Objects.equals(sku, that.sku) && Objects.equals(label, that.label) && Objects.equals(baseUnit, that.baseUnit) && Objects.equals(overbookingAllowed, that.overbookingAllowed) && Objects.equals(description, that.description);
+        return Objects.equals(pKey, that.pKey) && Objects.equals(sku, that.sku) && Objects.equals(label, that.label) && Objects.equals(baseUnit, that.baseUnit) && Objects.equals(overbookingAllowed, that.overbookingAllowed) && Objects.equals(description, that.description) && Objects.equals(version, that.version);
     }
 
     /**
@@ -102,7 +112,7 @@ public class InventoryProductMO implements Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(pKey, sku, label, baseUnit, overbookingAllowed, description);
+        return Objects.hash(pKey, sku, label, baseUnit, overbookingAllowed, description, version);
     }
 
     /**
@@ -119,6 +129,7 @@ public class InventoryProductMO implements Serializable {
                 .add("baseUnit=" + baseUnit)
                 .add("overbookingAllowed=" + overbookingAllowed)
                 .add("description='" + description + "'")
+                .add("version=" + version)
                 .toString();
     }
 }
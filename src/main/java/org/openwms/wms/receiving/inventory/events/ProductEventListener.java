@@ -17,10 +17,15 @@ package org.openwms.wms.receiving.inventory.events;
 
 import org.openwms.wms.receiving.events.CacheJanitor;
 import org.openwms.wms.receiving.inventory.Product;
+import org.openwms.wms.receiving.inventory.ProductMapper;
 import org.openwms.wms.receiving.inventory.ProductSynchronizer;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.Cause.CREATED;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.Cause.DELETED;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.Cause.UPDATED;
+
 /**
  * A ProductEventListener.
  *
@@ -31,19 +36,32 @@ class ProductEventListener {
 
     private final CacheJanitor cacheJanitor;
     private final ProductSynchronizer productSynchronizer;
+    private final ProductMapper productMapper;
 
-    public ProductEventListener(CacheJanitor cacheJanitor, ProductSynchronizer productSynchronizer) {
+    public ProductEventListener(CacheJanitor cacheJanitor, ProductSynchronizer productSynchronizer, ProductMapper productMapper) {
         this.cacheJanitor = cacheJanitor;
         this.productSynchronizer = productSynchronizer;
+        this.productMapper = productMapper;
     }
 
     @EventListener
     public void onEvent(ProductEvent event) {
-        cacheJanitor.evictProductCache();
         switch (event.getType()) {
-            case CREATED -> productSynchronizer.create((Product) event.getSource());
-            case UPDATED -> productSynchronizer.update((Product) event.getSource());
-            case DELETED -> productSynchronizer.delete((String) event.getSource());
+            case CREATED -> {
+                var product = (Product) event.getSource();
+                // A Product that was unknown before is not cached, but a previous SKU of the same Product might be
+                cacheJanitor.evictProduct(CREATED, product.getSku(), product.getForeignPKey());
+                productSynchronizer.create(product);
+            }
+            case UPDATED -> {
+                // A skipped stale update returns the current Product, so the cache is never refreshed with outdated data
+                var current = productSynchronizer.update((Product) event.getSource());
+                cacheJanitor.refreshProduct(UPDATED, productMapper.convertToVO(current));
+            }
+            case DELETED -> {
+                cacheJanitor.evictProduct(DELETED, null, (String) event.getSource());
+                productSynchronizer.delete((String) event.getSource());
+            }
         }
     }
 }
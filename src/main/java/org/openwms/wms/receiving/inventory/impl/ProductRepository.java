@@ -18,6 +18,8 @@ package org.openwms.wms.receiving.inventory.impl;
 import org.openwms.wms.receiving.inventory.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,4 +34,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findByForeignPKey(String foreignPKey);
 
     Optional<Product> findBySku(String sku);
+
+    List<Product> findByForeignPKeyIn(Collection<String> foreignPKeys);
+
+    List<Product> findBySkuIn(Collection<String> skus);
+
+    List<Product> findBypKeyIn(Collection<String> persistentKeys);
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+/**
+ * A ProductResolution defines where a {@code Product} is looked up first, in the local {@code Product} replica or in the
+ * remote inventory service.
+ *
+ * @author Heiko Scherrer
+ */
+enum ProductResolution {
+
+    /** Trust the local replica as long as it is fresh enough, ask the inventory service only on a miss or a stale entry. */
+    LOCAL_FIRST,
+    /** Always ask the inventory service first and use the local replica only if the remote lookup fails. */
+    REMOTE_FIRST,
+    /** Only use the local replica, never ask the inventory service. */
+    LOCAL_ONLY
+}
@@ -15,20 +15,34 @@
  */
 package org.openwms.wms.receiving.inventory.impl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
+import org.ameba.exception.NotFoundException;
 import org.openwms.wms.receiving.inventory.Product;
 import org.openwms.wms.receiving.inventory.ProductMapper;
 import org.openwms.wms.receiving.inventory.ProductService;
+import org.openwms.wms.receiving.inventory.ProductSynchronizer;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductCaches;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
 import org.openwms.wms.receiving.spi.wms.inventory.SyncProductApi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
- * A ProductServiceImpl.
+ * A ProductServiceImpl resolves {@link Product}s either from the local replica or from the inventory service, according
+ * to the configured {@link ProductResolution}.
  *
  * @author Heiko Scherrer
  */
@@ -38,12 +52,29 @@ class ProductServiceImpl implements ProductService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProductServiceImpl.class);
     private final ProductMapper mapper;
     private final ProductRepository repository;
+    private final ProductSynchronizer synchronizer;
     private final SyncProductApi productApi;
+    private final ProductCaches productCaches;
+    private final ProductResolution resolution;
+    private final Duration maxAge;
+    private final SingleFlight<String, ProductVO> remoteLookups;
+    private final Counter notFoundHits;
+    private final Counter notFoundStored;
 
-    ProductServiceImpl(ProductMapper mapper, ProductRepository repository, SyncProductApi productApi) {
+    ProductServiceImpl(ProductMapper mapper, ProductRepository repository, ProductSynchronizer synchronizer, SyncProductApi productApi,
+            ProductCaches productCaches, MeterRegistry meterRegistry,
+            @Value("${owms.receiving.products.resolution:REMOTE_FIRST}") ProductResolution resolution,
+            @Value("${owms.receiving.products.max-age:24h}") Duration maxAge) {
         this.mapper = mapper;
         this.repository = repository;
+        this.synchronizer = synchronizer;
         this.productApi = productApi;
+        this.productCaches = productCaches;
+        this.resolution = resolution;
+        this.maxAge = maxAge;
+        this.remoteLookups = new SingleFlight<>(meterRegistry.counter("owms.receiving.product.lookup.coalesced"));
+        this.notFoundHits = meterRegistry.counter("owms.receiving.product.lookup.not-found", "result", "hit");
+        this.notFoundStored = meterRegistry.counter("owms.receiving.product.lookup.not-found", "result", "stored");
     }
 
     /**
@@ -52,15 +83,97 @@ class ProductServiceImpl implements ProductService {
     @Override
     @Measured
     public Optional<Product> findBySku(@NotBlank String sku) {
-        var vo = productApi.findBySKU(sku);
+        return switch (resolution) {
+            case LOCAL_ONLY -> repository.findBySku(sku);
+            case LOCAL_FIRST -> findLocalFirst(sku);
+            case REMOTE_FIRST -> findRemoteFirst(sku);
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * SKUs known to not exist and, with {@code LOCAL_FIRST} resolution, SKUs with a fresh local replica are not requested.
+     * SKUs missing in the response are left to the regular lookup. A failure doesn't mark the caller's transaction for
+     * rollback.
+     */
+    @Override
+    @Measured
+    @Transactional(noRollbackFor = Exception.class)
+    public void prefetch(@NotNull Collection<String> skus) {
+        if (resolution == ProductResolution.LOCAL_ONLY) {
+            return;
+        }
+        var requested = skus.stream().distinct().filter(sku -> !productCaches.isNotFound(sku)).collect(Collectors.toSet());
+        if (resolution == ProductResolution.LOCAL_FIRST && !requested.isEmpty()) {
+            repository.findBySkuIn(requested).stream().filter(this::isFresh).map(Product::getSku).forEach(requested::remove);
+        }
+        if (requested.size() < 2) {
+            // A single SKU is resolved by the regular lookup anyway
+            return;
+        }
+        var vos = productApi.findBySKUs(requested);
+        LOGGER.debug("Prefetched [{}] of [{}] Products", vos == null ? 0 : vos.size(), requested.size());
+    }
+
+    private Optional<Product> findLocalFirst(String sku) {
+        var local = repository.findBySku(sku);
+        if (local.isPresent() && isFresh(local.get())) {
+            return local;
+        }
+        LOGGER.debug("Product with SKU [{}] not in the local replica or outdated, asking the Inventory Service", sku);
+        var vo = findRemote(sku);
+        if (vo == null) {
+            // An outdated replica is still better than nothing
+            return local;
+        }
+        var resolved = saveResolved(vo);
+        resolved.markVerified();
+        return Optional.of(resolved);
+    }
+
+    private Optional<Product> findRemoteFirst(String sku) {
+        var vo = findRemote(sku);
         if (vo == null) {
             LOGGER.debug("Getting the Product with [{}] from the database instead of the Inventory Service", sku);
             return repository.findBySku(sku);
         }
-        var savedOne = repository.findByForeignPKey(vo.getpKey());
-        if (savedOne.isPresent()) {
-            return savedOne;
+        return Optional.of(saveResolved(vo));
+    }
+
+    /**
+     * Ask the Inventory Service unless the SKU is known to not exist. Concurrent lookups of the same SKU share one call.
+     */
+    private ProductVO findRemote(String sku) {
+        if (productCaches.isNotFound(sku)) {
+            notFoundHits.increment();
+            return null;
         }
-        return Optional.of(repository.save(mapper.convertFromVO(vo)));
+        return remoteLookups.execute(sku, () -> {
+            try {
+                return productApi.findBySKU(sku).orElse(null);
+            } catch (NotFoundException nfe) {
+                LOGGER.debug("Product with SKU [{}] does not exist in the Inventory Service", sku);
+                productCaches.rememberNotFound(sku);
+                notFoundStored.increment();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Insert the resolved Product into the local replica or apply it to the existing one, the local replica is
+     * returned.
+     */
+    private Product saveResolved(ProductVO vo) {
+        return synchronizer.update(mapper.convertFromVO(vo));
+    }
+
+    /**
+     * A replica is fresh when it has been confirmed by the Inventory Service recently, no matter whether the data has
+     * changed since then.
+     */
+    private boolean isFresh(Product product) {
+        return product.getVerifiedAt() != null && product.getVerifiedAt().plus(maxAge).isAfter(LocalDateTime.now());
     }
 }
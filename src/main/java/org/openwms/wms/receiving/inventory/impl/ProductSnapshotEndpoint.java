@@ -0,0 +1,64 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A ProductSnapshotEndpoint is an actuator endpoint to show the state of and to trigger loading the product master on
+ * demand.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+@Endpoint(id = "productsnapshot")
+class ProductSnapshotEndpoint {
+
+    private final ProductSnapshotLoader loader;
+
+    ProductSnapshotEndpoint(ProductSnapshotLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Show whether a run is in progress and the result of the last run.
+     *
+     * @return The state
+     */
+    @ReadOperation
+    public Map<String, Object> state() {
+        var state = new LinkedHashMap<String, Object>();
+        state.put("running", loader.isRunning());
+        loader.getLastResult().ifPresent(r -> state.put("lastResult", r));
+        return state;
+    }
+
+    /**
+     * Load the product master now.
+     *
+     * @return The result of the run, or the current state if a run is already in progress
+     */
+    @WriteOperation
+    public Object load() {
+        return loader.load(ProductSnapshotLoader.Trigger.MANUAL).map(Object.class::cast).orElseGet(this::state);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * A ProductSnapshotJobs warms up the local Product replica at startup and reconciles it on schedule.
+ * <p>
+ * The warm-up runs as an {@link ApplicationRunner}, Spring Boot does not switch the readiness state to
+ * {@code ACCEPTING_TRAFFIC} before all runners have completed, so the service is not ready before the replica is
+ * loaded. If the Inventory Service is not available the warm-up is retried until the timeout elapses and the scheduled
+ * reconciliation catches up later.
+ * </p>
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class ProductSnapshotJobs implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductSnapshotJobs.class);
+    private final ProductSnapshotLoader loader;
+    private final boolean bootstrapEnabled;
+    private final Duration bootstrapTimeout;
+    private final Duration retryDelay;
+
+    ProductSnapshotJobs(ProductSnapshotLoader loader,
+            @Value("${owms.receiving.products.snapshot.bootstrap.enabled:false}") boolean bootstrapEnabled,
+            @Value("${owms.receiving.products.snapshot.bootstrap.timeout:2m}") Duration bootstrapTimeout,
+            @Value("${owms.receiving.products.snapshot.bootstrap.retry-delay:5s}") Duration retryDelay) {
+        this.loader = loader;
+        this.bootstrapEnabled = bootstrapEnabled;
+        this.bootstrapTimeout = bootstrapTimeout;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Load the product master before the service gets ready.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!bootstrapEnabled) {
+            return;
+        }
+        var deadline = System.nanoTime() + bootstrapTimeout.toNanos();
+        while (true) {
+            try {
+                var result = loader.load(ProductSnapshotLoader.Trigger.STARTUP);
+                if (result.isEmpty() || result.get().complete()) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Loading the product master failed: [{}]", e.getMessage());
+            }
+            if (System.nanoTime() + retryDelay.toNanos() > deadline) {
+                LOGGER.error("Loading the product master did not complete within [{}], continue with an incomplete replica", bootstrapTimeout);
+                return;
+            }
+            Thread.sleep(retryDelay.toMillis());
+        }
+    }
+
+    /**
+     * Reconcile the local replica with the product master. Disabled unless a cron expression is configured.
+     */
+    @Scheduled(cron = "${owms.receiving.products.snapshot.reconciliation.cron:-}")
+    public void reconcile() {
+        try {
+            loader.load(ProductSnapshotLoader.Trigger.SCHEDULED);
+        } catch (RuntimeException e) {
+            LOGGER.error("Reconciling the product master failed: [{}]", e.getMessage(), e);
+        }
+    }
+}
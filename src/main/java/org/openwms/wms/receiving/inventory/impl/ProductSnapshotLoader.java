@@ -0,0 +1,263 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.wms.receiving.inventory.Product;
+import org.openwms.wms.receiving.inventory.ProductMapper;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductCaches;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncProductApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A ProductSnapshotLoader pulls the product master page by page from the Inventory Service and upserts it into the
+ * local replica. A page is only written when its checksum differs from the checksum of the matching local rows and
+ * then only the differing rows are rewritten, in JDBC batches of the page size.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class ProductSnapshotLoader {
+
+    /** What caused a run. */
+    enum Trigger {
+        STARTUP, SCHEDULED, MANUAL
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductSnapshotLoader.class);
+    private static final char SEPARATOR = '\u001F';
+    private final ProductRepository repository;
+    private final ProductMapper mapper;
+    private final SyncProductApi productApi;
+    private final ProductCaches productCaches;
+    private final EntityManager em;
+    private final TransactionTemplate txTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int pageSize;
+    private final Counter inserted;
+    private final Counter updated;
+    private final Counter unchanged;
+    private final Counter conflicts;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ProductSnapshotResult lastResult;
+
+    ProductSnapshotLoader(ProductRepository repository, ProductMapper mapper, SyncProductApi productApi,
+            ProductCaches productCaches, EntityManager em, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry, @Value("${owms.receiving.products.snapshot.page-size:500}") int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The page size to load Products must be positive but is " + pageSize);
+        }
+        this.repository = repository;
+        this.mapper = mapper;
+        this.productApi = productApi;
+        this.productCaches = productCaches;
+        this.em = em;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.pageSize = pageSize;
+        this.inserted = meterRegistry.counter("owms.receiving.product.snapshot.rows", "outcome", "inserted");
+        this.updated = meterRegistry.counter("owms.receiving.product.snapshot.rows", "outcome", "updated");
+        this.unchanged = meterRegistry.counter("owms.receiving.product.snapshot.rows", "outcome", "unchanged");
+        this.conflicts = meterRegistry.counter("owms.receiving.product.snapshot.rows", "outcome", "conflict");
+    }
+
+    /**
+     * Load all pages of the product master and reconcile them with the local replica. Each page is written in its own
+     * transaction, an interrupted run leaves the already written pages in place.
+     *
+     * @param trigger What caused the run
+     * @return The result or nothing if another run is currently in progress
+     */
+    Optional<ProductSnapshotResult> load(Trigger trigger) {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.info("Loading the product master is already in progress, skipping the [{}] run", trigger);
+            return Optional.empty();
+        }
+        var sample = Timer.start(meterRegistry);
+        var tally = new Tally();
+        var complete = false;
+        try {
+            for (var page = 0; ; page++) {
+                var vos = productApi.findAll(page, pageSize);
+                if (vos == null) {
+                    LOGGER.warn("The Inventory Service is not available, stopped loading the product master at page [{}]", page);
+                    break;
+                }
+                if (!vos.isEmpty()) {
+                    var rewritten = txTemplate.execute(status -> apply(vos, tally));
+                    Objects.requireNonNull(rewritten).forEach(vo -> productCaches.refresh(ProductCaches.Cause.UPDATED, vo));
+                    tally.pages++;
+                }
+                if (vos.size() < pageSize) {
+                    complete = true;
+                    break;
+                }
+            }
+        } finally {
+            var duration = Duration.ofNanos(sample.stop(meterRegistry.timer("owms.receiving.product.snapshot",
+                    "trigger", trigger.name().toLowerCase(), "complete", String.valueOf(complete))));
+            lastResult = tally.toResult(complete, duration);
+            running.set(false);
+        }
+        LOGGER.info("Loaded the product master on [{}]: [{}]", trigger, lastResult);
+        return Optional.of(lastResult);
+    }
+
+    /**
+     * Get the result of the last run.
+     *
+     * @return The result or nothing if there was no run yet
+     */
+    Optional<ProductSnapshotResult> getLastResult() {
+        return Optional.ofNullable(lastResult);
+    }
+
+    /**
+     * Is a run currently in progress?
+     *
+     * @return {@literal true} if so
+     */
+    boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Reconcile one page with the local replica.
+     *
+     * @return All remote Products that have rewritten an existing local row
+     */
+    private List<ProductVO> apply(List<ProductVO> vos, Tally tally) {
+        var locals = repository.findByForeignPKeyIn(vos.stream().map(ProductVO::getpKey).toList()).stream()
+                .collect(Collectors.toMap(Product::getForeignPKey, Function.identity()));
+        var remoteFingerprints = vos.stream().map(ProductSnapshotLoader::fingerprint).toList();
+        var localFingerprints = vos.stream().map(vo -> fingerprint(locals.get(vo.getpKey()))).toList();
+        if (Arrays.equals(checksum(remoteFingerprints), checksum(localFingerprints))) {
+            tally.unchangedPages++;
+            tally.unchanged += vos.size();
+            unchanged.increment(vos.size());
+            return List.of();
+        }
+
+        // The SKU is unique as well, a new or renamed Product must not take the SKU of another local Product
+        var skuOwners = repository.findBySkuIn(vos.stream().map(ProductVO::getSku).toList()).stream()
+                .collect(Collectors.toMap(Product::getSku, Product::getForeignPKey));
+        var session = em.unwrap(Session.class);
+        session.setJdbcBatchSize(pageSize);
+        var rewritten = new ArrayList<ProductVO>();
+        for (var i = 0; i < vos.size(); i++) {
+            var vo = vos.get(i);
+            if (remoteFingerprints.get(i).equals(localFingerprints.get(i))) {
+                tally.unchanged++;
+                unchanged.increment();
+                continue;
+            }
+            var owner = skuOwners.get(vo.getSku());
+            if (owner != null && !owner.equals(vo.getpKey())) {
+                LOGGER.warn("Product [{}] with SKU [{}] is skipped, the SKU is already used by Product [{}]", vo.getpKey(), vo.getSku(), owner);
+                tally.conflicts++;
+                conflicts.increment();
+                continue;
+            }
+            var local = locals.get(vo.getpKey());
+            if (local == null) {
+                var product = mapper.convertFromVO(vo);
+                product.markVerified();
+                em.persist(product);
+                tally.inserted++;
+                inserted.increment();
+            } else {
+                local.setSku(vo.getSku());
+                local.setLabel(vo.getLabel());
+                local.setDescription(vo.getDescription());
+                local.setBaseUnit(vo.getBaseUnit());
+                local.setOverbookingAllowed(vo.getOverbookingAllowed());
+                local.markVerified();
+                rewritten.add(vo);
+                tally.updated++;
+                updated.increment();
+            }
+        }
+        session.flush();
+        session.clear();
+        return rewritten;
+    }
+
+    private static String fingerprint(ProductVO vo) {
+        return fingerprint(vo.getSku(), vo.getLabel(), vo.getDescription(), vo.getBaseUnit(), vo.getOverbookingAllowed());
+    }
+
+    private static String fingerprint(Product product) {
+        return product == null
+                ? ""
+                : fingerprint(product.getSku(), product.getLabel(), product.getDescription(), product.getBaseUnit(), product.getOverbookingAllowed());
+    }
+
+    private static String fingerprint(String sku, String label, String description, Measurable<?, ?, ?> baseUnit,
+            Boolean overbookingAllowed) {
+        return String.valueOf(sku) + SEPARATOR + label + SEPARATOR + description + SEPARATOR + Product.normalized(baseUnit)
+                + SEPARATOR + overbookingAllowed;
+    }
+
+    private static byte[] checksum(List<String> fingerprints) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            fingerprints.forEach(f -> {
+                digest.update(f.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            });
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    private static final class Tally {
+        private int pages;
+        private int unchangedPages;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int conflicts;
+
+        private ProductSnapshotResult toResult(boolean complete, Duration duration) {
+            return new ProductSnapshotResult(complete, pages, unchangedPages, inserted, updated, unchanged, conflicts, duration);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+import java.time.Duration;
+
+/**
+ * A ProductSnapshotResult summarizes one run of loading the product master from the Inventory Service.
+ *
+ * @param complete Whether all pages have been loaded or the run has been interrupted
+ * @param pages The number of loaded pages
+ * @param unchangedPages The number of pages that have been skipped because their checksum matched the local replica
+ * @param inserted The number of inserted Products
+ * @param updated The number of rewritten Products
+ * @param unchanged The number of Products that have been identical in the local replica
+ * @param conflicts The number of Products skipped because their SKU is already used by another local Product
+ * @param duration How long the run took
+ * @author Heiko Scherrer
+ */
+record ProductSnapshotResult(boolean complete, int pages, int unchangedPages, int inserted, int updated, int unchanged,
+        int conflicts, Duration duration) {
+}
@@ -15,43 +15,74 @@
  */
 package org.openwms.wms.receiving.inventory.impl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
+import org.hibernate.Session;
 import org.openwms.wms.receiving.inventory.Product;
 import org.openwms.wms.receiving.inventory.ProductSynchronizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * A ProductSynchronizerImpl.
+ * A ProductSynchronizerImpl applies changes of the Inventory Service to the local replica. A change is only written
+ * when it is newer than the version applied last and actually changes data. Concurrent writers are detected by the
+ * optimistic lock of the {@link Product}, so that the check and the write act as a compare-and-set.
  *
  * @author Heiko Scherrer
  */
 @TxService
 class ProductSynchronizerImpl implements ProductSynchronizer {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductSynchronizerImpl.class);
     private final ProductRepository repository;
+    private final EntityManager em;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter staleSkips;
+    private final Counter duplicateSkips;
 
-    ProductSynchronizerImpl(ProductRepository repository) {
+    ProductSynchronizerImpl(ProductRepository repository, EntityManager em, MeterRegistry meterRegistry) {
         this.repository = repository;
+        this.em = em;
+        this.inserts = meterRegistry.counter("owms.receiving.product.sync.writes", "operation", "insert");
+        this.updates = meterRegistry.counter("owms.receiving.product.sync.writes", "operation", "update");
+        this.staleSkips = meterRegistry.counter("owms.receiving.product.sync.skipped", "reason", "stale");
+        this.duplicateSkips = meterRegistry.counter("owms.receiving.product.sync.skipped", "reason", "duplicate");
     }
 
     /**
      * {@inheritDoc}
+     *
+     * A redelivered creation is treated like an update.
      */
     @Override
     @Measured
     public void create(@NotNull Product product) {
-        repository.save(product);
+        upsert(product, repository.findByForeignPKey(product.getForeignPKey()).orElse(null));
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Stale or duplicate updates are skipped and the current instance is returned.
      */
     @Override
     @Measured
     public Product update(@NotNull Product product) {
-        return repository.save(product);
+        var local = repository.findByForeignPKey(product.getForeignPKey()).orElse(null);
+        upsert(product, local);
+        return local == null ? product : local;
     }
 
     /**
@@ -62,4 +93,69 @@ class ProductSynchronizerImpl implements ProductSynchronizer {
     public void delete(@NotBlank String pKey) {
         repository.findBypKey(pKey).ifPresent(repository::delete);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All inserts and updates are flushed in one JDBC batch, all deletions are executed with a single statement.
+     */
+    @Override
+    @Measured
+    public List<Product> synchronize(@NotNull Collection<Product> upserts, @NotNull Collection<String> deletions) {
+        var written = new ArrayList<Product>(upserts.size());
+        if (!upserts.isEmpty()) {
+            var existing = repository.findByForeignPKeyIn(upserts.stream().map(Product::getForeignPKey).toList()).stream()
+                    .collect(Collectors.toMap(Product::getForeignPKey, Function.identity()));
+            var session = em.unwrap(Session.class);
+            session.setJdbcBatchSize(upserts.size());
+            for (var product : upserts) {
+                var local = existing.get(product.getForeignPKey());
+                if (upsert(product, local)) {
+                    written.add(local == null ? product : local);
+                }
+            }
+            session.flush();
+        }
+        if (!deletions.isEmpty()) {
+            repository.deleteAllInBatch(repository.findBypKeyIn(deletions));
+        }
+        return written;
+    }
+
+    /**
+     * Insert the {@code product} or apply it to the {@code local} one.
+     *
+     * @return {@literal true} if anything has to be written, {@literal false} if the change is skipped
+     */
+    private boolean upsert(Product product, Product local) {
+        if (local == null) {
+            product.markVerified();
+            em.persist(product);
+            inserts.increment();
+            return true;
+        }
+        if (local.isStale(product.getForeignVersion())) {
+            LOGGER.debug("Skipping stale update of Product [{}] with version [{}], version [{}] is already applied",
+                    product.getForeignPKey(), product.getForeignVersion(), local.getForeignVersion());
+            staleSkips.increment();
+            return false;
+        }
+        // Remember the version even of a duplicate, so that older changes that arrive later are still detected as stale
+        if (product.getForeignVersion() != null) {
+            local.setForeignVersion(product.getForeignVersion());
+        }
+        if (local.hasSameDataAs(product)) {
+            LOGGER.debug("Skipping duplicate update of Product [{}]", product.getForeignPKey());
+            duplicateSkips.increment();
+            return false;
+        }
+        local.setSku(product.getSku());
+        local.setLabel(product.getLabel());
+        local.setDescription(product.getDescription());
+        local.setBaseUnit(product.getBaseUnit());
+        local.setOverbookingAllowed(product.getOverbookingAllowed());
+        local.markVerified();
+        updates.increment();
+        return true;
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A SingleFlight coalesces concurrent calls with the same key. The first caller executes the call, all callers that
+ * arrive while the call is in flight wait for and share its result, or its exception.
+ *
+ * @param <K> The type of key
+ * @param <V> The type of result
+ * @author Heiko Scherrer
+ */
+class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    SingleFlight(Counter coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    /**
+     * Execute the {@code call} or join the one that is currently in flight for the same {@code key}.
+     *
+     * @param key The key of the call
+     * @param call The call to execute
+     * @return The result of the call
+     */
+    V execute(K key, Supplier<V> call) {
+        var own = new CompletableFuture<V>();
+        var running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException ce) {
+                if (ce.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw ce;
+            }
+        }
+        try {
+            var result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException re) {
+            own.completeExceptionally(re);
+            throw re;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+}
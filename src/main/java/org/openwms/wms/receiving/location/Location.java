@@ -0,0 +1,109 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotBlank;
+import org.ameba.integration.jpa.ApplicationEntity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A Location is the local replica of a {@code Location} that is owned by the COMMON service.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "WMS_REC_LOCATION",
+        uniqueConstraints = @UniqueConstraint(name = "UC_REC_LOC_ID", columnNames = {"C_LOCATION_ID"}),
+        indexes = @Index(name = "IDX_REC_LOC_ERP_CODE", columnList = "C_ERP_CODE")
+)
+public class Location extends ApplicationEntity implements Serializable {
+
+    /** Unique natural key. */
+    @Column(name = "C_LOCATION_ID", nullable = false)
+    @NotBlank
+    private String locationId;
+
+    /** ERP code of the {@code Location}. */
+    @Column(name = "C_ERP_CODE")
+    private String erpCode;
+
+    /** Dear JPA... */
+    protected Location() {
+    }
+
+    /**
+     * Create a Location.
+     *
+     * @param locationId The unique natural key
+     * @param erpCode The ERP code, may be {@literal null}
+     */
+    public Location(String locationId, String erpCode) {
+        this.locationId = locationId;
+        this.erpCode = erpCode;
+    }
+
+    public String getLocationId() {
+        return locationId;
+    }
+
+    public String getErpCode() {
+        return erpCode;
+    }
+
+    public void setErpCode(String erpCode) {
+        this.erpCode = erpCode;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the locationId.
+     */
+    @Override
+    public String toString() {
+        return locationId;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All fields.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Location that)) return false;
+        if (!super.equals(o)) return false;
+        return Objects.equals(locationId, that.locationId) && Objects.equals(erpCode, that.erpCode);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All fields.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), locationId, erpCode);
+    }
+}
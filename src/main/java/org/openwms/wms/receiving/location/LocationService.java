@@ -0,0 +1,48 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location;
+
+import jakarta.validation.constraints.NotBlank;
+import org.openwms.wms.receiving.spi.wms.location.LocationVO;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A LocationService resolves {@code Location}s from the local replica first and asks the remote services only if a
+ * {@code Location} is not replicated yet.
+ *
+ * @author Heiko Scherrer
+ */
+public interface LocationService {
+
+    /**
+     * Find and return a {@code Location} representation by the given {@code erpCode}.
+     *
+     * @param erpCode The ERP code
+     * @return The instance
+     */
+    Optional<LocationVO> findByErpCode(@NotBlank String erpCode);
+
+    /**
+     * Find and return a {@code Location} representation by the given {@code erpCode} without blocking the caller on a
+     * remote lookup.
+     *
+     * @param erpCode The ERP code
+     * @return A future completed with the instance, already completed if the {@code Location} is replicated
+     */
+    CompletableFuture<Optional<LocationVO>> findByErpCodeAsync(@NotBlank String erpCode);
+}
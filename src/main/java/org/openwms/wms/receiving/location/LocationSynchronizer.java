@@ -0,0 +1,44 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Collection;
+
+/**
+ * A LocationSynchronizer offers methods to synchronize the local replica of {@link Location}s with an external source.
+ *
+ * @author Heiko Scherrer
+ */
+public interface LocationSynchronizer {
+
+    /**
+     * Create or update the given {@link Location}s, identified by their {@code locationId}.
+     *
+     * @param locations The instances to create or update
+     * @return The number of rows that have been inserted or updated
+     */
+    int synchronize(@NotNull Collection<Location> locations);
+
+    /**
+     * Delete an existing {@link Location}.
+     *
+     * @param locationId The unique natural key of the instance to delete
+     */
+    void delete(@NotBlank String locationId);
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location.events;
+
+import org.ameba.annotation.Measured;
+import org.openwms.common.location.api.messages.LocationMO;
+import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.location.Location;
+import org.openwms.wms.receiving.location.LocationSynchronizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * A LocationMessageListener is a Spring managed RabbitMQ event listener that keeps the local replica of Locations
+ * up-to-date.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@Component
+class LocationMessageListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationMessageListener.class);
+    private final LocationSynchronizer synchronizer;
+
+    LocationMessageListener(LocationSynchronizer synchronizer) {
+        this.synchronizer = synchronizer;
+    }
+
+    @Measured
+    @RabbitListener(id = "locations", queues = "${owms.events.common.location.queue-name}", containerFactory = "locationContainerFactory")
+    public void handle(@Payload LocationMO mo, @Header("amqp_receivedRoutingKey") String routingKey) {
+        try {
+            if (mo.id() == null || mo.id().isEmpty()) {
+                LOGGER.warn("Location event [{}] without locationId is ignored", routingKey);
+            } else if (routingKey.startsWith("location.event.deleted")) {
+                LOGGER.debug("Event: Delete Location [{}]", mo.id());
+                synchronizer.delete(mo.id());
+            } else {
+                LOGGER.debug("Event: Location [{}] has been created or changed", mo.id());
+                synchronizer.synchronize(List.of(new Location(mo.id(), mo.erpCode())));
+            }
+        } catch (Exception e) {
+            throw new AmqpRejectAndDontRequeueException(e.getMessage(), e);
+        }
+    }
+}
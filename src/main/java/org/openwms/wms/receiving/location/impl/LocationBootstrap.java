@@ -0,0 +1,88 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location.impl;
+
+import org.openwms.wms.receiving.location.Location;
+import org.openwms.wms.receiving.location.LocationSynchronizer;
+import org.openwms.wms.receiving.spi.wms.location.LocationVO;
+import org.openwms.wms.receiving.spi.wms.location.SyncLocationApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * A LocationBootstrap loads all {@code Location}s page by page into the local replica at startup. It runs as an
+ * {@link ApplicationRunner}, so the service does not get ready before the replica is loaded. Afterwards the replica is
+ * kept up-to-date by Location events.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class LocationBootstrap implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationBootstrap.class);
+    private final SyncLocationApi locationApi;
+    private final LocationSynchronizer synchronizer;
+    private final boolean enabled;
+    private final int pageSize;
+
+    LocationBootstrap(SyncLocationApi locationApi, LocationSynchronizer synchronizer,
+            @Value("${owms.receiving.locations.bootstrap.enabled:false}") boolean enabled,
+            @Value("${owms.receiving.locations.bootstrap.page-size:1000}") int pageSize) {
+        this.locationApi = locationApi;
+        this.synchronizer = synchronizer;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * Load all pages and write each page in its own transaction.
+     *
+     * @return The number of written rows
+     */
+    int load() {
+        var written = 0;
+        for (var page = 0; ; page++) {
+            var vos = locationApi.findAll(page, pageSize);
+            if (vos == null) {
+                LOGGER.warn("The Location service is not available, stopped loading Locations at page [{}]", page);
+                break;
+            }
+            written += synchronizer.synchronize(vos.stream()
+                    .filter(LocationVO::hasLocationId)
+                    .map(vo -> new Location(vo.getLocationId(), vo.getErpCode()))
+                    .toList());
+            if (vos.size() < pageSize) {
+                break;
+            }
+        }
+        LOGGER.info("Loaded Locations into the local replica, [{}] rows written", written);
+        return written;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location.impl;
+
+import org.openwms.wms.receiving.location.Location;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A LocationRepository.
+ *
+ * @author Heiko Scherrer
+ */
+interface LocationRepository extends JpaRepository<Location, Long> {
+
+    Optional<Location> findFirstByErpCode(String erpCode);
+
+    Optional<Location> findByLocationId(String locationId);
+
+    List<Location> findByLocationIdIn(Collection<String> locationIds);
+}
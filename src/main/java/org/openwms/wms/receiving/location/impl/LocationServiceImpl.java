@@ -0,0 +1,115 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotBlank;
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.openwms.wms.receiving.location.Location;
+import org.openwms.wms.receiving.location.LocationService;
+import org.openwms.wms.receiving.location.LocationSynchronizer;
+import org.openwms.wms.receiving.spi.wms.location.LocationVO;
+import org.openwms.wms.receiving.spi.wms.location.NonBlockingLocationApi;
+import org.openwms.wms.receiving.spi.wms.location.SyncLocationApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A LocationServiceImpl resolves Locations from the local replica and asks the remote service only on a miss. It does not
+ * start a transaction on its own, so that no database connection is held while waiting for the remote service. Only
+ * adding a remotely resolved Location to the replica runs in a short transaction of the {@link LocationSynchronizer}.
+ *
+ * @author Heiko Scherrer
+ */
+@Validated
+@TxService(propagation = Propagation.SUPPORTS)
+class LocationServiceImpl implements LocationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationServiceImpl.class);
+    private final LocationRepository repository;
+    private final LocationSynchronizer synchronizer;
+    private final SyncLocationApi locationApi;
+    private final NonBlockingLocationApi nonBlockingLocationApi;
+    private final Counter replicaHits;
+    private final Counter remoteLookups;
+
+    LocationServiceImpl(LocationRepository repository, LocationSynchronizer synchronizer, SyncLocationApi locationApi,
+            NonBlockingLocationApi nonBlockingLocationApi, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.synchronizer = synchronizer;
+        this.locationApi = locationApi;
+        this.nonBlockingLocationApi = nonBlockingLocationApi;
+        this.replicaHits = meterRegistry.counter("owms.receiving.location.lookup", "source", "replica");
+        this.remoteLookups = meterRegistry.counter("owms.receiving.location.lookup", "source", "remote");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * A Location that is resolved remotely is added to the replica.
+     */
+    @Override
+    @Measured
+    public Optional<LocationVO> findByErpCode(@NotBlank String erpCode) {
+        var local = findReplicated(erpCode);
+        if (local.isPresent()) {
+            return local;
+        }
+        return replicate(erpCode, locationApi.findByErpCodeOpt(erpCode));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * A Location that is resolved remotely is added to the replica.
+     */
+    @Override
+    @Measured
+    public CompletableFuture<Optional<LocationVO>> findByErpCodeAsync(@NotBlank String erpCode) {
+        var local = findReplicated(erpCode);
+        if (local.isPresent()) {
+            return CompletableFuture.completedFuture(local);
+        }
+        return nonBlockingLocationApi.findByErpCodeOpt(erpCode).thenApply(remote -> replicate(erpCode, remote));
+    }
+
+    private Optional<LocationVO> findReplicated(String erpCode) {
+        var local = repository.findFirstByErpCode(erpCode);
+        if (local.isEmpty()) {
+            LOGGER.debug("Location with ERP code [{}] is not replicated yet, asking the remote service", erpCode);
+            remoteLookups.increment();
+            return Optional.empty();
+        }
+        replicaHits.increment();
+        var vo = LocationVO.of(local.get().getLocationId());
+        vo.setErpCode(local.get().getErpCode());
+        return Optional.of(vo);
+    }
+
+    private Optional<LocationVO> replicate(String erpCode, Optional<LocationVO> remote) {
+        remote.filter(LocationVO::hasLocationId)
+                .ifPresent(vo -> synchronizer.synchronize(List.of(new Location(vo.getLocationId(), erpCode))));
+        return remote;
+    }
+}
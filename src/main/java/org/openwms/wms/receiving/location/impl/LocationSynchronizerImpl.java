@@ -0,0 +1,98 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.hibernate.Session;
+import org.openwms.wms.receiving.location.Location;
+import org.openwms.wms.receiving.location.LocationSynchronizer;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A LocationSynchronizerImpl.
+ *
+ * @author Heiko Scherrer
+ */
+@Validated
+@TxService
+class LocationSynchronizerImpl implements LocationSynchronizer {
+
+    private final LocationRepository repository;
+    private final EntityManager em;
+    private final Counter inserts;
+    private final Counter updates;
+
+    LocationSynchronizerImpl(LocationRepository repository, EntityManager em, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.em = em;
+        this.inserts = meterRegistry.counter("owms.receiving.location.rows.written", "operation", "insert");
+        this.updates = meterRegistry.counter("owms.receiving.location.rows.written", "operation", "update");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Existing Locations are loaded with one query, all inserts and updates are flushed in one JDBC batch and unchanged
+     * Locations are not written at all.
+     */
+    @Override
+    @Measured
+    public int synchronize(@NotNull Collection<Location> locations) {
+        if (locations.isEmpty()) {
+            return 0;
+        }
+        var existing = repository.findByLocationIdIn(locations.stream().map(Location::getLocationId).toList()).stream()
+                .collect(Collectors.toMap(Location::getLocationId, Function.identity()));
+        var session = em.unwrap(Session.class);
+        session.setJdbcBatchSize(locations.size());
+        var written = 0;
+        for (var location : locations) {
+            var local = existing.get(location.getLocationId());
+            if (local == null) {
+                em.persist(location);
+                existing.put(location.getLocationId(), location);
+                inserts.increment();
+                written++;
+            } else if (!Objects.equals(local.getErpCode(), location.getErpCode())) {
+                local.setErpCode(location.getErpCode());
+                updates.increment();
+                written++;
+            }
+        }
+        session.flush();
+        return written;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void delete(@NotBlank String locationId) {
+        repository.findByLocationId(locationId).ifPresent(repository::delete);
+    }
+}
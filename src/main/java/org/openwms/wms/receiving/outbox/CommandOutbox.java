@@ -0,0 +1,56 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.outbox;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.openwms.wms.receiving.spi.wms.inventory.PackagingUnitVO;
+import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
+
+import java.util.List;
+
+/**
+ * A CommandOutbox records commands to other services within the current transaction. The commands are dispatched
+ * after the transaction has been committed and retried until they succeed, so no remote call is made while database
+ * connections and locks are held.
+ *
+ * @author Heiko Scherrer
+ */
+public interface CommandOutbox {
+
+    /**
+     * Record to move a {@code TransportUnit} from its current location to the {@code newLocation}.
+     *
+     * @param transportUnitBK The unique (physical) identifier
+     * @param newLocationErpCode The ERP code of the {@code Location} to move to
+     */
+    void moveTU(@NotBlank String transportUnitBK, @NotBlank String newLocationErpCode);
+
+    /**
+     * Record to create a {@code TransportUnit}.
+     *
+     * @param tu Detailed information of the {@code TransportUnit} to create
+     */
+    void createTU(@NotNull TransportUnitVO tu);
+
+    /**
+     * Record to create new {@code PackagingUnit}s on the {@code Location} given as {@code actualLocation}.
+     *
+     * @param pus The PackagingUnit representations, contains the Location where to create them
+     */
+    void createPackagingUnitsOnLocation(@NotEmpty List<PackagingUnitVO> pus);
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.outbox.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.ameba.exception.ResourceExistsException;
+import org.ameba.i18n.Translator;
+import org.openwms.wms.receiving.outbox.CommandOutbox;
+import org.openwms.wms.receiving.spi.wms.inventory.PackagingUnitVO;
+import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
+import org.openwms.wms.receiving.transport.TransportUnitService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.openwms.wms.receiving.ReceivingMessages.TU_ALREADY_EXISTS;
+
+/**
+ * A CommandOutboxImpl stores each command as {@link OutboxCommand} in the current transaction and notifies the
+ * {@link OutboxDispatcher} to dispatch it after commit. Commands on a {@code TransportUnit} are keyed by its business
+ * key, so that they are dispatched in the order they have been recorded. When {@code TransportUnit}s are created
+ * strictly, the creation of one that is already known locally or that is already about to be created is rejected
+ * right away, because a conflict detected by the remote service after commit can't be reported to the caller anymore.
+ *
+ * @author Heiko Scherrer
+ */
+@Validated
+@TxService
+class CommandOutboxImpl implements CommandOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandOutboxImpl.class);
+    private final OutboxCommandRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher publisher;
+    private final TransportUnitService transportUnitService;
+    private final Translator translator;
+    private final boolean strictlyCreateTU;
+
+    CommandOutboxImpl(OutboxCommandRepository repository, ObjectMapper objectMapper, ApplicationEventPublisher publisher,
+            TransportUnitService transportUnitService, Translator translator,
+            @Value("${owms.receiving.create-tu-strictly:true}") boolean strictlyCreateTU) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.publisher = publisher;
+        this.transportUnitService = transportUnitService;
+        this.translator = translator;
+        this.strictlyCreateTU = strictlyCreateTU;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void moveTU(@NotBlank String transportUnitBK, @NotBlank String newLocationErpCode) {
+        record(OutboxCommandType.TU_MOVE, transportUnitBK, new TransportUnitMove(transportUnitBK, newLocationErpCode));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void createTU(@NotNull TransportUnitVO tu) {
+        var transportUnitBK = tu.getTransportUnitBK();
+        if (strictlyCreateTU && (transportUnitService.exists(transportUnitBK) || repository.hasOpen(OutboxCommandType.TU_CREATE, transportUnitBK))) {
+            throw new ResourceExistsException(translator, TU_ALREADY_EXISTS, new String[]{transportUnitBK}, transportUnitBK);
+        }
+        record(OutboxCommandType.TU_CREATE, tu.getTransportUnitBK(), tu);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void createPackagingUnitsOnLocation(@NotEmpty List<PackagingUnitVO> pus) {
+        record(OutboxCommandType.PU_CREATE, null, pus.toArray(PackagingUnitVO[]::new));
+    }
+
+    private void record(OutboxCommandType type, String orderingKey, Object payload) {
+        try {
+            var command = repository.save(new OutboxCommand(type, orderingKey, objectMapper.writeValueAsString(payload), LocalDateTime.now()));
+            LOGGER.debug("Recorded command [{}]", command);
+            publisher.publishEvent(new OutboxCommandRecordedEvent(command.getPk()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Can't serialize the payload of a command of type " + type, e);
+        }
+    }
+}
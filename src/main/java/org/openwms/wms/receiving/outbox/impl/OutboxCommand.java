@@ -0,0 +1,190 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.outbox.impl;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.ameba.integration.jpa.ApplicationEntity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A OutboxCommand is a command to another service that has been recorded in a business transaction and is waiting to
+ * be dispatched.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "WMS_REC_OUTBOX",
+        indexes = {
+                @Index(name = "IDX_REC_OUTBOX_DUE", columnList = "C_STATE, C_NEXT_ATTEMPT_AT"),
+                @Index(name = "IDX_REC_OUTBOX_ORDERING", columnList = "C_ORDERING_KEY, C_STATE")
+        }
+)
+public class OutboxCommand extends ApplicationEntity implements Serializable {
+
+    /** The maximum length of an error message that is stored. */
+    static final int ERROR_LENGTH = 1024;
+
+    /** What kind of command. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "C_TYPE", nullable = false)
+    @NotNull
+    private OutboxCommandType type;
+
+    /** Commands with the same key are dispatched one after the other in the order they have been recorded. */
+    @Column(name = "C_ORDERING_KEY")
+    private String orderingKey;
+
+    /** The serialized arguments of the command. */
+    @Column(name = "C_PAYLOAD", nullable = false, length = 65535)
+    @NotNull
+    private String payload;
+
+    /** Current state. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "C_STATE", nullable = false)
+    @NotNull
+    private OutboxCommandState state = OutboxCommandState.PENDING;
+
+    /** Number of failed dispatch attempts. */
+    @Column(name = "C_ATTEMPTS", nullable = false)
+    private int attempts;
+
+    /** When the command is due to be dispatched (again). */
+    @Column(name = "C_NEXT_ATTEMPT_AT", nullable = false)
+    @NotNull
+    private LocalDateTime nextAttemptAt;
+
+    /** When the command has been claimed by a dispatcher. */
+    @Column(name = "C_CLAIMED_AT")
+    private LocalDateTime claimedAt;
+
+    /** The error of the last failed attempt. */
+    @Column(name = "C_LAST_ERROR", length = ERROR_LENGTH)
+    private String lastError;
+
+    /** Dear JPA... */
+    protected OutboxCommand() {
+    }
+
+    OutboxCommand(OutboxCommandType type, String orderingKey, String payload, LocalDateTime dueAt) {
+        this.type = type;
+        this.orderingKey = orderingKey;
+        this.payload = payload;
+        this.nextAttemptAt = dueAt;
+    }
+
+    /**
+     * Claim the command for a dispatch attempt.
+     *
+     * @param now The current time
+     */
+    void claim(LocalDateTime now) {
+        this.state = OutboxCommandState.IN_FLIGHT;
+        this.claimedAt = now;
+    }
+
+    /**
+     * Record a failed attempt and either reschedule the command or give up.
+     *
+     * @param error The cause
+     * @param nextAttemptAt When to try again, or {@literal null} to give up
+     */
+    void failed(String error, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= ERROR_LENGTH ? error : error.substring(0, ERROR_LENGTH);
+        this.claimedAt = null;
+        if (nextAttemptAt == null) {
+            this.state = OutboxCommandState.FAILED;
+        } else {
+            this.state = OutboxCommandState.PENDING;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+    }
+
+    public OutboxCommandType getType() {
+        return type;
+    }
+
+    public String getOrderingKey() {
+        return orderingKey;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public OutboxCommandState getState() {
+        return state;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Type and state only.
+     */
+    @Override
+    public String toString() {
+        return type + "[" + getPk() + ", " + state + "]";
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All fields.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OutboxCommand that)) return false;
+        if (!super.equals(o)) return false;
+        return attempts == that.attempts && type == that.type && Objects.equals(orderingKey, that.orderingKey) && Objects.equals(payload, that.payload) && state == that.state && Objects.equals(nextAttemptAt, that.nextAttemptAt) && Objects.equals(claimedAt, that.claimedAt) && Objects.equals(lastError, that.lastError);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All fields.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), type, orderingKey, payload, state, attempts, nextAttemptAt, claimedAt, lastError);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.outbox.impl;
+
+/**
+ * A OutboxCommandRecordedEvent signals that a command has been recorded in the current transaction.
+ *
+ * @param pk The primary key of the recorded {@link OutboxCommand}
+ * @author Heiko Scherrer
+ */
+record OutboxCommandRecordedEvent(Long pk) {
+}
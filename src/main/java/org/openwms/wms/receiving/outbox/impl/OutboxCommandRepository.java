@@ -0,0 +1,58 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.outbox.impl;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A OutboxCommandRepository.
+ *
+ * @author Heiko Scherrer
+ */
+interface OutboxCommandRepository extends JpaRepository<OutboxCommand, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from OutboxCommand c where c.pk = :pk")
+    Optional<OutboxCommand> findForUpdate(@Param("pk") Long pk);
+
+    @Query("select c.pk from OutboxCommand c where c.state = :state and c.nextAttemptAt <= :now order by c.nextAttemptAt")
+    List<Long> findDue(@Param("state") OutboxCommandState state, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("select c.pk from OutboxCommand c where c.state = org.openwms.wms.receiving.outbox.impl.OutboxCommandState.IN_FLIGHT and c.claimedAt < :before")
+    List<Long> findAbandoned(@Param("before") LocalDateTime before);
+
+    @Query("select count(c) > 0 from OutboxCommand c where c.orderingKey = :orderingKey and c.pk < :pk and c.state in ("
+            + "org.openwms.wms.receiving.outbox.impl.OutboxCommandState.PENDING, org.openwms.wms.receiving.outbox.impl.OutboxCommandState.IN_FLIGHT)")
+    boolean hasPredecessor(@Param("orderingKey") String orderingKey, @Param("pk") Long pk);
+
+    @Query("select c.pk from OutboxCommand c where c.orderingKey = :orderingKey and c.state = org.openwms.wms.receiving.outbox.impl.OutboxCommandState.PENDING order by c.pk")
+    List<Long> findPendingByOrderingKey(@Param("orderingKey") String orderingKey, Pageable pageable);
+
+    @Query("select count(c) > 0 from OutboxCommand c where c.type = :type and c.orderingKey = :orderingKey and c.state in ("
+            + "org.openwms.wms.receiving.outbox.impl.OutboxCommandState.PENDING, org.openwms.wms.receiving.outbox.impl.OutboxCommandState.IN_FLIGHT)")
+    boolean hasOpen(@Param("type") OutboxCommandType type, @Param("orderingKey") String orderingKey);
+
+    long countByState(OutboxCommandState state);
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.outbox.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ameba.exception.ResourceExistsException;
+import org.openwms.wms.receiving.spi.wms.inventory.PackagingUnitVO;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncPackagingUnitApi;
+import org.openwms.wms.receiving.spi.wms.transport.SyncTransportUnitApi;
+import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A OutboxDispatcher executes recorded {@link OutboxCommand}s against the remote services after the recording
+ * transaction has committed. Commands are run on a bounded pool, failed attempts are rescheduled with an exponential
+ * backoff and a periodic sweep picks up everything that is due, was rejected by the pool or got lost by a crashed
+ * instance. Commands with the same ordering key, i.e. all commands on the same {@code TransportUnit}, are dispatched
+ * strictly one after the other: a command is only claimed when no older command with the same key is pending or in
+ * flight, and the next one is submitted as soon as its predecessor has completed or has finally failed. If the
+ * {@code TransportUnit} to create already exists remotely, the command is considered done unless {@code TransportUnit}s
+ * are created strictly, then it is failed without any further attempt.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class OutboxDispatcher implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private final OutboxCommandRepository repository;
+    private final ObjectMapper objectMapper;
+    private final SyncTransportUnitApi transportUnitApi;
+    private final SyncPackagingUnitApi packagingUnitApi;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate txTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> submitted = ConcurrentHashMap.newKeySet();
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration inFlightTimeout;
+    private final boolean strictlyCreateTU;
+
+    OutboxDispatcher(OutboxCommandRepository repository, ObjectMapper objectMapper, SyncTransportUnitApi transportUnitApi,
+            SyncPackagingUnitApi packagingUnitApi, MeterRegistry meterRegistry, PlatformTransactionManager transactionManager,
+            @Value("${owms.receiving.outbox.threads:4}") int threads,
+            @Value("${owms.receiving.outbox.queue-capacity:1000}") int queueCapacity,
+            @Value("${owms.receiving.outbox.batch-size:100}") int batchSize,
+            @Value("${owms.receiving.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${owms.receiving.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${owms.receiving.outbox.max-backoff:5m}") Duration maxBackoff,
+            @Value("${owms.receiving.outbox.in-flight-timeout:5m}") Duration inFlightTimeout,
+            @Value("${owms.receiving.create-tu-strictly:true}") boolean strictlyCreateTU,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transportUnitApi = transportUnitApi;
+        this.packagingUnitApi = packagingUnitApi;
+        this.meterRegistry = meterRegistry;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.inFlightTimeout = inFlightTimeout;
+        this.strictlyCreateTU = strictlyCreateTU;
+        // The number of threads still bounds the concurrent remote calls, even if they are virtual
+        var threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("outbox-", 1).factory()
+                : Thread.ofPlatform().name("outbox-", 1).daemon().factory();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        meterRegistry.gauge("owms.receiving.outbox.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    @TransactionalEventListener
+    public void onRecorded(OutboxCommandRecordedEvent event) {
+        submit(event.pk());
+    }
+
+    /**
+     * Submit all due commands and release the ones that have been in flight for too long.
+     */
+    @Scheduled(fixedDelayString = "${owms.receiving.outbox.poll-interval:10s}")
+    public void sweep() {
+        var now = LocalDateTime.now();
+        var abandoned = repository.findAbandoned(now.minus(inFlightTimeout));
+        for (var pk : abandoned) {
+            if (!submitted.contains(pk)) {
+                LOGGER.warn("Command [{}] has been in flight since more than [{}], releasing it", pk, inFlightTimeout);
+                txTemplate.executeWithoutResult(s -> repository.findForUpdate(pk).ifPresent(c -> {
+                    if (c.getState() == OutboxCommandState.IN_FLIGHT) {
+                        c.failed("Abandoned in flight", now);
+                    }
+                }));
+            }
+        }
+        repository.findDue(OutboxCommandState.PENDING, now, PageRequest.of(0, batchSize)).forEach(this::submit);
+    }
+
+    private void submit(Long pk) {
+        if (!submitted.add(pk)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    dispatch(pk);
+                } finally {
+                    submitted.remove(pk);
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            submitted.remove(pk);
+            meterRegistry.counter("owms.receiving.outbox.rejected").increment();
+            LOGGER.debug("Dispatcher saturated, command [{}] is left to the next sweep", pk);
+        }
+    }
+
+    void dispatch(Long pk) {
+        var command = txTemplate.execute(s -> repository.findForUpdate(pk)
+                .filter(c -> c.getState() == OutboxCommandState.PENDING && !c.getNextAttemptAt().isAfter(LocalDateTime.now()))
+                .filter(c -> c.getOrderingKey() == null || !repository.hasPredecessor(c.getOrderingKey(), c.getPk()))
+                .map(c -> {
+                    c.claim(LocalDateTime.now());
+                    return c;
+                })
+                .orElse(null));
+        if (command == null) {
+            return;
+        }
+        var sample = Timer.start(meterRegistry);
+        String outcome;
+        try {
+            execute(command);
+            txTemplate.executeWithoutResult(s -> repository.deleteById(pk));
+            outcome = "success";
+        } catch (ResourceExistsException ree) {
+            outcome = conflict(pk, command, ree);
+        } catch (Exception e) {
+            outcome = reschedule(pk, command, e);
+        }
+        sample.stop(meterRegistry.timer("owms.receiving.outbox.dispatch", "type", command.getType().name(), "outcome", outcome));
+        if (command.getOrderingKey() != null && !"retry".equals(outcome)) {
+            // The successor has been held back and is released now
+            repository.findPendingByOrderingKey(command.getOrderingKey(), PageRequest.of(0, 1)).forEach(this::submit);
+        }
+    }
+
+    private void execute(OutboxCommand command) throws IOException {
+        switch (command.getType()) {
+            case TU_MOVE -> {
+                var move = objectMapper.readValue(command.getPayload(), TransportUnitMove.class);
+                transportUnitApi.moveTU(move.transportUnitBK(), move.newLocationErpCode());
+            }
+            case TU_CREATE -> {
+                try {
+                    transportUnitApi.createTU(objectMapper.readValue(command.getPayload(), TransportUnitVO.class));
+                } catch (ResourceExistsException ree) {
+                    if (strictlyCreateTU) {
+                        throw ree;
+                    }
+                    LOGGER.info("TransportUnit of command [{}] already exists", command);
+                }
+            }
+            case PU_CREATE -> packagingUnitApi.createOnLocation(
+                    Arrays.asList(objectMapper.readValue(command.getPayload(), PackagingUnitVO[].class)));
+        }
+    }
+
+    private String reschedule(Long pk, OutboxCommand command, Exception e) {
+        var attempts = command.getAttempts() + 1;
+        var giveUp = attempts >= maxAttempts;
+        var nextAttemptAt = giveUp ? null : LocalDateTime.now().plus(backoff(attempts));
+        if (giveUp) {
+            LOGGER.error("Command [{}] failed [{}] times, giving up: [{}]", command, attempts, e.getMessage(), e);
+        } else {
+            LOGGER.warn("Command [{}] failed, next attempt at [{}]: [{}]", command, nextAttemptAt, e.getMessage());
+        }
+        txTemplate.executeWithoutResult(s -> repository.findForUpdate(pk).ifPresent(c -> c.failed(e.getMessage(), nextAttemptAt)));
+        return giveUp ? "failed" : "retry";
+    }
+
+    private String conflict(Long pk, OutboxCommand command, ResourceExistsException ree) {
+        LOGGER.error("Command [{}] conflicts with an existing resource, giving up: [{}]", command, ree.getMessage());
+        meterRegistry.counter("owms.receiving.outbox.conflicts", "type", command.getType().name()).increment();
+        txTemplate.executeWithoutResult(s -> repository.findForUpdate(pk).ifPresent(c -> c.failed(ree.getMessage(), null)));
+        return "conflict";
+    }
+
+    Duration backoff(int attempts) {
+        var exp = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        var capped = exp.compareTo(maxBackoff) > 0 ? maxBackoff : exp;
+        var jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (capped.toMillis() * jitter));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.ameba.exception.ResourceExistsException;
+import org.ameba.i18n.Translator;
+import org.hibernate.StaleStateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.openwms.wms.receiving.ReceivingMessages.IDEMPOTENCY_KEY_REUSED;
+
+/**
+ * A ConflictRetry runs an operation on a ReceivingOrder in its own transaction and runs it again in a new transaction
+ * if it fails because another client has changed the same ReceivingOrder concurrently (optimistic locking conflict). So
+ * each attempt reads the current state of the ReceivingOrder and applies the request again. Attempts are delayed with an
+ * exponential backoff and full jitter, to spread competing clients. If the caller already runs in a transaction, the
+ * operation is run once within that transaction.
+ * <p>
+ * An operation with an idempotency key is executed only once per key and resource: concurrent calls with the same key
+ * wait for the first one, and later calls get the remembered result of the first successful execution. A key that is
+ * reused for a different request is rejected with a {@link ResourceExistsException}. The keys are remembered in memory
+ * of each instance, repeated requests that are routed to another instance are not recognized.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class ConflictRetry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConflictRetry.class);
+    private final TransactionTemplate txTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Translator translator;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Cache<String, Execution> results;
+    private final Map<String, Execution> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * An Execution is a request identified by an idempotency key.
+     *
+     * @param fingerprint The hash of the request
+     * @param result Completes with the result of the request
+     */
+    record Execution(String fingerprint, CompletableFuture<Object> result) {
+    }
+
+    ConflictRetry(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+            Translator translator,
+            @Value("${owms.receiving.conflicts.max-attempts:3}") int maxAttempts,
+            @Value("${owms.receiving.conflicts.initial-backoff:20ms}") Duration initialBackoff,
+            @Value("${owms.receiving.conflicts.max-backoff:500ms}") Duration maxBackoff,
+            @Value("${owms.receiving.conflicts.idempotency.maximum-size:10000}") long idempotencyMaximumSize,
+            @Value("${owms.receiving.conflicts.idempotency.expire-after-write:10m}") Duration idempotencyExpireAfterWrite) {
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.translator = translator;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(idempotencyMaximumSize)
+                .expireAfterWrite(idempotencyExpireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Execute the {@code operation} on the resource {@code resource} once per {@code idempotencyKey}.
+     *
+     * @param operation The name of the operation, used as metrics tag
+     * @param resource The identifier of the resource the operation is executed on, the key is only valid for it
+     * @param idempotencyKey An optional key given by the client to identify repeated requests
+     * @param request The request, a repeated request with the same key must be equal
+     * @param work The operation
+     * @return The result of the operation
+     * @throws ResourceExistsException if the key has already been used for a different request
+     */
+    @SuppressWarnings("unchecked")
+    <R> R execute(String operation, String resource, String idempotencyKey, Object request, Supplier<R> work) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return execute(operation, work);
+        }
+        var key = operation + ":" + resource + ":" + idempotencyKey;
+        var execution = new Execution(fingerprint(request), new CompletableFuture<>());
+        var previous = claim(key, execution);
+        if (previous != null) {
+            if (!previous.fingerprint().equals(execution.fingerprint())) {
+                LOGGER.warn("Idempotency key [{}] of operation [{}] is reused for a different request", idempotencyKey, operation);
+                throw new ResourceExistsException(translator, IDEMPOTENCY_KEY_REUSED, new String[]{idempotencyKey}, idempotencyKey);
+            }
+            meterRegistry.counter("owms.receiving.conflicts.replayed", "operation", operation).increment();
+            try {
+                return (R) previous.result().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        try {
+            var result = execute(operation, work);
+            execution.result().complete(result);
+            // Remembered before the claim is released, so that a later claim finds it
+            results.put(key, execution);
+            return result;
+        } catch (RuntimeException e) {
+            execution.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    /**
+     * Claim the {@code key} for the {@code execution}, unless it is claimed by a running execution or a remembered one.
+     *
+     * @return The running or remembered execution, or {@literal null} if the key has been claimed
+     */
+    private Execution claim(String key, Execution execution) {
+        var previous = new Execution[1];
+        inFlight.compute(key, (k, running) -> {
+            if (running != null) {
+                previous[0] = running;
+                return running;
+            }
+            previous[0] = remembered(k);
+            return previous[0] == null ? execution : null;
+        });
+        return previous[0];
+    }
+
+    Execution remembered(String key) {
+        return results.getIfPresent(key);
+    }
+
+    /**
+     * Execute the {@code operation}.
+     *
+     * @param operation The name of the operation, used as metrics tag
+     * @param work The operation
+     * @return The result of the operation
+     */
+    <R> R execute(String operation, Supplier<R> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (var attempt = 1; ; attempt++) {
+            try {
+                return txTemplate.execute(status -> work.get());
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                meterRegistry.counter("owms.receiving.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    LOGGER.warn("Operation [{}] still conflicts after [{}] attempts, giving up", operation, attempt);
+                    throw e;
+                }
+                meterRegistry.counter("owms.receiving.conflicts.retries", "operation", operation).increment();
+                var backoff = backoff(attempt);
+                LOGGER.debug("Operation [{}] conflicts with a concurrent change, retrying in [{}]", operation, backoff);
+                sleep(backoff);
+            }
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Can't compute the fingerprint of the request", e);
+        }
+    }
+
+    Duration backoff(int attempt) {
+        var exp = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        var capped = exp.compareTo(maxBackoff) > 0 ? maxBackoff : exp;
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(capped.toNanos() + 1));
+    }
+
+    static boolean isConflict(Throwable t) {
+        for (var cause = t; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException
+                    || cause instanceof OptimisticLockException
+                    || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(Duration backoff) {
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.util.List;
 import java.util.Optional;
@@ -56,6 +57,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class ReceivingController extends AbstractWebController {
 
     private static final Logger EXC_LOGGER = LoggerFactory.getLogger(LoggingCategories.PRESENTATION_LAYER_EXCEPTION);
+    /** Optional request header to identify repeated capture requests. */
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
     private final RestServiceFacadeImpl service;
 
     ReceivingController(RestServiceFacadeImpl service) {
@@ -83,8 +86,9 @@ public class ReceivingController extends AbstractWebController {
                         linkTo(methodOn(ReceivingOrderFinder.class).findAll()).withRel("receiving-order-findall"),
                         linkTo(methodOn(ReceivingOrderFinder.class).findOrder("b65a7658-c53c-4a81-8abb-75ab67783f47")).withRel("receiving-order-findbypkey"),
                         linkTo(methodOn(ReceivingOrderFinder.class).findOrderByOrderId("4711")).withRel("receiving-order-findbyorderid"),
+                        linkTo(methodOn(ReceivingOrderFinder.class).search("SKU-4711", null, null, null, null, null, null, 0, 100)).withRel("receiving-order-search"),
                         linkTo(methodOn(ReceivingOrderCreator.class).createOrder(new ReceivingOrderVO("4711"), null)).withRel("receiving-order-create"),
-                        linkTo(methodOn(ReceivingController.class).captureOrder("b65a7658-c53c-4a81-8abb-75ab67783f48", asList(new CaptureRequestVO()))).withRel("receiving-order-capture"),
+                        linkTo(methodOn(ReceivingController.class).captureOrder("b65a7658-c53c-4a81-8abb-75ab67783f48", null, asList(new CaptureRequestVO()))).withRel("receiving-order-capture"),
                         linkTo(methodOn(ReceivingController.class).captureBlindReceipt(asList(new CaptureRequestVO()))).withRel("receiving-order-blind-receipt"),
                         linkTo(methodOn(ReceivingController.class).completeOrder("b65a7658-c53c-4a81-8abb-75ab67783f49")).withRel("receiving-order-complete"),
                         linkTo(methodOn(ReceivingController.class).saveOrder("b65a7658-c53c-4a81-8abb-75ab67783f46", null)).withRel("receiving-order-save"),
@@ -96,9 +100,10 @@ public class ReceivingController extends AbstractWebController {
     @PostMapping(value = "/v1/receiving-orders/{pKey}/capture", produces = MEDIA_TYPE)
     public ResponseEntity<ReceivingOrderVO> captureOrder(
             @PathVariable("pKey") String pKey,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody List<CaptureRequestVO> requests) {
 
-        Optional<ReceivingOrderVO> result = service.capture(pKey, requests);
+        Optional<ReceivingOrderVO> result = service.capture(pKey, idempotencyKey, requests);
         if (result.isPresent()) {
             result.get().sortPositions();
             return ResponseEntity.ok(result.get());
@@ -15,6 +15,8 @@
  */
 package org.openwms.wms.receiving.rest;
 
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.ameba.exception.NotFoundException;
 import org.ameba.http.MeasuredRestController;
 import org.ameba.i18n.Translator;
@@ -22,8 +24,13 @@ import org.openwms.core.http.AbstractWebController;
 import org.openwms.wms.receiving.CycleAvoidingMappingContext;
 import org.openwms.wms.receiving.ReceivingMapper;
 import org.openwms.wms.receiving.api.CaptureRequestVO;
+import org.openwms.wms.receiving.api.OrderState;
+import org.openwms.wms.receiving.api.PositionState;
 import org.openwms.wms.receiving.api.ReceivingOrderVO;
+import org.openwms.wms.receiving.impl.ReceivingOrderSearch;
 import org.openwms.wms.receiving.impl.ReceivingService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -31,6 +38,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 
 import static org.openwms.wms.receiving.ReceivingMessages.RO_NOT_FOUND_BY_BK;
@@ -87,4 +95,26 @@ public class ReceivingOrderFinder extends AbstractWebController {
         vo.sortPositions();
         return ResponseEntity.ok(vo);
     }
+
+    @Transactional(readOnly = true)
+    @GetMapping(value = "/v1/receiving-orders/search", produces = MEDIA_TYPE)
+    public ResponseEntity<List<ReceivingOrderVO>> search(
+            @RequestParam(value = "sku", required = false) String sku,
+            @RequestParam(value = "transportUnitBK", required = false) String transportUnitBK,
+            @RequestParam(value = "warehouse", required = false) String warehouse,
+            @RequestParam(value = "state", required = false) List<OrderState> states,
+            @RequestParam(value = "positionState", required = false) List<PositionState> positionStates,
+            @RequestParam(value = "expectedFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime expectedFrom,
+            @RequestParam(value = "expectedTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime expectedTo,
+            @RequestParam(value = "page", defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(value = "size", defaultValue = "100") @Positive int size) {
+
+        var result = receivingMapper.convertToVO(
+                service.search(new ReceivingOrderSearch(sku, transportUnitBK, warehouse, states, positionStates, expectedFrom, expectedTo),
+                        PageRequest.of(page, size)),
+                new CycleAvoidingMappingContext()
+        );
+        result.forEach(ReceivingOrderVO::sortPositions);
+        return ResponseEntity.ok(result);
+    }
 }
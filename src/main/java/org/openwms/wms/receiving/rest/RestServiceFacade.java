@@ -49,6 +49,22 @@ public interface RestServiceFacade<T extends CaptureRequestVO> {
             @NotBlank String pKey,
             @NotNull @Valid List<T> requests);
 
+    /**
+     * Capture on a {@code ReceivingOrder} like {@link #capture(String, List)} but only once for the same
+     * {@code idempotencyKey} and {@code ReceivingOrder}. A repeated request with the same key gets the result of the
+     * first one, a different request with the same key is rejected.
+     *
+     * @param pKey The persistent key of the ReceivingOrder
+     * @param idempotencyKey A key given by the client to identify repeated requests, may be {@literal null}
+     * @param requests Contains all the capturing information according to the process in use
+     * @return The updated ReceivingOrder instance with updated positions
+     * @throws org.ameba.exception.ResourceExistsException if the key has already been used for a different request
+     */
+    @NotNull Optional<ReceivingOrderVO> capture(
+            @NotBlank String pKey,
+            String idempotencyKey,
+            @NotNull @Valid List<T> requests);
+
     /**
      * Capture an unexpected receipt (aka Blind Receipt) that has no reference to a {@code ReceivingOrder}.
      * <ul>
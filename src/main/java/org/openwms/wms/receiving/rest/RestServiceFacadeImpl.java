@@ -29,7 +29,6 @@ import org.openwms.wms.receiving.impl.ReceivingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
@@ -47,10 +46,12 @@ class RestServiceFacadeImpl<T extends CaptureRequestVO> implements RestServiceFa
     private static final Logger LOGGER = LoggerFactory.getLogger(RestServiceFacadeImpl.class);
     private final ReceivingMapper receivingMapper;
     private final ReceivingService receivingService;
+    private final ConflictRetry conflictRetry;
 
-    public RestServiceFacadeImpl(ReceivingMapper receivingMapper, ReceivingService receivingService) {
+    public RestServiceFacadeImpl(ReceivingMapper receivingMapper, ReceivingService receivingService, ConflictRetry conflictRetry) {
         this.receivingMapper = receivingMapper;
         this.receivingService = receivingService;
+        this.conflictRetry = conflictRetry;
     }
 
     /**
@@ -58,21 +59,35 @@ class RestServiceFacadeImpl<T extends CaptureRequestVO> implements RestServiceFa
      */
     @Override
     @Measured
-    @Transactional
     public @NotNull Optional<ReceivingOrderVO> capture(
             @NotBlank String pKey,
             @NotNull @Valid List<T> requests
     ) {
-        Optional<ReceivingOrder> optOrder = receivingService.capture(pKey, requests);
-        if (optOrder.isPresent()) {
-            var eo = receivingService.findByPKey(optOrder.get().getPersistentKey());
-            var vo = receivingMapper.convertToVO(eo, new CycleAvoidingMappingContext());
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Captured ReceivingOrder [{}], new instance is [{}]", pKey, vo);
+        return capture(pKey, null, requests);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public @NotNull Optional<ReceivingOrderVO> capture(
+            @NotBlank String pKey,
+            String idempotencyKey,
+            @NotNull @Valid List<T> requests
+    ) {
+        return conflictRetry.execute("capture", pKey, idempotencyKey, requests, () -> {
+            Optional<ReceivingOrder> optOrder = receivingService.capture(pKey, requests);
+            if (optOrder.isPresent()) {
+                var eo = receivingService.findByPKey(optOrder.get().getPersistentKey());
+                var vo = receivingMapper.convertToVO(eo, new CycleAvoidingMappingContext());
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Captured ReceivingOrder [{}], new instance is [{}]", pKey, vo);
+                }
+                return Optional.of(vo);
             }
-            return Optional.of(vo);
-        }
-        return Optional.empty();
+            return Optional.empty();
+        });
     }
 
     /**
@@ -90,15 +105,16 @@ class RestServiceFacadeImpl<T extends CaptureRequestVO> implements RestServiceFa
      */
     @Override
     @Measured
-    @Transactional
     public @NotNull ReceivingOrderVO cancelOrder(@NotBlank String pKey) {
-        receivingService.cancelOrder(pKey);
-        var eo = receivingService.findByPKey(pKey);
-        var result = receivingMapper.convertToVO(eo, new CycleAvoidingMappingContext());
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Returning ReceivingOrder after cancellation [{}]", result);
-        }
-        return result;
+        return conflictRetry.execute("cancel", () -> {
+            receivingService.cancelOrder(pKey);
+            var eo = receivingService.findByPKey(pKey);
+            var result = receivingMapper.convertToVO(eo, new CycleAvoidingMappingContext());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Returning ReceivingOrder after cancellation [{}]", result);
+            }
+            return result;
+        });
     }
 
     /**
@@ -106,15 +122,16 @@ class RestServiceFacadeImpl<T extends CaptureRequestVO> implements RestServiceFa
      */
     @Override
     @Measured
-    @Transactional
     public @NotNull ReceivingOrderVO changeState(@NotBlank String pKey, @NotNull OrderState state) {
-        receivingService.changeState(pKey, state);
-        var vo = receivingMapper.convertToVO(receivingService.findByPKey(pKey), new CycleAvoidingMappingContext());
-        vo.sortPositions();
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Changed state of ReceivingOrder [{}], new instance is [{}]", pKey, vo);
-        }
-        return vo;
+        return conflictRetry.execute("change-state", () -> {
+            receivingService.changeState(pKey, state);
+            var vo = receivingMapper.convertToVO(receivingService.findByPKey(pKey), new CycleAvoidingMappingContext());
+            vo.sortPositions();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Changed state of ReceivingOrder [{}], new instance is [{}]", pKey, vo);
+            }
+            return vo;
+        });
     }
 
     /**
@@ -122,19 +139,20 @@ class RestServiceFacadeImpl<T extends CaptureRequestVO> implements RestServiceFa
      */
     @Override
     @Measured
-    @Transactional
     public @NotNull ReceivingOrderVO update(@NotBlank String pKey, @NotNull ReceivingOrderVO receivingOrder) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Updating the ReceivingOrder with pKey [{}] with content [{}]", pKey, receivingOrder);
         }
-        var eo = receivingMapper.convertVO(receivingOrder, new CycleAvoidingMappingContext());
-        var updated = receivingService.update(pKey, eo);
-        var vo = receivingMapper.convertToVO(updated, new CycleAvoidingMappingContext());
-        vo.sortPositions();
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Updated ReceivingOrder [{}], new instance is [{}]", pKey, vo);
-        }
-        return vo;
+        return conflictRetry.execute("update", () -> {
+            var eo = receivingMapper.convertVO(receivingOrder, new CycleAvoidingMappingContext());
+            var updated = receivingService.update(pKey, eo);
+            var vo = receivingMapper.convertToVO(updated, new CycleAvoidingMappingContext());
+            vo.sortPositions();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Updated ReceivingOrder [{}], new instance is [{}]", pKey, vo);
+            }
+            return vo;
+        });
     }
 
     /**
@@ -142,15 +160,16 @@ class RestServiceFacadeImpl<T extends CaptureRequestVO> implements RestServiceFa
      */
     @Override
     @Measured
-    @Transactional
     public @NotNull ReceivingOrderVO complete(@NotBlank String pKey) {
-        var eo = receivingService.complete(pKey);
-        eo = receivingService.findByPKey(eo.getPersistentKey());
-        var vo = receivingMapper.convertToVO(eo, new CycleAvoidingMappingContext());
-        vo.sortPositions();
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Completed whole ReceivingOrder with pKey [{}], updated instance is [{}]", pKey, vo);
-        }
-        return vo;
+        return conflictRetry.execute("complete", () -> {
+            var eo = receivingService.complete(pKey);
+            eo = receivingService.findByPKey(eo.getPersistentKey());
+            var vo = receivingMapper.convertToVO(eo, new CycleAvoidingMappingContext());
+            vo.sortPositions();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Completed whole ReceivingOrder with pKey [{}], updated instance is [{}]", pKey, vo);
+            }
+            return vo;
+        });
     }
 }
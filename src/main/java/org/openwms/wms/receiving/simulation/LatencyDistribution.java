@@ -0,0 +1,67 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * A LatencyDistribution defines how the response times of a simulated remote service are spread.
+ *
+ * @author Heiko Scherrer
+ */
+enum LatencyDistribution {
+
+    /** Respond immediately. */
+    NONE {
+        @Override
+        long sampleNanos(Duration median, Duration p99, RandomGenerator random) {
+            return 0;
+        }
+    },
+    /** Respond always after the {@code median}. */
+    FIXED {
+        @Override
+        long sampleNanos(Duration median, Duration p99, RandomGenerator random) {
+            return median.toNanos();
+        }
+    },
+    /** Respond after a time equally spread between zero and twice the {@code median}. */
+    UNIFORM {
+        @Override
+        long sampleNanos(Duration median, Duration p99, RandomGenerator random) {
+            var bound = 2 * median.toNanos();
+            return bound <= 0 ? 0 : random.nextLong(bound + 1);
+        }
+    },
+    /** Respond with a long tail, 50% of the calls take less than the {@code median}, 99% less than the {@code p99}. */
+    LOG_NORMAL {
+        @Override
+        long sampleNanos(Duration median, Duration p99, RandomGenerator random) {
+            var m = median.toNanos();
+            if (m <= 0) {
+                return 0;
+            }
+            var sigma = p99.toNanos() > m ? Math.log((double) p99.toNanos() / m) / Z_99 : 0;
+            return (long) (m * Math.exp(sigma * random.nextGaussian()));
+        }
+    };
+
+    /** The 99th percentile of the standard normal distribution. */
+    private static final double Z_99 = 2.3263;
+
+    abstract long sampleNanos(Duration median, Duration p99, RandomGenerator random);
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import org.openwms.wms.receiving.spi.RemoteCallExecutor;
+import org.openwms.wms.receiving.spi.wms.inventory.AsyncPackagingUnitApi;
+import org.openwms.wms.receiving.spi.wms.inventory.CreatePackagingUnitCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static org.openwms.core.SpringProfiles.ASYNCHRONOUS_PROFILE;
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+import static org.openwms.wms.receiving.simulation.Simulation.AMQP;
+
+/**
+ * A SimulatedAsyncPackagingUnitApi is the in-process stand-in of the message broker for commands to the Inventory
+ * Service. A command is delivered in the background, like a message, and a simulated failure drops it.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SIMULATION_PROFILE + " & !" + ASYNCHRONOUS_PROFILE)
+@Component
+class SimulatedAsyncPackagingUnitApi implements AsyncPackagingUnitApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimulatedAsyncPackagingUnitApi.class);
+    private final Simulation simulation;
+    private final SimulatedInventory inventory;
+    private final RemoteCallExecutor executor;
+
+    SimulatedAsyncPackagingUnitApi(Simulation simulation, SimulatedInventory inventory, RemoteCallExecutor executor) {
+        this.simulation = simulation;
+        this.inventory = inventory;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void create(CreatePackagingUnitCommand command) {
+        executor.run(() -> simulation.run(AMQP, () -> inventory.createPackagingUnits(1)))
+                .exceptionally(t -> {
+                    LOGGER.error("Simulated message with command [{}] is lost: [{}]", command, t.getMessage());
+                    return null;
+                });
+    }
+}
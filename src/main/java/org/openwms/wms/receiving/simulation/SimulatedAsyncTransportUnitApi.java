@@ -0,0 +1,98 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import org.ameba.exception.ResourceExistsException;
+import org.openwms.common.location.api.messages.LocationMO;
+import org.openwms.common.transport.api.commands.Command;
+import org.openwms.common.transport.api.commands.TUCommand;
+import org.openwms.wms.receiving.spi.RemoteCallExecutor;
+import org.openwms.wms.receiving.spi.wms.location.LocationVO;
+import org.openwms.wms.receiving.spi.wms.transport.AsyncTransportUnitApi;
+import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static org.openwms.core.SpringProfiles.ASYNCHRONOUS_PROFILE;
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+import static org.openwms.wms.receiving.simulation.Simulation.AMQP;
+
+/**
+ * A SimulatedAsyncTransportUnitApi is the in-process stand-in of the message broker for commands to the Common
+ * Service. Commands to create or move a {@code TransportUnit} are applied to the {@link SimulatedInventory}, all others
+ * are only accepted.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SIMULATION_PROFILE + " & !" + ASYNCHRONOUS_PROFILE)
+@Component
+class SimulatedAsyncTransportUnitApi implements AsyncTransportUnitApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimulatedAsyncTransportUnitApi.class);
+    private final Simulation simulation;
+    private final SimulatedInventory inventory;
+    private final RemoteCallExecutor executor;
+
+    SimulatedAsyncTransportUnitApi(Simulation simulation, SimulatedInventory inventory, RemoteCallExecutor executor) {
+        this.simulation = simulation;
+        this.inventory = inventory;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void process(Command<?> command) {
+        executor.run(() -> simulation.run(AMQP, () -> apply(command)))
+                .exceptionally(t -> {
+                    LOGGER.error("Simulated message with command [{}] is lost: [{}]", command, t.getMessage());
+                    return null;
+                });
+    }
+
+    private void apply(Command<?> command) {
+        if (!(command instanceof TUCommand tuCommand) || tuCommand.getTransportUnit() == null) {
+            return;
+        }
+        var tu = tuCommand.getTransportUnit();
+        var location = tu.getActualLocation();
+        if (location == null || location.erpCode() == null) {
+            LOGGER.debug("Command [{}] without Location accepted", tuCommand.getType());
+            return;
+        }
+        switch (tuCommand.getType()) {
+            case CREATE -> {
+                try {
+                    inventory.createTransportUnit(new TransportUnitVO(tu.getBarcode(), toVO(location),
+                            tu.getTransportUnitType() == null ? "UNKNOWN" : tu.getTransportUnitType().getType()));
+                } catch (ResourceExistsException ree) {
+                    LOGGER.debug("TransportUnit [{}] already exists", tu.getBarcode());
+                }
+            }
+            case CHANGE_ACTUAL_LOCATION -> inventory.moveTransportUnit(tu.getBarcode(), location.erpCode());
+            default -> LOGGER.debug("Command [{}] accepted", tuCommand.getType());
+        }
+    }
+
+    private static LocationVO toVO(LocationMO location) {
+        var vo = LocationVO.of(location.id() == null ? location.erpCode() : location.id());
+        vo.setErpCode(location.erpCode());
+        return vo;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * A SimulatedBehavior describes how one simulated remote service responds.
+ *
+ * @author Heiko Scherrer
+ */
+record SimulatedBehavior(LatencyDistribution distribution, Duration median, Duration p99, double failureRate) {
+
+    Duration nextLatency(RandomGenerator random) {
+        return Duration.ofNanos(distribution.sampleNanos(median, p99, random));
+    }
+
+    boolean nextFails(RandomGenerator random) {
+        return failureRate > 0 && random.nextDouble() < failureRate;
+    }
+}
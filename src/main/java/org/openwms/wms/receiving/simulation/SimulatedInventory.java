@@ -0,0 +1,168 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ameba.exception.NotFoundException;
+import org.ameba.exception.ResourceExistsException;
+import org.openwms.core.units.api.Piece;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
+import org.openwms.wms.receiving.spi.wms.location.LocationVO;
+import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.ameba.LoggingCategories.BOOT;
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
+/**
+ * A SimulatedInventory keeps the state of all simulated remote services in memory. It is filled with the canned data
+ * of a JSON resource and with generated {@code Products} and {@code Locations}.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SIMULATION_PROFILE)
+@Component
+class SimulatedInventory {
+
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private final Map<String, ProductVO> productsBySku = new ConcurrentHashMap<>();
+    private final Map<String, ProductVO> productsByPKey = new ConcurrentHashMap<>();
+    private final Map<String, LocationVO> locationsByErpCode = new ConcurrentHashMap<>();
+    private final Map<String, TransportUnitVO> transportUnits = new ConcurrentHashMap<>();
+    private final AtomicLong packagingUnits = new AtomicLong();
+
+    SimulatedInventory(ObjectMapper objectMapper, ResourceLoader resourceLoader,
+            @Value("${owms.receiving.simulation.data:}") String data,
+            @Value("${owms.receiving.simulation.generated.products:100}") int generatedProducts,
+            @Value("${owms.receiving.simulation.generated.locations:100}") int generatedLocations) {
+        for (var i = 1; i <= generatedProducts; i++) {
+            var product = ProductVO.newBuilder().sku("SIM%05d".formatted(i)).pKey("SIM-P-%05d".formatted(i)).build();
+            product.setLabel("Simulated Product %d".formatted(i));
+            product.setOverbookingAllowed(false);
+            product.setBaseUnit(Piece.of(1));
+            addProduct(product);
+        }
+        for (var i = 1; i <= generatedLocations; i++) {
+            var location = LocationVO.of("SIM_/0000/0000/0000/%04d".formatted(i));
+            location.setErpCode("SIM%05d".formatted(i));
+            addLocation(location);
+        }
+        if (!data.isBlank()) {
+            try (var is = resourceLoader.getResource(data).getInputStream()) {
+                var canned = objectMapper.readValue(is, CannedData.class);
+                Optional.ofNullable(canned.products()).ifPresent(l -> l.forEach(this::addProduct));
+                Optional.ofNullable(canned.locations()).ifPresent(l -> l.forEach(this::addLocation));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Canned data of the simulation cannot be read from [%s]".formatted(data), e);
+            }
+        }
+        BOOT_LOGGER.info("Simulating [{}] Products and [{}] Locations", productsBySku.size(), locationsByErpCode.size());
+    }
+
+    /**
+     * The structure of the canned data resource.
+     */
+    record CannedData(List<ProductVO> products, List<LocationVO> locations) {
+    }
+
+    void addProduct(ProductVO product) {
+        productsBySku.put(product.getSku(), product);
+        if (product.getpKey() != null) {
+            productsByPKey.put(product.getpKey(), product);
+        }
+    }
+
+    void addLocation(LocationVO location) {
+        locationsByErpCode.put(location.getErpCode(), location);
+    }
+
+    ProductVO getProduct(String sku) {
+        var product = productsBySku.get(sku);
+        if (product == null) {
+            throw new NotFoundException("Product with SKU [%s] does not exist".formatted(sku));
+        }
+        return product;
+    }
+
+    Optional<ProductVO> findProduct(String sku) {
+        return Optional.ofNullable(productsBySku.get(sku));
+    }
+
+    Optional<ProductVO> findProductByPKey(String pKey) {
+        return Optional.ofNullable(productsByPKey.get(pKey));
+    }
+
+    List<ProductVO> findProducts(int page, int size) {
+        return productsBySku.values().stream()
+                .sorted(Comparator.comparing(ProductVO::getpKey, Comparator.nullsLast(Comparator.naturalOrder())))
+                .skip((long) page * size).limit(size).toList();
+    }
+
+    Optional<LocationVO> findLocation(String erpCode) {
+        return Optional.ofNullable(locationsByErpCode.get(erpCode));
+    }
+
+    List<LocationVO> findLocations(int page, int size) {
+        return locationsByErpCode.values().stream()
+                .sorted(Comparator.comparing(LocationVO::getLocationId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .skip((long) page * size).limit(size).toList();
+    }
+
+    void createTransportUnit(TransportUnitVO tu) {
+        if (transportUnits.putIfAbsent(tu.getTransportUnitBK(), tu) != null) {
+            throw new ResourceExistsException("TransportUnit with BK [%s] already exists".formatted(tu.getTransportUnitBK()));
+        }
+    }
+
+    void moveTransportUnit(String transportUnitBK, String erpCode) {
+        var location = findLocation(erpCode).orElseThrow(() ->
+                new NotFoundException("Location with ERP code [%s] does not exist".formatted(erpCode)));
+        // TransportUnits that have not been created in the simulation before are accepted and registered
+        transportUnits.compute(transportUnitBK, (bk, tu) -> {
+            if (tu == null) {
+                return new TransportUnitVO(bk, location, "UNKNOWN");
+            }
+            tu.setActualLocation(location);
+            return tu;
+        });
+    }
+
+    Optional<TransportUnitVO> findTransportUnit(String transportUnitBK) {
+        return Optional.ofNullable(transportUnits.get(transportUnitBK));
+    }
+
+    void createPackagingUnits(int count) {
+        packagingUnits.addAndGet(count);
+    }
+
+    long countPackagingUnits() {
+        return packagingUnits.get();
+    }
+}
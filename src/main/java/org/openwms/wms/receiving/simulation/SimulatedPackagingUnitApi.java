@@ -0,0 +1,53 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import org.openwms.wms.receiving.spi.wms.inventory.PackagingUnitVO;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncPackagingUnitApi;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.openwms.core.SpringProfiles.DISTRIBUTED;
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+import static org.openwms.wms.receiving.simulation.Simulation.PACKAGING_UNITS;
+
+/**
+ * A SimulatedPackagingUnitApi is the in-process stand-in of the {@code PackagingUnit} API of the Inventory Service.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SIMULATION_PROFILE + " & !" + DISTRIBUTED)
+@Component
+class SimulatedPackagingUnitApi implements SyncPackagingUnitApi {
+
+    private final Simulation simulation;
+    private final SimulatedInventory inventory;
+
+    SimulatedPackagingUnitApi(Simulation simulation, SimulatedInventory inventory) {
+        this.simulation = simulation;
+        this.inventory = inventory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createOnLocation(List<PackagingUnitVO> pus) {
+        simulation.run(PACKAGING_UNITS, () -> inventory.createPackagingUnits(pus.size()));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncProductApi;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.openwms.core.SpringProfiles.DISTRIBUTED;
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+import static org.openwms.wms.receiving.simulation.Simulation.PRODUCTS;
+
+/**
+ * A SimulatedProductApi is the in-process stand-in of the {@code Product} API of the Inventory Service.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SIMULATION_PROFILE + " & !" + DISTRIBUTED)
+@Validated
+@Component
+class SimulatedProductApi implements SyncProductApi {
+
+    private final Simulation simulation;
+    private final SimulatedInventory inventory;
+
+    SimulatedProductApi(Simulation simulation, SimulatedInventory inventory) {
+        this.simulation = simulation;
+        this.inventory = inventory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ProductVO> findBySKU(@NotBlank String sku) {
+        return Optional.of(simulation.call(PRODUCTS, () -> inventory.getProduct(sku)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ProductVO> findProductByProductUnitPkey(@NotBlank String pKey) {
+        return simulation.call(PRODUCTS, () -> inventory.findProductByPKey(pKey));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ProductVO> findAll(int page, int size) {
+        return simulation.call(PRODUCTS, () -> inventory.findProducts(page, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ProductVO> findBySKUs(@NotEmpty Collection<String> skus) {
+        return simulation.call(PRODUCTS, () -> skus.stream().map(inventory::findProduct).flatMap(Optional::stream).toList());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.openwms.wms.receiving.spi.wms.transport.SyncTransportUnitApi;
+import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import static org.openwms.core.SpringProfiles.DISTRIBUTED;
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+import static org.openwms.wms.receiving.simulation.Simulation.TRANSPORT_UNITS;
+
+/**
+ * A SimulatedTransportUnitApi is the in-process stand-in of the {@code TransportUnit} API of the Inventory Service and
+ * the {@code TransportUnit} API of the Common Service that backs it.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SIMULATION_PROFILE + " & !" + DISTRIBUTED)
+@Validated
+@Component
+class SimulatedTransportUnitApi implements SyncTransportUnitApi {
+
+    private final Simulation simulation;
+    private final SimulatedInventory inventory;
+
+    SimulatedTransportUnitApi(Simulation simulation, SimulatedInventory inventory) {
+        this.simulation = simulation;
+        this.inventory = inventory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void moveTU(@NotBlank String transportUnitBK, @NotBlank String newLocationErpCode) {
+        simulation.run(TRANSPORT_UNITS, () -> inventory.moveTransportUnit(transportUnitBK, newLocationErpCode));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createTU(@NotNull TransportUnitVO tu) {
+        simulation.run(TRANSPORT_UNITS, () -> inventory.createTransportUnit(tu));
+    }
+}
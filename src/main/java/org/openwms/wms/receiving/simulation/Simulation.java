@@ -0,0 +1,126 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ameba.exception.IntegrationLayerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.ameba.LoggingCategories.BOOT;
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
+/**
+ * A Simulation lets each call to a simulated remote service wait for a sampled latency and fail at the configured
+ * rate before it is executed. Each service is configured separately and falls back to the default settings.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SIMULATION_PROFILE)
+@Component
+class Simulation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Simulation.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    static final String PREFIX = "owms.receiving.simulation.";
+    static final String DEFAULTS = "default";
+    static final String PRODUCTS = "products";
+    static final String PACKAGING_UNITS = "packaging-units";
+    static final String LOCATIONS = "locations";
+    static final String TRANSPORT_UNITS = "transport-units";
+    static final String AMQP = "amqp";
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SimulatedBehavior> behaviors = new ConcurrentHashMap<>();
+
+    Simulation(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Simulate a call to the service {@code service}.
+     *
+     * @param service The name of the simulated service
+     * @param call What the service does when the call succeeds
+     * @param <T> The type of the result
+     * @return The result of the call
+     * @throws IntegrationLayerException if the call is simulated to fail
+     */
+    <T> T call(String service, Supplier<T> call) {
+        var behavior = behaviors.computeIfAbsent(service, this::createBehavior);
+        var random = ThreadLocalRandom.current();
+        sleep(behavior.nextLatency(random));
+        if (behavior.nextFails(random)) {
+            meterRegistry.counter("owms.receiving.simulation.calls", "service", service, "outcome", "failed").increment();
+            LOGGER.debug("Simulating a failure of service [{}]", service);
+            throw new IntegrationLayerException("Simulated failure of service [%s]".formatted(service));
+        }
+        meterRegistry.counter("owms.receiving.simulation.calls", "service", service, "outcome", "succeeded").increment();
+        return call.get();
+    }
+
+    /**
+     * Simulate a call to the service {@code service} without a result.
+     *
+     * @param service The name of the simulated service
+     * @param call What the service does when the call succeeds
+     * @throws IntegrationLayerException if the call is simulated to fail
+     */
+    void run(String service, Runnable call) {
+        call(service, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationLayerException("Interrupted while simulating latency");
+        }
+    }
+
+    private SimulatedBehavior createBehavior(String service) {
+        var behavior = new SimulatedBehavior(
+                property(service, "latency.distribution", LatencyDistribution.class, LatencyDistribution.NONE),
+                property(service, "latency.median", Duration.class, Duration.ZERO),
+                property(service, "latency.p99", Duration.class, Duration.ZERO),
+                property(service, "failure-rate", Double.class, 0d)
+        );
+        BOOT_LOGGER.info("Simulating service [{}] with [{}]", service, behavior);
+        return behavior;
+    }
+
+    private <T> T property(String service, String key, Class<T> type, T defaultValue) {
+        var value = environment.getProperty(PREFIX + service + "." + key, type);
+        return value != null ? value : environment.getProperty(PREFIX + DEFAULTS + "." + key, type, defaultValue);
+    }
+}
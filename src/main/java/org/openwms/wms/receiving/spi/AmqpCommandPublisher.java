@@ -0,0 +1,350 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ameba.annotation.Public;
+import org.ameba.exception.IntegrationLayerException;
+import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.spool.AmqpSpool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A AmqpCommandPublisher sends commands to other services over AMQP. In {@code sync} mode a command is sent on the
+ * calling thread. In {@code async} mode commands are collected per exchange and routing key and sent in batches on one
+ * channel, when the batch is full or the linger time has elapsed. Each command is confirmed by the broker separately
+ * (correlated publisher confirms), a nacked or unconfirmed command is sent again. The number of commands waiting for a
+ * confirm is bounded, callers block when the limit is reached. Commands that are still not confirmed after all attempts
+ * are handed over to the {@link AmqpSpool}. A command that is sent again may overtake commands published after it,
+ * unless both share an ordering key: a command with an ordering key is held back until its predecessor with the same
+ * key has been confirmed, and is spooled behind it if the predecessor is spooled. {@code async} mode requires
+ * correlated publisher confirms and refuses to start without.
+ *
+ * @author Heiko Scherrer
+ */
+@Public
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@Component
+public class AmqpCommandPublisher implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AmqpCommandPublisher.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private static final String PUBLISHED = "owms.receiving.amqp.published";
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpSpool amqpSpool;
+    private final MeterRegistry meterRegistry;
+    private final boolean async;
+    private final int batchSize;
+    private final Duration linger;
+    private final Duration maxBlock;
+    private final Duration confirmTimeout;
+    private final int maxAttempts;
+    private final Semaphore inFlight;
+    private final DistributionSummary batchSizes;
+    private final ScheduledThreadPoolExecutor sender;
+    private final Map<Destination, List<Pending>> lanes = new HashMap<>();
+    /** Commands held back behind an unconfirmed predecessor, per ordering key. Guarded by {@link #lanes}. */
+    private final Map<String, ArrayDeque<Pending>> held = new HashMap<>();
+    private final Map<String, Timer> confirmLatencies = new ConcurrentHashMap<>();
+
+    private record Destination(String exchange, String routingKey) {
+    }
+
+    private record Pending(Destination destination, String orderingKey, Object command, int attempt) {
+    }
+
+    public AmqpCommandPublisher(RabbitTemplate rabbitTemplate, AmqpSpool amqpSpool, MeterRegistry meterRegistry,
+            @Value("${owms.receiving.amqp.publishing.mode:sync}") String mode,
+            @Value("${owms.receiving.amqp.publishing.batch-size:100}") int batchSize,
+            @Value("${owms.receiving.amqp.publishing.linger:5ms}") Duration linger,
+            @Value("${owms.receiving.amqp.publishing.max-in-flight:1000}") int maxInFlight,
+            @Value("${owms.receiving.amqp.publishing.max-block:5s}") Duration maxBlock,
+            @Value("${owms.receiving.amqp.publishing.confirm-timeout:30s}") Duration confirmTimeout,
+            @Value("${owms.receiving.amqp.publishing.max-attempts:3}") int maxAttempts) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.amqpSpool = amqpSpool;
+        this.meterRegistry = meterRegistry;
+        this.async = "async".equalsIgnoreCase(mode);
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.maxBlock = maxBlock;
+        this.confirmTimeout = confirmTimeout;
+        this.maxAttempts = maxAttempts;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batchSizes = DistributionSummary.builder("owms.receiving.amqp.batch.size").register(meterRegistry);
+        Gauge.builder("owms.receiving.amqp.in-flight", inFlight, s -> (double) maxInFlight - s.availablePermits())
+                .register(meterRegistry);
+        this.sender = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name("amqp-publisher").daemon().factory());
+        // Pending lanes are flushed explicitly on shutdown
+        this.sender.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        if (async) {
+            BOOT_LOGGER.info("Publishing AMQP commands asynchronously in batches of [{}] with a linger time of [{}] and at most [{}] unconfirmed",
+                    batchSize, linger, maxInFlight);
+            if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+                throw new IllegalStateException("Publishing AMQP commands asynchronously requires correlated publisher confirms, "
+                        + "set [spring.rabbitmq.publisher-confirm-type=correlated] or [owms.receiving.amqp.publishing.mode=sync]");
+            }
+        }
+    }
+
+    /**
+     * Publish the {@code command}.
+     *
+     * @param exchange The name of the exchange to send to
+     * @param routingKey The routing key
+     * @param command The command to send
+     * @throws IntegrationLayerException in {@code async} mode, if too many commands wait for a confirm
+     */
+    public void publish(String exchange, String routingKey, Object command) {
+        publish(exchange, routingKey, command, null);
+    }
+
+    /**
+     * Publish the {@code command} after all commands published before with the same {@code orderingKey}.
+     *
+     * @param exchange The name of the exchange to send to
+     * @param routingKey The routing key
+     * @param command The command to send
+     * @param orderingKey Commands with the same key are sent in the order they are published, may be {@literal null}
+     * @throws IntegrationLayerException in {@code async} mode, if too many commands wait for a confirm
+     */
+    public void publish(String exchange, String routingKey, Object command, String orderingKey) {
+        if (!async) {
+            amqpSpool.send(exchange, routingKey, command);
+            return;
+        }
+        acquire();
+        var pending = new Pending(new Destination(exchange, routingKey), orderingKey, command, 1);
+        if (!holdBack(pending)) {
+            enqueue(pending);
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!inFlight.tryAcquire(maxBlock.toMillis(), TimeUnit.MILLISECONDS)) {
+                meterRegistry.counter("owms.receiving.amqp.rejected").increment();
+                throw new IntegrationLayerException("Too many AMQP commands are waiting for a publisher confirm");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationLayerException("Interrupted while waiting to publish an AMQP command");
+        }
+    }
+
+    private boolean holdBack(Pending pending) {
+        if (pending.orderingKey() == null) {
+            return false;
+        }
+        synchronized (lanes) {
+            var successors = held.get(pending.orderingKey());
+            if (successors != null) {
+                successors.add(pending);
+                return true;
+            }
+            held.put(pending.orderingKey(), new ArrayDeque<>());
+            return false;
+        }
+    }
+
+    private void releaseSuccessor(Pending pending) {
+        if (pending.orderingKey() == null) {
+            return;
+        }
+        Pending next;
+        synchronized (lanes) {
+            var successors = held.get(pending.orderingKey());
+            next = successors == null ? null : successors.poll();
+            if (next == null) {
+                held.remove(pending.orderingKey());
+            }
+        }
+        if (next != null) {
+            enqueue(next);
+        }
+    }
+
+    private List<Pending> removeSuccessors(Pending pending) {
+        if (pending.orderingKey() == null) {
+            return List.of();
+        }
+        synchronized (lanes) {
+            var successors = held.remove(pending.orderingKey());
+            return successors == null ? List.of() : new ArrayList<>(successors);
+        }
+    }
+
+    private void enqueue(Pending pending) {
+        List<Pending> full = null;
+        synchronized (lanes) {
+            var lane = lanes.get(pending.destination());
+            if (lane == null) {
+                var batch = new ArrayList<Pending>(batchSize);
+                lanes.put(pending.destination(), batch);
+                sender.schedule(() -> flushIfCurrent(pending.destination(), batch), linger.toNanos(), TimeUnit.NANOSECONDS);
+                lane = batch;
+            }
+            lane.add(pending);
+            if (lane.size() >= batchSize) {
+                full = lanes.remove(pending.destination());
+            }
+        }
+        if (full != null) {
+            var batch = full;
+            sender.execute(() -> send(batch));
+        }
+    }
+
+    private void flushIfCurrent(Destination destination, List<Pending> batch) {
+        synchronized (lanes) {
+            if (lanes.get(destination) != batch) {
+                // Already sent because it was full
+                return;
+            }
+            lanes.remove(destination);
+        }
+        send(batch);
+    }
+
+    private void send(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        var sent = new int[1];
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (var pending : batch) {
+                    var correlation = new CorrelationData();
+                    var start = System.nanoTime();
+                    operations.convertAndSend(pending.destination().exchange(), pending.destination().routingKey(),
+                            pending.command(), correlation);
+                    sent[0]++;
+                    correlation.getFuture()
+                            .orTimeout(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                            .whenComplete((confirm, ex) -> onConfirm(pending, start, confirm, ex));
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Sending AMQP commands failed: [{}]", e.getMessage());
+            batch.subList(sent[0], batch.size()).forEach(pending -> retry(pending, "failed", e.getMessage()));
+        }
+    }
+
+    private void onConfirm(Pending pending, long start, CorrelationData.Confirm confirm, Throwable ex) {
+        if (ex != null) {
+            retry(pending, "timeout", "No publisher confirm within " + confirmTimeout);
+        } else if (confirm.isAck()) {
+            confirmLatencies.computeIfAbsent(pending.destination().exchange(),
+                            exchange -> Timer.builder("owms.receiving.amqp.confirm.latency")
+                                    .tag("exchange", exchange)
+                                    .publishPercentileHistogram()
+                                    .register(meterRegistry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            count(pending, "ack");
+            inFlight.release();
+            releaseSuccessor(pending);
+        } else {
+            retry(pending, "nack", confirm.getReason());
+        }
+    }
+
+    private void retry(Pending pending, String outcome, String reason) {
+        count(pending, outcome);
+        if (pending.attempt() < maxAttempts) {
+            LOGGER.warn("AMQP command to [{}] with routing key [{}] not confirmed ([{}]: [{}]), sending it again",
+                    pending.destination().exchange(), pending.destination().routingKey(), outcome, reason);
+            enqueue(new Pending(pending.destination(), pending.orderingKey(), pending.command(), pending.attempt() + 1));
+            return;
+        }
+        giveUp(pending, reason);
+        // The held back successors stay behind it
+        removeSuccessors(pending).forEach(successor -> giveUp(successor, "Predecessor not confirmed"));
+    }
+
+    private void giveUp(Pending pending, String reason) {
+        inFlight.release();
+        if (amqpSpool.isEnabled()) {
+            LOGGER.warn("AMQP command to [{}] with routing key [{}] not confirmed after [{}] attempts, spooling it: [{}]",
+                    pending.destination().exchange(), pending.destination().routingKey(), pending.attempt(), reason);
+            amqpSpool.spool(pending.destination().exchange(), pending.destination().routingKey(), pending.command());
+            count(pending, "spooled");
+            return;
+        }
+        LOGGER.error("AMQP command [{}] to [{}] with routing key [{}] not confirmed after [{}] attempts, dropping it: [{}]",
+                pending.command(), pending.destination().exchange(), pending.destination().routingKey(), pending.attempt(), reason);
+        count(pending, "dropped");
+    }
+
+    private void count(Pending pending, String outcome) {
+        meterRegistry.counter(PUBLISHED, "exchange", pending.destination().exchange(), "outcome", outcome).increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Send all collected commands before shutting down. Commands that are held back behind an unconfirmed predecessor
+     * are spooled in order, or dropped if spooling is disabled.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        List<Pending> successors;
+        synchronized (lanes) {
+            lanes.values().forEach(batch -> sender.execute(() -> send(batch)));
+            lanes.clear();
+            successors = held.values().stream().flatMap(Collection::stream).toList();
+            held.clear();
+        }
+        if (!successors.isEmpty()) {
+            if (amqpSpool.isEnabled()) {
+                successors.forEach(pending -> {
+                    amqpSpool.spool(pending.destination().exchange(), pending.destination().routingKey(), pending.command());
+                    count(pending, "spooled");
+                });
+                LOGGER.warn("Spooled [{}] AMQP commands that wait for the confirm of a predecessor at shutdown", successors.size());
+            } else {
+                successors.forEach(pending -> count(pending, "dropped"));
+                LOGGER.error("Dropped [{}] AMQP commands that wait for the confirm of a predecessor at shutdown", successors.size());
+            }
+        }
+        sender.shutdown();
+        if (!sender.awaitTermination(10, TimeUnit.SECONDS)) {
+            LOGGER.warn("Not all AMQP commands could be sent before shutdown");
+        }
+    }
+}
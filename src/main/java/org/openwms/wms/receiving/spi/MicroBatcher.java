@@ -0,0 +1,126 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A MicroBatcher merges single-item lookups that are issued concurrently within a short time window into one bulk
+ * lookup. A batch is sent when the window has elapsed or the maximum batch size is reached, whatever comes first.
+ * Lookups of the same key within one batch share the same result.
+ *
+ * @param <K> The type of keys that are looked up
+ * @param <V> The type of the lookup results
+ * @author Heiko Scherrer
+ */
+public class MicroBatcher<K, V> {
+
+    private final Duration window;
+    private final int maxSize;
+    private final Function<Set<K>, Map<K, V>> bulkLookup;
+    private final RemoteCallExecutor executor;
+    private final DistributionSummary batchSizes;
+    private final Counter merged;
+    private Map<K, CompletableFuture<V>> current;
+
+    /**
+     * Create a MicroBatcher.
+     *
+     * @param name The name used to tag metrics
+     * @param window How long to wait for further lookups after the first one of a batch
+     * @param maxSize The maximum number of keys in one batch
+     * @param bulkLookup Resolves a batch of keys; keys missing in the returned map, or a {@literal null} map, complete with
+     * {@literal null}
+     * @param executor Runs the bulk lookups
+     * @param meterRegistry To record batch sizes
+     */
+    public MicroBatcher(String name, Duration window, int maxSize, Function<Set<K>, Map<K, V>> bulkLookup,
+            RemoteCallExecutor executor, MeterRegistry meterRegistry) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size must be greater than 0");
+        }
+        this.window = window;
+        this.maxSize = maxSize;
+        this.bulkLookup = bulkLookup;
+        this.executor = executor;
+        this.batchSizes = DistributionSummary.builder("owms.receiving.spi.batch.size").tag("name", name).register(meterRegistry);
+        this.merged = meterRegistry.counter("owms.receiving.spi.batch.merged", "name", name);
+    }
+
+    /**
+     * Add the lookup of the given {@code key} to the current batch.
+     *
+     * @param key The key to look up
+     * @return A future completed with the result of the lookup once the batch has been resolved
+     */
+    public CompletableFuture<V> submit(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> result;
+        synchronized (this) {
+            if (current == null) {
+                var batch = new LinkedHashMap<K, CompletableFuture<V>>();
+                current = batch;
+                CompletableFuture.runAsync(() -> flushIfCurrent(batch), executor.delayed(window));
+            }
+            result = current.get(key);
+            if (result != null) {
+                merged.increment();
+                return result;
+            }
+            result = new CompletableFuture<>();
+            current.put(key, result);
+            if (current.size() >= maxSize) {
+                full = current;
+                current = null;
+            }
+        }
+        if (full != null) {
+            var batch = full;
+            executor.run(() -> resolve(batch));
+        }
+        return result;
+    }
+
+    private void flushIfCurrent(Map<K, CompletableFuture<V>> batch) {
+        synchronized (this) {
+            if (current != batch) {
+                // Already sent because it was full
+                return;
+            }
+            current = null;
+        }
+        resolve(batch);
+    }
+
+    private void resolve(Map<K, CompletableFuture<V>> batch) {
+        batchSizes.record(batch.size());
+        try {
+            var results = bulkLookup.apply(batch.keySet());
+            batch.forEach((key, future) -> future.complete(results == null ? null : results.get(key)));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi;
+
+import org.ameba.annotation.Public;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A RemoteCallExecutor runs blocking calls to remote services on virtual threads, so that callers can issue independent
+ * calls in parallel without occupying a platform thread for each of them. Cancelling a returned future, or any future
+ * derived from it, interrupts the call, and blocking socket I/O of a virtual thread is aborted on interrupt.
+ *
+ * @author Heiko Scherrer
+ */
+@Public
+@Component
+public class RemoteCallExecutor implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("remote-call-", 0).factory());
+
+    /**
+     * Run the given {@code call} asynchronously.
+     *
+     * @param call The blocking call
+     * @param <T> The type of the result
+     * @return A future completed with the result of the call
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> call) {
+        var future = new InterruptibleFuture<T>(new AtomicReference<>());
+        future.task.set(executor.submit(() -> {
+            try {
+                future.complete(call.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Run the given {@code call} asynchronously.
+     *
+     * @param call The blocking call
+     * @return A future completed when the call has returned
+     */
+    public CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Return an {@link Executor} that runs tasks after the given {@code delay}.
+     *
+     * @param delay How long to wait before a task is run
+     * @return The Executor
+     */
+    public Executor delayed(Duration delay) {
+        return CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A CompletableFuture that interrupts the task it has been created for when it or one of its dependents is cancelled.
+     */
+    private static final class InterruptibleFuture<T> extends CompletableFuture<T> {
+
+        private final AtomicReference<Future<?>> task;
+
+        private InterruptibleFuture(AtomicReference<Future<?>> task) {
+            this.task = task;
+        }
+
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new InterruptibleFuture<>(task);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            var cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                task.get().cancel(true);
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi;
+
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ameba.annotation.Public;
+import org.ameba.exception.BusinessRuntimeException;
+import org.openwms.core.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A SpiIsolation runs the calls to each remote SPI in its own compartment. A compartment limits the number of
+ * concurrent calls (bulkhead) and tracks failures in its own circuit breaker. A call that is not permitted, because the
+ * breaker is open or the bulkhead is full, is routed to the fallback immediately instead of waiting for a timeout. A
+ * call that fails is routed to the fallback as well, except business exceptions which are definite answers. Client
+ * errors ({@literal 4xx}) and business exceptions do not count as failures of the SPI. The Feign clients therefore
+ * must not declare fallbacks of their own. The latency of calls is published as percentile histogram, the breaker
+ * state as gauge, both tagged with the SPI name.
+ *
+ * @author Heiko Scherrer
+ */
+@Public
+@Profile(SpringProfiles.DISTRIBUTED)
+@Component
+public class SpiIsolation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpiIsolation.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    static final String PREFIX = "owms.receiving.spi.isolation.";
+    static final String DEFAULTS = "default";
+    /** The Products of the Inventory Service. */
+    public static final String PRODUCTS = "products";
+    /** The PackagingUnits of the Inventory Service. */
+    public static final String PACKAGING_UNITS = "packaging-units";
+    /** The Locations of the Inventory Service. */
+    public static final String LOCATIONS = "locations";
+    /** The TransportUnits of the Inventory Service. */
+    public static final String TRANSPORT_UNITS = "transport-units";
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+    public SpiIsolation(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private record Compartment(Semaphore permits, CircuitBreaker breaker, Timer succeeded, Timer failed) {
+    }
+
+    /**
+     * Call the SPI {@code spi}.
+     *
+     * @param spi The name of the SPI
+     * @param call The remote call
+     * @param fallback Called with the cause if the call is not permitted or has failed
+     * @param <T> The type of the result
+     * @return The result of the call or of the fallback
+     */
+    public <T> T call(String spi, Supplier<T> call, Function<Throwable, T> fallback) {
+        var compartment = compartments.computeIfAbsent(spi, this::createCompartment);
+        var rejection = acquire(spi, compartment);
+        if (rejection != null) {
+            return fallback.apply(rejection);
+        }
+        var start = System.nanoTime();
+        try {
+            var result = call.get();
+            var duration = System.nanoTime() - start;
+            compartment.breaker().onSuccess(duration, TimeUnit.NANOSECONDS);
+            compartment.succeeded().record(duration, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            var duration = System.nanoTime() - start;
+            var cause = unwrap(e);
+            compartment.breaker().onError(duration, TimeUnit.NANOSECONDS, cause);
+            compartment.failed().record(duration, TimeUnit.NANOSECONDS);
+            if (cause instanceof BusinessRuntimeException bre) {
+                throw bre;
+            }
+            LOGGER.debug("Call to SPI [{}] failed, calling the fallback: [{}]", spi, cause.getMessage());
+            return fallback.apply(cause);
+        } finally {
+            compartment.permits().release();
+        }
+    }
+
+    /**
+     * A Feign client wrapped by the Spring Cloud circuit breaker without a fallback hides the actual failure.
+     */
+    private static RuntimeException unwrap(RuntimeException e) {
+        return e instanceof NoFallbackAvailableException && e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+
+    private static boolean isDefiniteAnswer(Throwable t) {
+        return t instanceof BusinessRuntimeException || (t instanceof FeignException fe && fe.status() >= 400 && fe.status() < 500);
+    }
+
+    /**
+     * Call the SPI {@code spi} without a result.
+     *
+     * @param spi The name of the SPI
+     * @param call The remote call
+     * @param fallback Called with the cause if the call is not permitted or has failed
+     */
+    public void run(String spi, Runnable call, Consumer<Throwable> fallback) {
+        call(spi, () -> {
+            call.run();
+            return null;
+        }, cause -> {
+            fallback.accept(cause);
+            return null;
+        });
+    }
+
+    private Throwable acquire(String spi, Compartment compartment) {
+        if (!compartment.breaker().tryAcquirePermission()) {
+            meterRegistry.counter("owms.receiving.spi.rejected", "spi", spi, "reason", "open").increment();
+            LOGGER.debug("Circuit breaker of SPI [{}] is open, calling the fallback", spi);
+            return CallNotPermittedException.createCallNotPermittedException(compartment.breaker());
+        }
+        if (!compartment.permits().tryAcquire()) {
+            compartment.breaker().releasePermission();
+            meterRegistry.counter("owms.receiving.spi.rejected", "spi", spi, "reason", "saturated").increment();
+            LOGGER.debug("All calls to SPI [{}] in use, calling the fallback", spi);
+            return new RejectedExecutionException("Maximum number of concurrent calls to SPI [%s] reached".formatted(spi));
+        }
+        return null;
+    }
+
+    private Compartment createCompartment(String spi) {
+        var maxConcurrentCalls = property(spi, "max-concurrent-calls", Integer.class, 20);
+        var config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(property(spi, "failure-rate-threshold", Float.class, 50f))
+                .slowCallDurationThreshold(property(spi, "slow-call-duration-threshold", Duration.class, Duration.ofSeconds(5)))
+                .slowCallRateThreshold(property(spi, "slow-call-rate-threshold", Float.class, 100f))
+                .slidingWindowSize(property(spi, "sliding-window-size", Integer.class, 20))
+                .minimumNumberOfCalls(property(spi, "minimum-number-of-calls", Integer.class, 10))
+                .waitDurationInOpenState(property(spi, "wait-duration-in-open-state", Duration.class, Duration.ofSeconds(30)))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Definite answers like "not found" are no failures of the SPI
+                .ignoreException(SpiIsolation::isDefiniteAnswer)
+                .build();
+        var breaker = CircuitBreaker.of(spi, config);
+        breaker.getEventPublisher().onStateTransition(e -> LOGGER.warn("Circuit breaker of SPI [{}] changed [{}]", spi, e.getStateTransition()));
+        Gauge.builder("owms.receiving.spi.breaker.state", breaker, b -> b.getState().getOrder())
+                .description("0 = closed, 1 = open, 2 = half open")
+                .tag("spi", spi)
+                .register(meterRegistry);
+        BOOT_LOGGER.info("SPI [{}] isolated with max-concurrent-calls [{}], failure-rate-threshold [{}], wait-duration-in-open-state [{}]",
+                spi, maxConcurrentCalls, config.getFailureRateThreshold(), config.getWaitIntervalFunctionInOpenState().apply(1));
+        return new Compartment(new Semaphore(maxConcurrentCalls), breaker, timer(spi, "success"), timer(spi, "failure"));
+    }
+
+    private Timer timer(String spi, String outcome) {
+        return Timer.builder("owms.receiving.spi.calls")
+                .tag("spi", spi)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private <T> T property(String spi, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + spi + "." + key, type,
+                environment.getProperty(PREFIX + DEFAULTS + "." + key, type, defaultValue));
+    }
+}
@@ -39,6 +39,6 @@ public interface CommonLocationApi {
      * @return Never {@literal null}
      */
     @GetMapping(value = "/v1/locations", params = {"erpCode"}, produces = "application/vnd.openwms.common.location-opt-v1+json")
-    @Cacheable("locations")
+    @Cacheable(cacheNames = "locations", unless = "#result == null")
     Optional<CommonLocationVO> findByErpCode(@RequestParam("erpCode") String erpCode);
 }
@@ -19,9 +19,9 @@ import jakarta.validation.Validator;
 import org.ameba.annotation.Measured;
 import org.ameba.system.ValidationUtil;
 import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.spi.AmqpCommandPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -36,16 +36,16 @@ import org.springframework.stereotype.Component;
 class AsyncPackagingUnitApiImpl implements AsyncPackagingUnitApi {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncPackagingUnitApiImpl.class);
-    private final AmqpTemplate amqpTemplate;
+    private final AmqpCommandPublisher publisher;
     private final String exchangeName;
     private final String routingKey;
     private final Validator validator;
 
     AsyncPackagingUnitApiImpl(
-            AmqpTemplate amqpTemplate,
+            AmqpCommandPublisher publisher,
             @Value("${owms.commands.inventory.pu.exchange-name}") String exchangeName,
             @Value("${owms.commands.inventory.pu.routing-key}") String routingKey, Validator validator) {
-        this.amqpTemplate = amqpTemplate;
+        this.publisher = publisher;
         this.exchangeName = exchangeName;
         this.routingKey = routingKey;
         this.validator = validator;
@@ -61,6 +61,6 @@ class AsyncPackagingUnitApiImpl implements AsyncPackagingUnitApi {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Send command to create new PackagingUnit [{}] on TransportUnit [{}] and LoadUnit [{}/{}]", command.getPackagingUnit(), command.getTransportUnitBK(), command.getLuPos(), command.getLoadUnitType());
         }
-        amqpTemplate.convertAndSend(exchangeName, routingKey, command);
+        publisher.publish(exchangeName, routingKey, command);
     }
 }
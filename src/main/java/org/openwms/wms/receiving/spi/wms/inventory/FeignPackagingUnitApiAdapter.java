@@ -17,6 +17,7 @@ package org.openwms.wms.receiving.spi.wms.inventory;
 
 import org.ameba.annotation.Measured;
 import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.spi.SpiIsolation;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
@@ -32,9 +33,13 @@ import java.util.List;
 class FeignPackagingUnitApiAdapter implements SyncPackagingUnitApi {
 
     private final PackagingUnitApi packagingUnitApi;
+    private final SpiIsolation isolation;
+    private final PackagingUnitApiFallback fallback;
 
-    FeignPackagingUnitApiAdapter(PackagingUnitApi packagingUnitApi) {
+    FeignPackagingUnitApiAdapter(PackagingUnitApi packagingUnitApi, SpiIsolation isolation, PackagingUnitApiFallback fallback) {
         this.packagingUnitApi = packagingUnitApi;
+        this.isolation = isolation;
+        this.fallback = fallback;
     }
 
     /**
@@ -43,6 +48,7 @@ class FeignPackagingUnitApiAdapter implements SyncPackagingUnitApi {
     @Override
     @Measured
     public void createOnLocation(List<PackagingUnitVO> pus) {
-        packagingUnitApi.createOnLocation(pus);
+        isolation.run(SpiIsolation.PACKAGING_UNITS, () -> packagingUnitApi.createOnLocation(pus),
+                cause -> fallback.createOnLocation(pus));
     }
 }
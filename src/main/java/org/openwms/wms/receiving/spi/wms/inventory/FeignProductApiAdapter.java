@@ -15,15 +15,32 @@
  */
 package org.openwms.wms.receiving.spi.wms.inventory;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import org.ameba.annotation.Measured;
+import org.ameba.exception.NotFoundException;
 import org.ameba.system.ValidationUtil;
 import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.spi.MicroBatcher;
+import org.openwms.wms.receiving.spi.RemoteCallExecutor;
+import org.openwms.wms.receiving.spi.SpiIsolation;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
 /**
  * A FeignProductApiAdapter.
  *
@@ -36,10 +53,25 @@ class FeignProductApiAdapter implements SyncProductApi {
 
     private final Validator validator;
     private final ProductApi productApi;
+    private final ProductCaches productCaches;
+    private final SpiIsolation isolation;
+    private final ProductApiFallbackFactory fallbackFactory;
+    /** Merges concurrent lookups by SKU, only set if micro-batching is enabled. */
+    private final MicroBatcher<String, Optional<ProductVO>> skuBatcher;
 
-    FeignProductApiAdapter(Validator validator, ProductApi productApi) {
+    FeignProductApiAdapter(Validator validator, ProductApi productApi, ProductCaches productCaches,
+            SpiIsolation isolation, ProductApiFallbackFactory fallbackFactory, RemoteCallExecutor executor, MeterRegistry meterRegistry,
+            @Value("${owms.receiving.spi.micro-batching.enabled:false}") boolean microBatching,
+            @Value("${owms.receiving.spi.micro-batching.window:5ms}") Duration window,
+            @Value("${owms.receiving.spi.micro-batching.max-size:50}") int maxSize) {
         this.validator = validator;
         this.productApi = productApi;
+        this.productCaches = productCaches;
+        this.isolation = isolation;
+        this.fallbackFactory = fallbackFactory;
+        this.skuBatcher = microBatching
+                ? new MicroBatcher<>("productsBySku", window, maxSize, this::findBatch, executor, meterRegistry)
+                : null;
     }
 
     /**
@@ -47,14 +79,38 @@ class FeignProductApiAdapter implements SyncProductApi {
      */
     @Override
     @Measured
-    public ProductVO findBySKU(@NotBlank String sku) {
-        var vo = productApi.findBySKU(sku);
+    public Optional<ProductVO> findBySKU(@NotBlank String sku) {
+        if (skuBatcher != null) {
+            return findBatched(sku);
+        }
+        var cached = productCaches.getBySku(sku);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var vo = isolation.call(SpiIsolation.PRODUCTS, () -> productApi.findBySKU(sku),
+                cause -> fallbackFactory.create(cause).findBySKU(sku));
         if (vo == null) {
-
-            return null;
+            return Optional.empty();
         }
         ValidationUtil.validate(validator, vo, ProductVO.Load.class);
-        return vo;
+        productCaches.putBySku(vo);
+        return Optional.of(vo);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public Optional<ProductVO> findProductByProductUnitPkey(@NotBlank String pKey) {
+        try {
+            var vo = isolation.call(SpiIsolation.PRODUCTS, () -> productApi.findProductByProductUnitPkey(pKey),
+                    cause -> fallbackFactory.create(cause).findProductByProductUnitPkey(pKey));
+            productCaches.registerProductUnit(pKey, vo);
+            return Optional.ofNullable(vo);
+        } catch (NotFoundException nfe) {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -62,7 +118,80 @@ class FeignProductApiAdapter implements SyncProductApi {
      */
     @Override
     @Measured
-    public ProductVO findProductByProductUnitPkey(@NotBlank String pKey) {
-        return productApi.findProductByProductUnitPkey(pKey);
+    public List<ProductVO> findAll(int page, int size) {
+        var vos = isolation.call(SpiIsolation.PRODUCTS, () -> productApi.findAll(page, size),
+                cause -> fallbackFactory.create(cause).findAll(page, size));
+        if (vos != null) {
+            vos.forEach(vo -> ValidationUtil.validate(validator, vo, ProductVO.Load.class));
+        }
+        return vos;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Products that are already cached are not requested again.
+     */
+    @Override
+    @Measured
+    public List<ProductVO> findBySKUs(@NotEmpty Collection<String> skus) {
+        var result = new ArrayList<ProductVO>(skus.size());
+        var missing = new ArrayList<String>(skus.size());
+        for (var sku : skus) {
+            var cached = productCaches.getBySku(sku);
+            if (cached == null) {
+                missing.add(sku);
+            } else {
+                result.add(cached);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        var vos = isolation.call(SpiIsolation.PRODUCTS, () -> productApi.findBySKUs(missing),
+                cause -> fallbackFactory.create(cause).findBySKUs(missing));
+        if (vos == null) {
+            return null;
+        }
+        for (var vo : vos) {
+            ValidationUtil.validate(validator, vo, ProductVO.Load.class);
+            productCaches.putBySku(vo);
+            result.add(vo);
+        }
+        return result;
+    }
+
+    private Optional<ProductVO> findBatched(String sku) {
+        var cached = productCaches.getBySku(sku);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<ProductVO> vo;
+        try {
+            vo = skuBatcher.submit(sku).join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw ce;
+        }
+        if (vo == null) {
+            return Optional.empty();
+        }
+        if (vo.isEmpty()) {
+            throw new NotFoundException("Product with SKU [%s] does not exist".formatted(sku));
+        }
+        return vo;
+    }
+
+    private Map<String, Optional<ProductVO>> findBatch(Set<String> skus) {
+        var vos = findBySKUs(skus);
+        if (vos == null) {
+            return null;
+        }
+        var result = new HashMap<String, Optional<ProductVO>>(skus.size());
+        skus.forEach(sku -> result.put(sku, Optional.empty()));
+        vos.forEach(vo -> result.put(vo.getSku(), Optional.of(vo)));
+        return result;
     }
 }
@@ -22,12 +22,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
 /**
  * A NoOpAsyncPackagingUnitApiImpl is used in non-distributed environments and doesn't do anything.
  *
  * @author Heiko Scherrer
  */
-@Profile("!" + SpringProfiles.ASYNCHRONOUS_PROFILE)
+@Profile("!" + SpringProfiles.ASYNCHRONOUS_PROFILE + " & !" + SIMULATION_PROFILE)
 @Component
 class NoOpAsyncPackagingUnitApiImpl implements AsyncPackagingUnitApi {
 
@@ -24,12 +24,14 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
 /**
  * A NoOpSyncPackagingUnitApiImpl.
  *
  * @author Heiko Scherrer
  */
-@Profile("!" + SpringProfiles.DISTRIBUTED)
+@Profile("!" + SpringProfiles.DISTRIBUTED + " & !" + SIMULATION_PROFILE)
 @Component
 class NoOpSyncPackagingUnitApiImpl implements SyncPackagingUnitApi {
 
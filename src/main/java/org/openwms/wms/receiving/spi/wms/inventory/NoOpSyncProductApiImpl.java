@@ -16,6 +16,7 @@
 package org.openwms.wms.receiving.spi.wms.inventory;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import org.ameba.annotation.Measured;
 import org.openwms.core.SpringProfiles;
 import org.slf4j.Logger;
@@ -24,12 +25,18 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
 /**
  * A NoOpSyncProductApiImpl.
  *
  * @author Heiko Scherrer
  */
-@Profile("!" + SpringProfiles.DISTRIBUTED)
+@Profile("!" + SpringProfiles.DISTRIBUTED + " & !" + SIMULATION_PROFILE)
 @Validated
 @Component
 class NoOpSyncProductApiImpl implements SyncProductApi {
@@ -43,9 +50,33 @@ class NoOpSyncProductApiImpl implements SyncProductApi {
      */
     @Override
     @Measured
-    public ProductVO findBySKU(@NotBlank String sku) {
+    public Optional<ProductVO> findBySKU(@NotBlank String sku) {
+        LOGGER.error("Not implemented yet");
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * No operation here!
+     */
+    @Override
+    @Measured
+    public Optional<ProductVO> findProductByProductUnitPkey(@NotBlank String pKey) {
+        LOGGER.error("Not implemented yet");
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * No operation here!
+     */
+    @Override
+    @Measured
+    public List<ProductVO> findAll(int page, int size) {
         LOGGER.error("Not implemented yet");
-        return null;
+        return List.of();
     }
 
     /**
@@ -55,8 +86,8 @@ class NoOpSyncProductApiImpl implements SyncProductApi {
      */
     @Override
     @Measured
-    public ProductVO findProductByProductUnitPkey(@NotBlank String pKey) {
+    public List<ProductVO> findBySKUs(@NotEmpty Collection<String> skus) {
         LOGGER.error("Not implemented yet");
-        return null;
+        return List.of();
     }
 }
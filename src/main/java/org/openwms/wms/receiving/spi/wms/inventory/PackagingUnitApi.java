@@ -26,7 +26,7 @@ import java.util.List;
  *
  * @author Heiko Scherrer
  */
-@FeignClient(name = "wms-inventory", dismiss404 = true, qualifiers = "packagingUnitApi", fallback = PackagingUnitApiFallback.class)
+@FeignClient(name = "wms-inventory", dismiss404 = true, qualifiers = "packagingUnitApi")
 interface PackagingUnitApi {
 
     /**
@@ -21,12 +21,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * A ProductApi is the Feign client used internally, not by any business logic directly.
  *
  * @author Heiko Scherrer
  */
-@FeignClient(name = "wms-inventory", qualifiers = "productApi", fallback = ProductApiFallback.class)
+@FeignClient(name = "wms-inventory", qualifiers = "productApi")
 interface ProductApi {
 
     /**
@@ -36,7 +39,6 @@ interface ProductApi {
      * @return The instance or null
      */
     @GetMapping(value = "/v1/products", params = "sku")
-    @Cacheable("products")
     ProductVO findBySKU(@RequestParam("sku") String sku);
 
     /**
@@ -45,6 +47,25 @@ interface ProductApi {
      * @param pKey The pKey of the productUnit
      */
     @GetMapping("/v1/product/product-units/{pKey}")
-    @Cacheable("products")
+    @Cacheable(cacheNames = ProductCaches.BY_PRODUCT_UNIT, unless = "#result == null")
     ProductVO findProductByProductUnitPkey(@PathVariable("pKey") String pKey);
+
+    /**
+     * Find and return one page of all existing {@code Product}s.
+     *
+     * @param page The zero based number of the page
+     * @param size The maximum number of Products per page
+     * @return The Products of the page
+     */
+    @GetMapping(value = "/v1/products", params = {"page", "size"})
+    List<ProductVO> findAll(@RequestParam("page") int page, @RequestParam("size") int size);
+
+    /**
+     * Find and return all {@code Product}s identified by the given {@code SKU}s.
+     *
+     * @param skus The identifying SKU attributes
+     * @return The existing Products
+     */
+    @GetMapping(value = "/v1/products", params = "skus")
+    List<ProductVO> findBySKUs(@RequestParam("skus") Collection<String> skus);
 }
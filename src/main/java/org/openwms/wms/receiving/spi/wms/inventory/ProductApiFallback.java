@@ -16,19 +16,17 @@
 package org.openwms.wms.receiving.spi.wms.inventory;
 
 import org.ameba.annotation.Measured;
-import org.openwms.core.SpringProfiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.annotation.Profile;
-import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * A ProductApiFallback.
  *
  * @author Heiko Scherrer
  */
-@Profile(SpringProfiles.DISTRIBUTED)
-@Component
 class ProductApiFallback implements ProductApi {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProductApiFallback.class);
@@ -52,4 +50,24 @@ class ProductApiFallback implements ProductApi {
         LOGGER.error("Resolving Product by ProductUnit not supported, returning null");
         return null;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public List<ProductVO> findAll(int page, int size) {
+        LOGGER.error("Loading all Products not supported, returning null");
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public List<ProductVO> findBySKUs(Collection<String> skus) {
+        LOGGER.error("Resolving Products by SKUs not supported, returning null");
+        return null;
+    }
 }
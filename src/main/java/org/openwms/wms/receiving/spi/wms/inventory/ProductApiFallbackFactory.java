@@ -0,0 +1,80 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi.wms.inventory;
+
+import feign.FeignException;
+import org.ameba.exception.NotFoundException;
+import org.openwms.core.SpringProfiles;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A ProductApiFallbackFactory.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.DISTRIBUTED)
+@Component
+class ProductApiFallbackFactory implements FallbackFactory<ProductApi> {
+
+    /**
+     * {@inheritDoc}
+     *
+     * A 404 response is a definite answer of the Inventory Service and not a failure that can be compensated. For the
+     * lookup of a single Product it means the Product does not exist, for the list endpoints that nothing matches.
+     */
+    @Override
+    public ProductApi create(Throwable cause) {
+        if (cause instanceof FeignException fe && fe.status() == 404) {
+            return new NotFoundAnswers(fe);
+        }
+        // default hand over to fallback
+        return new ProductApiFallback();
+    }
+
+    private static final class NotFoundAnswers implements ProductApi {
+
+        private final FeignException cause;
+
+        private NotFoundAnswers(FeignException cause) {
+            this.cause = cause;
+        }
+
+        @Override
+        public ProductVO findBySKU(String sku) {
+            throw new NotFoundException(cause.getMessage());
+        }
+
+        @Override
+        public ProductVO findProductByProductUnitPkey(String pKey) {
+            throw new NotFoundException(cause.getMessage());
+        }
+
+        @Override
+        public List<ProductVO> findAll(int page, int size) {
+            return List.of();
+        }
+
+        @Override
+        public List<ProductVO> findBySKUs(Collection<String> skus) {
+            return List.of();
+        }
+    }
+}
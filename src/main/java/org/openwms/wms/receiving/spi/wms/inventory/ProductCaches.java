@@ -0,0 +1,290 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi.wms.inventory;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.ameba.annotation.Public;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A ProductCaches bean knows about the two separate caches of remotely resolved {@code Product}s, one for the lookup by
+ * SKU and one for the lookup by {@code ProductUnit} pKey, and about the SKUs that do not exist. It tracks which cache
+ * keys belong to the same {@code Product} and evicts or refreshes them together, without flushing unrelated entries.
+ * The tracking index is bounded in size and age like the caches it belongs to. Evictions and refreshes are counted per
+ * {@link Cause}.
+ *
+ * @author Heiko Scherrer
+ */
+@Public
+@Component
+public class ProductCaches {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductCaches.class);
+    /** Cache of {@code Product}s resolved by SKU. */
+    public static final String BY_SKU = "productsBySku";
+    /** Cache of {@code Product}s resolved by the pKey of one of their {@code ProductUnit}s. */
+    public static final String BY_PRODUCT_UNIT = "productsByProductUnit";
+    /** Counts single cache entries that have been evicted. */
+    static final String EVICTIONS = "owms.receiving.product.cache.evictions";
+    /** Counts single cache entries that have been refreshed in place. */
+    static final String REFRESHES = "owms.receiving.product.cache.refreshes";
+    /** Counts how often all Product caches have been flushed at once. */
+    static final String FLUSHES = "owms.receiving.product.cache.flushes";
+    /** Name of the negative cache of SKUs that definitely do not exist. */
+    public static final String NOT_FOUND = "productsNotFound";
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    /** SKUs the inventory service has definitely answered with "not found", kept only for a short time. */
+    private final com.github.benmanes.caffeine.cache.Cache<String, Boolean> notFound;
+    /** The SKU of a {@code Product} mapped to the persistent key of the {@code Product} in the inventory service. */
+    private final ConcurrentMap<String, String> skuByProductPKey;
+    /** The SKU of a {@code Product} mapped to the pKeys of the {@code ProductUnit}s it has been resolved by. */
+    private final ConcurrentMap<String, Set<String>> productUnitsBySku;
+
+    /**
+     * The reason why {@code Product}s are evicted or refreshed, exposed as metrics tag.
+     */
+    public enum Cause {
+        /** A Product has been created in the inventory service. */
+        CREATED,
+        /** A Product has been updated in the inventory service. */
+        UPDATED,
+        /** A Product has been deleted in the inventory service. */
+        DELETED,
+        /** Explicitly requested by an application component. */
+        MANUAL
+    }
+
+    ProductCaches(CacheManager cacheManager, MeterRegistry meterRegistry,
+            @Value("${owms.receiving.cache.productsNotFound.maximum-size:10000}") long notFoundMaximumSize,
+            @Value("${owms.receiving.cache.productsNotFound.expire-after-write:30s}") Duration notFoundExpireAfterWrite,
+            @Value("${owms.receiving.cache.productIndex.maximum-size:20000}") long indexMaximumSize,
+            @Value("${owms.receiving.cache.productIndex.expire-after-write:10m}") Duration indexExpireAfterWrite) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.notFound = Caffeine.newBuilder()
+                .maximumSize(notFoundMaximumSize)
+                .expireAfterWrite(notFoundExpireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, notFound, NOT_FOUND);
+        this.skuByProductPKey = Caffeine.newBuilder()
+                .maximumSize(indexMaximumSize)
+                .expireAfterWrite(indexExpireAfterWrite)
+                .<String, String>build()
+                .asMap();
+        this.productUnitsBySku = Caffeine.newBuilder()
+                .maximumSize(indexMaximumSize)
+                .expireAfterWrite(indexExpireAfterWrite)
+                .<String, Set<String>>build()
+                .asMap();
+    }
+
+    /**
+     * Check whether the given SKU is known to not exist in the inventory service.
+     *
+     * @param sku The SKU to check
+     * @return {@literal true} if the SKU has recently been answered with "not found"
+     */
+    public boolean isNotFound(String sku) {
+        return notFound.getIfPresent(sku) != null;
+    }
+
+    /**
+     * Remember that the inventory service has definitely answered the lookup of the given SKU with "not found".
+     *
+     * @param sku The SKU that does not exist
+     */
+    public void rememberNotFound(String sku) {
+        notFound.put(sku, Boolean.TRUE);
+    }
+
+    /**
+     * Remember that the given {@code Product} has been resolved and cached by its SKU.
+     *
+     * @param product The resolved Product
+     */
+    void registerSku(ProductVO product) {
+        if (product != null && product.getpKey() != null) {
+            skuByProductPKey.put(product.getpKey(), product.getSku());
+        }
+    }
+
+    /**
+     * Remember that the given {@code Product} has been resolved and cached by the pKey of one of its
+     * {@code ProductUnit}s.
+     *
+     * @param productUnitPKey The pKey of the ProductUnit used for the lookup
+     * @param product The resolved Product
+     */
+    void registerProductUnit(String productUnitPKey, ProductVO product) {
+        if (product != null && product.getSku() != null) {
+            registerSku(product);
+            // compute and not computeIfAbsent, each registration must renew the age of the index entry
+            productUnitsBySku.compute(product.getSku(), (k, productUnits) -> {
+                var result = productUnits == null ? ConcurrentHashMap.<String>newKeySet() : productUnits;
+                result.add(productUnitPKey);
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Return the {@code Product} cached by its SKU.
+     *
+     * @param sku The SKU of the Product
+     * @return The cached instance or {@literal null}
+     */
+    ProductVO getBySku(String sku) {
+        return cache(BY_SKU).get(sku, ProductVO.class);
+    }
+
+    /**
+     * Cache a {@code Product} by its SKU.
+     *
+     * @param product The resolved Product
+     */
+    void putBySku(ProductVO product) {
+        cache(BY_SKU).put(product.getSku(), product);
+        registerSku(product);
+    }
+
+    /**
+     * Evict a {@code Product} from both caches.
+     *
+     * @param cause Why the Product is evicted
+     * @param sku The SKU of the Product, may be {@literal null} if the {@code productPKey} is given
+     * @param productPKey The persistent key of the Product in the inventory service, may be {@literal null}
+     */
+    public void evict(Cause cause, String sku, String productPKey) {
+        var skus = new HashSet<String>(2);
+        if (sku != null) {
+            skus.add(sku);
+        }
+        if (productPKey != null) {
+            // The SKU of the Product may have changed meanwhile, the old one must go too
+            Optional.ofNullable(skuByProductPKey.remove(productPKey)).ifPresent(skus::add);
+        }
+        var bySku = cache(BY_SKU);
+        var byProductUnit = cache(BY_PRODUCT_UNIT);
+        var evicted = 0;
+        for (var s : skus) {
+            notFound.invalidate(s);
+            if (bySku.evictIfPresent(s)) {
+                evicted++;
+            }
+            var productUnits = productUnitsBySku.remove(s);
+            if (productUnits != null) {
+                for (var productUnit : productUnits) {
+                    if (byProductUnit.evictIfPresent(productUnit)) {
+                        evicted++;
+                    }
+                }
+            }
+            LOGGER.debug("Product with SKU [{}] and its ProductUnit aliases {} evicted from caches, cause [{}]", s, productUnits, cause);
+        }
+        count(EVICTIONS, cause, evicted);
+    }
+
+    /**
+     * Refresh the cache entries of a {@code Product} in place with the given representation. Only entries that are
+     * already cached are replaced, a {@code Product} that has not been cached before is not added.
+     *
+     * @param cause Why the Product is refreshed
+     * @param product The current representation of the Product
+     */
+    public void refresh(Cause cause, ProductVO product) {
+        var previousSku = product.getpKey() == null ? null : skuByProductPKey.get(product.getpKey());
+        if (previousSku != null && !previousSku.equals(product.getSku())) {
+            // A changed SKU can't be refreshed in place, the entries are keyed by the SKU
+            evict(cause, previousSku, product.getpKey());
+            return;
+        }
+        var refreshed = 0;
+        if (replaceIfPresent(cache(BY_SKU), product.getSku(), product)) {
+            refreshed++;
+        }
+        var productUnits = productUnitsBySku.get(product.getSku());
+        if (productUnits != null) {
+            var byProductUnit = cache(BY_PRODUCT_UNIT);
+            for (var productUnit : productUnits) {
+                if (replaceIfPresent(byProductUnit, productUnit, product)) {
+                    refreshed++;
+                }
+            }
+        }
+        LOGGER.debug("Product with SKU [{}] refreshed in [{}] cache entries, cause [{}]", product.getSku(), refreshed, cause);
+        count(REFRESHES, cause, refreshed);
+    }
+
+    /**
+     * Evict all {@code Product}s from both caches.
+     *
+     * @param cause Why all Products are evicted
+     */
+    public void evictAll(Cause cause) {
+        cache(BY_SKU).clear();
+        cache(BY_PRODUCT_UNIT).clear();
+        notFound.invalidateAll();
+        skuByProductPKey.clear();
+        productUnitsBySku.clear();
+        count(FLUSHES, cause, 1);
+        LOGGER.debug("All Product caches evicted, cause [{}]", cause);
+    }
+
+    /* Replaces an entry atomically, so that a concurrent eviction is not undone by a refresh that has read the entry
+     before. */
+    @SuppressWarnings("unchecked")
+    private static boolean replaceIfPresent(Cache cache, Object key, Object value) {
+        var map = switch (cache.getNativeCache()) {
+            case com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine -> (ConcurrentMap<Object, Object>) caffeine.asMap();
+            case ConcurrentMap<?, ?> concurrentMap -> (ConcurrentMap<Object, Object>) concurrentMap;
+            default -> null;
+        };
+        if (map == null) {
+            if (cache.get(key) == null) {
+                return false;
+            }
+            cache.put(key, value);
+            return true;
+        }
+        return map.computeIfPresent(key, (k, v) -> value) != null;
+    }
+
+    private void count(String name, Cause cause, int amount) {
+        if (amount > 0) {
+            meterRegistry.counter(name, "cause", cause.name().toLowerCase()).increment(amount);
+        }
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
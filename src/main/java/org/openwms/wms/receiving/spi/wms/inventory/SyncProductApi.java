@@ -16,6 +16,11 @@
 package org.openwms.wms.receiving.spi.wms.inventory;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * A SyncProductApi.
@@ -28,15 +33,34 @@ public interface SyncProductApi {
      * Find and return a {@code Product} identified by its {@code SKU}.
      *
      * @param sku The identifying SKU attribute
-     * @return The instance or null
+     * @return The instance or empty if the lookup is currently not possible
+     * @throws org.ameba.exception.NotFoundException if the {@code Product} definitely does not exist
      */
-    ProductVO findBySKU(@NotBlank String sku);
+    Optional<ProductVO> findBySKU(@NotBlank String sku);
 
     /**
      * Gets {@code Product} based on {@code ProductUnit} pKey
      *
      * @param pKey The pKey of the productUnit
-     * @return The instance or null
+     * @return The instance or empty
+     */
+    Optional<ProductVO> findProductByProductUnitPkey(@NotBlank String pKey);
+
+    /**
+     * Find and return one page of all existing {@code Product}s, ordered by their persistent key.
+     *
+     * @param page The zero based number of the page
+     * @param size The maximum number of Products per page
+     * @return The Products of the page, an empty list if there are no more Products or null if the lookup is currently
+     * not possible
+     */
+    List<ProductVO> findAll(int page, int size);
+
+    /**
+     * Find and return all {@code Product}s identified by the given {@code SKU}s in one call.
+     *
+     * @param skus The identifying SKU attributes
+     * @return The existing Products, SKUs that do not exist are omitted, or null if the lookup is currently not possible
      */
-    ProductVO findProductByProductUnitPkey(@NotBlank String pKey);
+    List<ProductVO> findBySKUs(@NotEmpty Collection<String> skus);
 }
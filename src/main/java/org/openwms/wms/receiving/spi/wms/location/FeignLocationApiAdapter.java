@@ -15,14 +15,27 @@
  */
 package org.openwms.wms.receiving.spi.wms.location;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import org.ameba.annotation.Measured;
 import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.spi.MicroBatcher;
+import org.openwms.wms.receiving.spi.RemoteCallExecutor;
+import org.openwms.wms.receiving.spi.SpiIsolation;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 /**
  * A FeignLocationApiAdapter is only active with Spring profile {@literal DISTRIBUTED} and uses the Feign {@code Location API}.
@@ -36,9 +49,22 @@ import java.util.Optional;
 class FeignLocationApiAdapter implements SyncLocationApi {
 
     private final LocationApi locationApi;
+    private final SpiIsolation isolation;
+    private final LocationApiFallbackFactory fallbackFactory;
+    /** Merges concurrent lookups by ERP code, only set if micro-batching is enabled. */
+    private final MicroBatcher<String, Optional<LocationVO>> erpCodeBatcher;
 
-    FeignLocationApiAdapter(LocationApi locationApi) {
+    FeignLocationApiAdapter(LocationApi locationApi, SpiIsolation isolation, LocationApiFallbackFactory fallbackFactory,
+            RemoteCallExecutor executor, MeterRegistry meterRegistry,
+            @Value("${owms.receiving.spi.micro-batching.enabled:false}") boolean microBatching,
+            @Value("${owms.receiving.spi.micro-batching.window:5ms}") Duration window,
+            @Value("${owms.receiving.spi.micro-batching.max-size:50}") int maxSize) {
         this.locationApi = locationApi;
+        this.isolation = isolation;
+        this.fallbackFactory = fallbackFactory;
+        this.erpCodeBatcher = microBatching
+                ? new MicroBatcher<>("locationsByErpCode", window, maxSize, this::findBatch, executor, meterRegistry)
+                : null;
     }
 
     /**
@@ -47,6 +73,48 @@ class FeignLocationApiAdapter implements SyncLocationApi {
     @Override
     @Measured
     public Optional<LocationVO> findByErpCodeOpt(@NotBlank String erpCode) {
-        return locationApi.findByErpCodeOpt(erpCode);
+        if (erpCodeBatcher != null) {
+            try {
+                return Optional.ofNullable(erpCodeBatcher.submit(erpCode).join()).flatMap(o -> o);
+            } catch (CompletionException ce) {
+                if (ce.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw ce;
+            }
+        }
+        return isolation.call(SpiIsolation.LOCATIONS, () -> locationApi.findByErpCodeOpt(erpCode),
+                cause -> fallbackFactory.create(cause).findByErpCodeOpt(erpCode));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public List<LocationVO> findAll(int page, int size) {
+        return isolation.call(SpiIsolation.LOCATIONS, () -> locationApi.findAll(page, size),
+                cause -> fallbackFactory.create(cause).findAll(page, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public List<LocationVO> findByErpCodes(@NotEmpty Collection<String> erpCodes) {
+        return isolation.call(SpiIsolation.LOCATIONS, () -> locationApi.findByErpCodes(erpCodes),
+                cause -> fallbackFactory.create(cause).findByErpCodes(erpCodes));
+    }
+
+    private Map<String, Optional<LocationVO>> findBatch(Set<String> erpCodes) {
+        var vos = findByErpCodes(erpCodes);
+        if (vos == null) {
+            return null;
+        }
+        var result = new HashMap<String, Optional<LocationVO>>(erpCodes.size());
+        erpCodes.forEach(erpCode -> result.put(erpCode, Optional.empty()));
+        vos.forEach(vo -> result.put(vo.getErpCode(), Optional.of(vo)));
+        return result;
     }
 }
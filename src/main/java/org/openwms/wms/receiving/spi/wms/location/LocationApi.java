@@ -20,6 +20,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,7 +29,7 @@ import java.util.Optional;
  *
  * @author Heiko Scherrer
  */
-@FeignClient(name = "wms-inventory", qualifiers = "wmsLocationApi", dismiss404 = true, fallbackFactory = LocationApiFallbackFactory.class)
+@FeignClient(name = "wms-inventory", qualifiers = "wmsLocationApi", dismiss404 = true)
 interface LocationApi {
 
     /**
@@ -37,8 +39,27 @@ interface LocationApi {
      * @return Never {@literal null}
      */
     @GetMapping(value = "/v1/locations", params = {"erpCode"})
-    @Cacheable("wmsLocations")
+    @Cacheable(cacheNames = "wmsLocations", unless = "#result == null")
     Optional<LocationVO> findByErpCodeOpt(
             @RequestParam("erpCode") String erpCode
     );
+
+    /**
+     * Find and return one page of all existing {@code Location}s.
+     *
+     * @param page The zero based number of the page
+     * @param size The maximum number of Locations per page
+     * @return The Locations of the page
+     */
+    @GetMapping(value = "/v1/locations", params = {"page", "size"})
+    List<LocationVO> findAll(@RequestParam("page") int page, @RequestParam("size") int size);
+
+    /**
+     * Find and return all {@code Location}s identified by the given {@code erpCodes}.
+     *
+     * @param erpCodes The ERP codes
+     * @return The existing Locations
+     */
+    @GetMapping(value = "/v1/locations", params = {"erpCodes"})
+    List<LocationVO> findByErpCodes(@RequestParam("erpCodes") Collection<String> erpCodes);
 }
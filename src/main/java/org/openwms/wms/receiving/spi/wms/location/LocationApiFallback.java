@@ -20,6 +20,8 @@ import org.openwms.wms.receiving.spi.common.location.CommonLocationApi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -47,4 +49,30 @@ class LocationApiFallback implements LocationApi {
         LOGGER.warn("WMS LocationApi not available or took too long, calling the COMMON LocationApi instead");
         return commonLocationApi.findByErpCode(erpCode).map(mapper::convertBetween);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public List<LocationVO> findAll(int page, int size) {
+        LOGGER.error("Loading all Locations not supported, returning null");
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The COMMON LocationApi has no bulk lookup, each Location is resolved on its own.
+     */
+    @Override
+    @Measured
+    public List<LocationVO> findByErpCodes(Collection<String> erpCodes) {
+        LOGGER.warn("WMS LocationApi not available or took too long, calling the COMMON LocationApi for [{}] Locations instead", erpCodes.size());
+        return erpCodes.stream()
+                .map(commonLocationApi::findByErpCode)
+                .flatMap(Optional::stream)
+                .map(mapper::convertBetween)
+                .toList();
+    }
 }
@@ -16,6 +16,7 @@
 package org.openwms.wms.receiving.spi.wms.location;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import org.openwms.core.SpringProfiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,14 +24,18 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
 /**
  * A NoOpSyncLocationApiImpl.
  *
  * @author Heiko Scherrer
  */
-@Profile("!" + SpringProfiles.DISTRIBUTED)
+@Profile("!" + SpringProfiles.DISTRIBUTED + " & !" + SIMULATION_PROFILE)
 @Validated
 @Component
 class NoOpSyncLocationApiImpl implements SyncLocationApi {
@@ -45,4 +50,22 @@ class NoOpSyncLocationApiImpl implements SyncLocationApi {
         LOGGER.error("Not implemented yet");
         return Optional.empty();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<LocationVO> findAll(int page, int size) {
+        LOGGER.error("Not implemented yet");
+        return List.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<LocationVO> findByErpCodes(@NotEmpty Collection<String> erpCodes) {
+        LOGGER.error("Not implemented yet");
+        return List.of();
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi.wms.location;
+
+import jakarta.validation.constraints.NotBlank;
+import org.openwms.wms.receiving.spi.RemoteCallExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A NonBlockingLocationApiImpl delegates to the configured {@link SyncLocationApi} on a virtual thread.
+ *
+ * @author Heiko Scherrer
+ */
+@Validated
+@Component
+class NonBlockingLocationApiImpl implements NonBlockingLocationApi {
+
+    private final SyncLocationApi locationApi;
+    private final RemoteCallExecutor executor;
+
+    NonBlockingLocationApiImpl(SyncLocationApi locationApi, RemoteCallExecutor executor) {
+        this.locationApi = locationApi;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Optional<LocationVO>> findByErpCodeOpt(@NotBlank String erpCode) {
+        return executor.supply(() -> locationApi.findByErpCodeOpt(erpCode));
+    }
+}
@@ -16,7 +16,10 @@
 package org.openwms.wms.receiving.spi.wms.location;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,4 +36,23 @@ public interface SyncLocationApi {
      * @return The instance
      */
     Optional<LocationVO> findByErpCodeOpt(@NotBlank String erpCode);
+
+    /**
+     * Find and return one page of all existing {@code Location}s.
+     *
+     * @param page The zero based number of the page
+     * @param size The maximum number of Locations per page
+     * @return The Locations of the page, an empty list if there are no more Locations or null if the lookup is currently
+     * not possible
+     */
+    List<LocationVO> findAll(int page, int size);
+
+    /**
+     * Find and return all {@code Location}s identified by the given {@code erpCodes} in one call.
+     *
+     * @param erpCodes The ERP codes
+     * @return The existing Locations, ERP codes that do not exist are omitted, or null if the lookup is currently not
+     * possible
+     */
+    List<LocationVO> findByErpCodes(@NotEmpty Collection<String> erpCodes);
 }
@@ -19,7 +19,7 @@ import org.ameba.annotation.Measured;
 import org.openwms.common.transport.api.commands.Command;
 import org.openwms.common.transport.api.commands.TUCommand;
 import org.openwms.core.SpringProfiles;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.openwms.wms.receiving.spi.AmqpCommandPublisher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -36,14 +36,14 @@ import java.util.Objects;
 @Component
 class AsyncTransportUnitApiImpl implements AsyncTransportUnitApi {
 
-    private final AmqpTemplate template;
+    private final AmqpCommandPublisher publisher;
     private final String exchangeName;
 
     AsyncTransportUnitApiImpl(
-            AmqpTemplate template,
+            AmqpCommandPublisher publisher,
             @Value("${owms.commands.common.tu.exchange-name}") String exchangeName
     ) {
-        this.template = template;
+        this.publisher = publisher;
         this.exchangeName = exchangeName;
     }
 
@@ -55,9 +55,9 @@ class AsyncTransportUnitApiImpl implements AsyncTransportUnitApi {
     public void process(Command<?> command) {
         if (command instanceof TUCommand tuCommand) {
             if (Objects.requireNonNull(tuCommand.getType()) == TUCommand.Type.CREATE) {
-                template.convertAndSend(exchangeName, "common.tu.command.in.create", tuCommand);
+                publisher.publish(exchangeName, "common.tu.command.in.create", tuCommand, tuCommand.getTransportUnit().getBarcode());
             } else if (tuCommand.getType() == TUCommand.Type.CHANGE_ACTUAL_LOCATION) {
-                template.convertAndSend(exchangeName, "common.tu.command.in.move", tuCommand);
+                publisher.publish(exchangeName, "common.tu.command.in.move", tuCommand, tuCommand.getTransportUnit().getBarcode());
             }
         }
     }
@@ -19,6 +19,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.ameba.annotation.Measured;
 import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.spi.SpiIsolation;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
@@ -34,9 +35,14 @@ import org.springframework.validation.annotation.Validated;
 class FeignTransportUnitApiAdapter implements SyncTransportUnitApi {
 
     private final TransportUnitApi transportUnitApi;
+    private final SpiIsolation isolation;
+    private final TransportUnitApiFallbackFactory fallbackFactory;
 
-    FeignTransportUnitApiAdapter(TransportUnitApi transportUnitApi) {
+    FeignTransportUnitApiAdapter(TransportUnitApi transportUnitApi, SpiIsolation isolation,
+            TransportUnitApiFallbackFactory fallbackFactory) {
         this.transportUnitApi = transportUnitApi;
+        this.isolation = isolation;
+        this.fallbackFactory = fallbackFactory;
     }
 
     /**
@@ -45,7 +51,8 @@ class FeignTransportUnitApiAdapter implements SyncTransportUnitApi {
     @Override
     @Measured
     public void moveTU(@NotBlank String transportUnitBK, @NotBlank String newLocationErpCode) {
-        transportUnitApi.moveTU(transportUnitBK, newLocationErpCode);
+        isolation.run(SpiIsolation.TRANSPORT_UNITS, () -> transportUnitApi.moveTU(transportUnitBK, newLocationErpCode),
+                cause -> fallbackFactory.create(cause).moveTU(transportUnitBK, newLocationErpCode));
     }
 
     /**
@@ -54,6 +61,7 @@ class FeignTransportUnitApiAdapter implements SyncTransportUnitApi {
     @Override
     @Measured
     public void createTU(@NotNull TransportUnitVO tu) {
-        transportUnitApi.createTU(tu);
+        isolation.run(SpiIsolation.TRANSPORT_UNITS, () -> transportUnitApi.createTU(tu),
+                cause -> fallbackFactory.create(cause).createTU(tu));
     }
 }
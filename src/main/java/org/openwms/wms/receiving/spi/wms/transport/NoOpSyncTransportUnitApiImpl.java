@@ -24,12 +24,14 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
 /**
  * A NoOpSyncTransportUnitApiImpl.
  *
  * @author Heiko Scherrer
  */
-@Profile("!" + SpringProfiles.DISTRIBUTED)
+@Profile("!" + SpringProfiles.DISTRIBUTED + " & !" + SIMULATION_PROFILE)
 @Validated
 @Component
 class NoOpSyncTransportUnitApiImpl implements SyncTransportUnitApi {
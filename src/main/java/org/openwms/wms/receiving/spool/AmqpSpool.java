@@ -0,0 +1,595 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spool;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ameba.annotation.Public;
+import org.ameba.exception.IntegrationLayerException;
+import org.openwms.core.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionBlockedEvent;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionUnblockedEvent;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateConfigurer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A AmqpSpool sends outbound AMQP messages and keeps them in a local, durable spool when the broker is not reachable
+ * or has blocked the connection. Spooled messages are replayed in order by a background drainer once the broker accepts
+ * messages again. Messages sent while older ones are still spooled are spooled too, to keep the order. The spool
+ * consists of append-only segment files that are mapped into memory and written to the storage device according to the
+ * {@link FsyncPolicy}. Messages are sent by a bounded pool of threads. A message the broker does not accept within the
+ * send timeout, because it is slow or the connection cannot be established, is cancelled and spooled as well, and so is
+ * a message that finds the pool saturated. So the caller continues in any case. Delivery is at-least-once, a message
+ * may be sent twice when the service stops while draining or when the broker had already received a cancelled message.
+ * Each message gets a message id that is kept when it is sent again, so that consumers can recognize duplicates.
+ *
+ * @author Heiko Scherrer
+ */
+@Public
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@Component
+public class AmqpSpool implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AmqpSpool.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private static final String SUFFIX = ".seg";
+    private static final byte FORMAT = 1;
+    private final RabbitTemplate amqpTemplate;
+    private final RabbitTemplate spoolTemplate;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration sendTimeout;
+    /** Guards the segments, a lock instead of a monitor to not pin virtual threads while writing to the file system. */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<SpoolSegment> segments = new ArrayDeque<>();
+    private final Counter spooled;
+    private final Counter drained;
+    private final ScheduledExecutorService drainer;
+    private final ThreadPoolExecutor sender;
+    private volatile boolean blocked;
+
+    /**
+     * When the mapped segment files are written to the storage device.
+     */
+    public enum FsyncPolicy {
+        /** After each spooled message, slowest but no message is lost when the host crashes. */
+        ALWAYS,
+        /** Periodically with each run of the drainer. */
+        INTERVAL,
+        /** Left to the operating system. */
+        NEVER
+    }
+
+    record SpooledMessage(String exchange, String routingKey, Message message) {
+    }
+
+    public AmqpSpool(RabbitTemplate amqpTemplate, ConnectionFactory connectionFactory, MeterRegistry meterRegistry,
+            @Autowired(required = false) RabbitTemplateConfigurer rabbitTemplateConfigurer,
+            @Value("${owms.receiving.amqp.spool.enabled:false}") boolean enabled,
+            @Value("${owms.receiving.amqp.spool.directory:${java.io.tmpdir}/owms-receiving-spool}") Path directory,
+            @Value("${owms.receiving.amqp.spool.segment-size:16MB}") DataSize segmentSize,
+            @Value("${owms.receiving.amqp.spool.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+            @Value("${owms.receiving.amqp.spool.drain-interval:1s}") Duration drainInterval,
+            @Value("${owms.receiving.amqp.spool.send-timeout:500ms}") Duration sendTimeout,
+            @Value("${owms.receiving.amqp.spool.send-threads:8}") int sendThreads,
+            @Value("${owms.receiving.amqp.spool.send-queue-capacity:100}") int sendQueueCapacity) {
+        this.amqpTemplate = amqpTemplate;
+        this.spoolTemplate = new RabbitTemplate();
+        if (rabbitTemplateConfigurer != null) {
+            rabbitTemplateConfigurer.configure(spoolTemplate, connectionFactory);
+        } else {
+            spoolTemplate.setConnectionFactory(connectionFactory);
+        }
+        spoolTemplate.setMessageConverter(amqpTemplate.getMessageConverter());
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.fsyncPolicy = fsyncPolicy;
+        this.sendTimeout = sendTimeout;
+        this.spooled = meterRegistry.counter("owms.receiving.amqp.spool.spooled");
+        this.drained = meterRegistry.counter("owms.receiving.amqp.spool.drained");
+        Gauge.builder("owms.receiving.amqp.spool.depth", this, AmqpSpool::depth).register(meterRegistry);
+        Gauge.builder("owms.receiving.amqp.spool.bytes", this, AmqpSpool::bytes).baseUnit("bytes").register(meterRegistry);
+        if (!enabled) {
+            this.drainer = null;
+            this.sender = null;
+            return;
+        }
+        recover();
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(sendQueueCapacity),
+                Thread.ofPlatform().name("amqp-spool-sender-", 0).daemon().factory(), new ThreadPoolExecutor.AbortPolicy());
+        this.sender.allowCoreThreadTimeOut(true);
+        this.drainer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("amqp-spool-drainer").daemon().factory());
+        this.drainer.scheduleWithFixedDelay(this::drain, drainInterval.toMillis(), drainInterval.toMillis(), TimeUnit.MILLISECONDS);
+        BOOT_LOGGER.info("Spooling outbound AMQP messages to [{}] with fsync policy [{}] and a send timeout of [{}], [{}] messages still spooled",
+                directory, fsyncPolicy, sendTimeout, (long) depth());
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            try (var files = Files.list(directory)) {
+                for (var file : files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).sorted().toList()) {
+                    var name = file.getFileName().toString();
+                    segments.addLast(SpoolSegment.open(file, Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), segmentSize));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Spool directory [%s] cannot be read".formatted(directory), e);
+        }
+    }
+
+    /**
+     * Send a message to the broker or spool it if the broker does not accept it within the send timeout.
+     *
+     * @param exchange The name of the exchange to send to
+     * @param routingKey The routing key
+     * @param payload The payload, converted with the configured message converter
+     */
+    public void send(String exchange, String routingKey, Object payload) {
+        if (!enabled) {
+            amqpTemplate.convertAndSend(exchange, routingKey, payload);
+            return;
+        }
+        var message = toMessage(payload);
+        if (!blocked && depth() == 0 && trySend(exchange, routingKey, message)) {
+            return;
+        }
+        append(new SpooledMessage(exchange, routingKey, message));
+    }
+
+    private boolean trySend(String exchange, String routingKey, Message message) {
+        Future<?> sending;
+        try {
+            sending = sender.submit(() -> spoolTemplate.send(exchange, routingKey, message));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Too many messages are being sent, spooling message to [{}] with routing key [{}]", exchange, routingKey);
+            return false;
+        }
+        try {
+            sending.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof AmqpException)) {
+                throw new IntegrationLayerException("Message to [%s] cannot be sent: %s".formatted(exchange, e.getCause().getMessage()));
+            }
+            LOGGER.warn("Broker not available, spooling message to [{}] with routing key [{}]: [{}]", exchange, routingKey, e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            sending.cancel(true);
+            LOGGER.warn("Broker did not accept the message to [{}] with routing key [{}] within [{}], spooling it", exchange, routingKey, sendTimeout);
+        } catch (InterruptedException e) {
+            sending.cancel(true);
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while sending, spooling message to [{}] with routing key [{}]", exchange, routingKey);
+        }
+        return false;
+    }
+
+    /**
+     * Spool a message without trying to send it first.
+     *
+     * @param exchange The name of the exchange to send to
+     * @param routingKey The routing key
+     * @param payload The payload, converted with the configured message converter
+     * @throws IllegalStateException if spooling is not enabled
+     */
+    public void spool(String exchange, String routingKey, Object payload) {
+        if (!enabled) {
+            throw new IllegalStateException("Spooling of AMQP messages is not enabled");
+        }
+        append(new SpooledMessage(exchange, routingKey, toMessage(payload)));
+    }
+
+    private Message toMessage(Object payload) {
+        var properties = new MessageProperties();
+        properties.setMessageId(UUID.randomUUID().toString());
+        return amqpTemplate.getMessageConverter().toMessage(payload, properties);
+    }
+
+    /**
+     * Whether messages can be spooled.
+     *
+     * @return {@literal true} if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener
+    public void onBlocked(ConnectionBlockedEvent event) {
+        LOGGER.warn("Broker blocked the connection, spooling all messages: [{}]", event.getReason());
+        blocked = true;
+    }
+
+    @EventListener
+    public void onUnblocked(ConnectionUnblockedEvent event) {
+        LOGGER.info("Broker unblocked the connection");
+        blocked = false;
+    }
+
+    private void append(SpooledMessage message) {
+        var record = encode(message);
+        lock.lock();
+        try {
+            var last = segments.peekLast();
+            if (last == null || !last.append(record)) {
+                var sequence = last == null ? 0 : last.getSequence() + 1;
+                last = SpoolSegment.open(directory.resolve("%020d%s".formatted(sequence, SUFFIX)), sequence,
+                        Math.max(segmentSize, SpoolSegment.sizeOf(record)));
+                segments.addLast(last);
+                last.append(record);
+            }
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                last.force();
+            }
+        } catch (IOException e) {
+            throw new IntegrationLayerException("Message to [%s] cannot be spooled: %s".formatted(message.exchange(), e.getMessage()));
+        } finally {
+            lock.unlock();
+        }
+        spooled.increment();
+    }
+
+    /**
+     * Replay all spooled messages in order, until the spool is empty or the broker does not accept a message.
+     */
+    void drain() {
+        try {
+            while (!blocked) {
+                byte[] record;
+                lock.lock();
+                try {
+                    record = head();
+                } finally {
+                    lock.unlock();
+                }
+                if (record == null) {
+                    break;
+                }
+                var message = decode(record);
+                try {
+                    spoolTemplate.send(message.exchange(), message.routingKey(), message.message());
+                } catch (AmqpException e) {
+                    LOGGER.debug("Broker still not available, [{}] messages spooled: [{}]", (long) depth(), e.getMessage());
+                    break;
+                }
+                lock.lock();
+                try {
+                    segments.getFirst().markDelivered();
+                } finally {
+                    lock.unlock();
+                }
+                drained.increment();
+            }
+            if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+                force();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Draining the spool failed: [{}]", e.getMessage(), e);
+        }
+    }
+
+    private byte[] head() {
+        while (!segments.isEmpty()) {
+            var first = segments.getFirst();
+            var record = first.peek();
+            if (record != null) {
+                return record;
+            }
+            if (segments.size() == 1) {
+                // Keep the segment that is written to
+                return null;
+            }
+            segments.removeFirst();
+            try {
+                first.delete();
+            } catch (IOException e) {
+                LOGGER.error("Drained segment cannot be deleted: [{}]", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void force() {
+        lock.lock();
+        try {
+            segments.forEach(SpoolSegment::force);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double depth() {
+        lock.lock();
+        try {
+            return segments.stream().mapToInt(SpoolSegment::getPendingRecords).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double bytes() {
+        lock.lock();
+        try {
+            return segments.stream().mapToLong(SpoolSegment::getPendingBytes).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static byte[] encode(SpooledMessage spooled) {
+        var bos = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bos)) {
+            var properties = spooled.message().getMessageProperties();
+            out.writeByte(FORMAT);
+            writeString(out, spooled.exchange());
+            writeString(out, spooled.routingKey());
+            writeString(out, properties.getContentType());
+            writeString(out, properties.getContentEncoding());
+            out.writeLong(properties.getContentLength());
+            writeString(out, properties.getDeliveryMode() == null ? null : properties.getDeliveryMode().name());
+            writeValue(out, properties.getPriority());
+            writeString(out, properties.getCorrelationId());
+            writeString(out, properties.getReplyTo());
+            writeString(out, properties.getExpiration());
+            writeString(out, properties.getMessageId());
+            writeValue(out, properties.getTimestamp());
+            writeString(out, properties.getType());
+            writeString(out, properties.getUserId());
+            writeString(out, properties.getAppId());
+            writeString(out, properties.getClusterId());
+            writeValue(out, properties.getHeaders());
+            out.writeInt(spooled.message().getBody().length);
+            out.write(spooled.message().getBody());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    static SpooledMessage decode(byte[] record) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(record))) {
+            var format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalStateException("Spooled message has the unknown format [%d]".formatted(format));
+            }
+            var exchange = readString(in);
+            var routingKey = readString(in);
+            var properties = new MessageProperties();
+            properties.setContentType(readString(in));
+            properties.setContentEncoding(readString(in));
+            properties.setContentLength(in.readLong());
+            var deliveryMode = readString(in);
+            properties.setDeliveryMode(deliveryMode == null ? null : MessageDeliveryMode.valueOf(deliveryMode));
+            properties.setPriority((Integer) readValue(in));
+            properties.setCorrelationId(readString(in));
+            properties.setReplyTo(readString(in));
+            properties.setExpiration(readString(in));
+            properties.setMessageId(readString(in));
+            properties.setTimestamp((Date) readValue(in));
+            properties.setType(readString(in));
+            properties.setUserId(readString(in));
+            properties.setAppId(readString(in));
+            properties.setClusterId(readString(in));
+            @SuppressWarnings("unchecked")
+            var headers = (Map<String, Object>) readValue(in);
+            headers.forEach(properties::setHeader);
+            var body = new byte[in.readInt()];
+            in.readFully(body);
+            return new SpooledMessage(exchange, routingKey, new Message(body, properties));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        var length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write a header value with its type, the types are the ones of an AMQP field table. Values of other types are
+     * written as strings, like the broker would receive them.
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte('V');
+            case String s -> {
+                out.writeByte('S');
+                writeString(out, s);
+            }
+            case Integer i -> {
+                out.writeByte('I');
+                out.writeInt(i);
+            }
+            case Long l -> {
+                out.writeByte('l');
+                out.writeLong(l);
+            }
+            case Short sh -> {
+                out.writeByte('s');
+                out.writeShort(sh);
+            }
+            case Byte b -> {
+                out.writeByte('b');
+                out.writeByte(b);
+            }
+            case Boolean b -> {
+                out.writeByte('t');
+                out.writeBoolean(b);
+            }
+            case Double d -> {
+                out.writeByte('d');
+                out.writeDouble(d);
+            }
+            case Float f -> {
+                out.writeByte('f');
+                out.writeFloat(f);
+            }
+            case BigDecimal bd -> {
+                out.writeByte('D');
+                writeString(out, bd.toString());
+            }
+            case Date date -> {
+                out.writeByte('T');
+                out.writeLong(date.getTime());
+            }
+            case byte[] bytes -> {
+                out.writeByte('x');
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            case List<?> list -> {
+                out.writeByte('A');
+                out.writeInt(list.size());
+                for (var element : list) {
+                    writeValue(out, element);
+                }
+            }
+            case Map<?, ?> map -> {
+                out.writeByte('F');
+                out.writeInt(map.size());
+                for (var entry : map.entrySet()) {
+                    writeString(out, entry.getKey().toString());
+                    writeValue(out, entry.getValue());
+                }
+            }
+            default -> {
+                out.writeByte('S');
+                writeString(out, value.toString());
+            }
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        var type = (char) in.readByte();
+        return switch (type) {
+            case 'V' -> null;
+            case 'S' -> readString(in);
+            case 'I' -> in.readInt();
+            case 'l' -> in.readLong();
+            case 's' -> in.readShort();
+            case 'b' -> in.readByte();
+            case 't' -> in.readBoolean();
+            case 'd' -> in.readDouble();
+            case 'f' -> in.readFloat();
+            case 'D' -> new BigDecimal(readString(in));
+            case 'T' -> new Date(in.readLong());
+            case 'x' -> {
+                var bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield bytes;
+            }
+            case 'A' -> {
+                var size = in.readInt();
+                var list = new ArrayList<>(size);
+                for (var i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case 'F' -> {
+                var size = in.readInt();
+                var map = new LinkedHashMap<String, Object>(size);
+                for (var i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in));
+                }
+                yield map;
+            }
+            default -> throw new IllegalStateException("Spooled header value has the unknown type [%s]".formatted(type));
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Write the spool to the storage device.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (drainer == null) {
+            return;
+        }
+        sender.shutdown();
+        drainer.shutdown();
+        drainer.awaitTermination(10, TimeUnit.SECONDS);
+        force();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spool;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A SpoolSegment is one append-only file of the {@link AmqpSpool}, mapped into memory. Each record is stored as
+ * {@code [length:int][state:byte][payload]}. The length is written last, so a record with length zero has never been
+ * written completely. A record that has been delivered is marked by its state byte and skipped when the segment is
+ * opened again.
+ *
+ * @author Heiko Scherrer
+ */
+class SpoolSegment {
+
+    private static final int HEADER = Integer.BYTES + 1;
+    private static final byte PENDING = 0;
+    private static final byte DELIVERED = 1;
+    private final Path path;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+    private int readPosition;
+    private int pendingRecords;
+    private long pendingBytes;
+
+    private SpoolSegment(Path path, long sequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        recover();
+    }
+
+    /**
+     * Open an existing or create a new segment.
+     *
+     * @param path The file of the segment
+     * @param sequence The position of the segment in the spool
+     * @param size The size of the file if it is created
+     * @return The segment
+     * @throws IOException if the file cannot be mapped
+     */
+    static SpoolSegment open(Path path, long sequence, int size) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var length = Math.max(channel.size(), size);
+            return new SpoolSegment(path, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, length));
+        }
+    }
+
+    static int sizeOf(byte[] payload) {
+        return HEADER + payload.length;
+    }
+
+    private void recover() {
+        var position = 0;
+        var firstPending = -1;
+        while (position + HEADER <= buffer.capacity()) {
+            var length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER + length > buffer.capacity()) {
+                break;
+            }
+            if (buffer.get(position + Integer.BYTES) == PENDING) {
+                if (firstPending < 0) {
+                    firstPending = position;
+                }
+                pendingRecords++;
+                pendingBytes += length;
+            }
+            position += HEADER + length;
+        }
+        writePosition = position;
+        readPosition = firstPending < 0 ? position : firstPending;
+    }
+
+    /**
+     * Append a record.
+     *
+     * @param payload The record
+     * @return {@literal false} if the segment has not enough space left
+     */
+    boolean append(byte[] payload) {
+        if (writePosition + sizeOf(payload) > buffer.capacity()) {
+            return false;
+        }
+        buffer.put(writePosition + HEADER, payload);
+        buffer.put(writePosition + Integer.BYTES, PENDING);
+        buffer.putInt(writePosition, payload.length);
+        writePosition += sizeOf(payload);
+        pendingRecords++;
+        pendingBytes += payload.length;
+        return true;
+    }
+
+    /**
+     * Return the oldest record that has not been delivered yet.
+     *
+     * @return The record or {@literal null} if all records are delivered
+     */
+    byte[] peek() {
+        while (readPosition < writePosition && buffer.get(readPosition + Integer.BYTES) == DELIVERED) {
+            readPosition += HEADER + buffer.getInt(readPosition);
+        }
+        if (readPosition >= writePosition) {
+            return null;
+        }
+        var payload = new byte[buffer.getInt(readPosition)];
+        buffer.get(readPosition + HEADER, payload);
+        return payload;
+    }
+
+    /**
+     * Mark the record returned by {@link #peek()} as delivered.
+     */
+    void markDelivered() {
+        var length = buffer.getInt(readPosition);
+        buffer.put(readPosition + Integer.BYTES, DELIVERED);
+        readPosition += HEADER + length;
+        pendingRecords--;
+        pendingBytes -= length;
+    }
+
+    /**
+     * Write all changes of the mapped file to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    boolean isDrained() {
+        return pendingRecords == 0;
+    }
+
+    int getPendingRecords() {
+        return pendingRecords;
+    }
+
+    long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+}
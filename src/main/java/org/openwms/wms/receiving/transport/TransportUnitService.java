@@ -15,8 +15,11 @@
  */
 package org.openwms.wms.receiving.transport;
 
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Collection;
+
 /**
  * A TransportUnitService.
  *
@@ -31,4 +34,20 @@ public interface TransportUnitService {
      * @return Saved instance
      */
     TransportUnit upsert(@NotNull TransportUnit transportUnit);
+
+    /**
+     * Create or update a bunch of {@link TransportUnit}s in one go. Only the actual location of existing ones is updated.
+     *
+     * @param transportUnits Instances to save, each barcode must occur only once
+     * @return The number of rows that have been inserted or updated
+     */
+    int upsertAll(@NotNull Collection<TransportUnit> transportUnits);
+
+    /**
+     * Check whether a {@link TransportUnit} with the given barcode is known in the local replica.
+     *
+     * @param barcode The barcode of the TransportUnit
+     * @return {@literal true} if it exists locally
+     */
+    boolean exists(@NotBlank String barcode);
 }
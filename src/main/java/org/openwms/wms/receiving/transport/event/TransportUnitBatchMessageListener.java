@@ -0,0 +1,137 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.transport.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.ameba.annotation.Measured;
+import org.openwms.common.transport.api.ValidationGroups;
+import org.openwms.common.transport.api.messages.TransportUnitMO;
+import org.openwms.core.SpringProfiles;
+import org.openwms.wms.receiving.transport.TransportUnitMapper;
+import org.openwms.wms.receiving.transport.TransportUnitService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.ameba.system.ValidationUtil.validate;
+import static org.openwms.wms.ReceivingConstants.POISON_MESSAGE;
+
+/**
+ * A TransportUnitBatchMessageListener is a Spring managed RabbitMQ event listener that is interested in changes on
+ * TransportUnits and consumes them in batches. Within a batch only the last event of each barcode is applied, so a burst
+ * of moves of the same TransportUnit results in one write with the latest location. Invalid messages are sent to the
+ * dead letter exchange one by one, the valid messages of the same batch are still applied. A batch that can't be
+ * converted or violates a database constraint is rejected as a whole, any other failure, like a lost database
+ * connection, is left to the retry of the listener container.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@ConditionalOnProperty(name = "owms.events.common.tu.batch.enabled", havingValue = "true")
+@Component
+class TransportUnitBatchMessageListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportUnitBatchMessageListener.class);
+    private final TransportUnitService service;
+    private final TransportUnitMapper mapper;
+    private final Validator validator;
+    private final AmqpTemplate amqpTemplate;
+    private final String deadLetterExchange;
+    private final Counter received;
+    private final Counter conflated;
+    private final Counter rejected;
+
+    TransportUnitBatchMessageListener(TransportUnitService service, TransportUnitMapper mapper, Validator validator,
+            AmqpTemplate amqpTemplate, @Value("${owms.dead-letter.exchange-name}") String deadLetterExchange,
+            MeterRegistry meterRegistry) {
+        this.service = service;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.amqpTemplate = amqpTemplate;
+        this.deadLetterExchange = deadLetterExchange;
+        this.received = meterRegistry.counter("owms.receiving.tu.events.received");
+        this.conflated = meterRegistry.counter("owms.receiving.tu.events.conflated");
+        this.rejected = meterRegistry.counter("owms.receiving.tu.events.rejected");
+    }
+
+    @Measured
+    @RabbitListener(id = "transport-units", queues = "${owms.events.common.tu.queue-name}", containerFactory = "tuBatchContainerFactory")
+    public void handle(List<Message<TransportUnitMO>> messages) {
+        try {
+            received.increment(messages.size());
+            var latest = new LinkedHashMap<String, TransportUnitMO>(messages.size());
+            var invalid = new ArrayList<Message<TransportUnitMO>>(0);
+            for (var message : messages) {
+                var mo = message.getPayload();
+                var routingKey = message.getHeaders().get(AmqpHeaders.RECEIVED_ROUTING_KEY, String.class);
+                if (routingKey == null || (!"tu.event.created".equals(routingKey) && !routingKey.startsWith("tu.event.moved"))) {
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Event of type [{}] is currently not handled", routingKey);
+                    }
+                    continue;
+                }
+                try {
+                    if ("tu.event.created".equals(routingKey)) {
+                        validate(validator, mo, ValidationGroups.TransportUnit.Create.class);
+                    } else {
+                        validate(validator, mo);
+                    }
+                } catch (ConstraintViolationException cve) {
+                    LOGGER.error("Invalid TransportUnit event [{}] of type [{}] is sent to the dead letter exchange: [{}]",
+                            mo, routingKey, cve.getMessage());
+                    invalid.add(message);
+                    continue;
+                }
+                if (latest.put(mo.getBarcode(), mo) != null) {
+                    conflated.increment();
+                }
+            }
+            var written = service.upsertAll(latest.values().stream().map(mapper::convertFromMO).toList());
+            invalid.forEach(this::deadLetter);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Received [{}] TransportUnit events, written [{}] rows, rejected [{}]", messages.size(), written, invalid.size());
+            }
+        } catch (MessageConversionException | ConstraintViolationException | DataIntegrityViolationException e) {
+            throw new AmqpRejectAndDontRequeueException(e.getMessage(), e);
+        }
+    }
+
+    private void deadLetter(Message<TransportUnitMO> message) {
+        var routingKey = message.getHeaders().get(AmqpHeaders.RECEIVED_ROUTING_KEY, String.class);
+        amqpTemplate.convertAndSend(deadLetterExchange, POISON_MESSAGE, message.getPayload(), m -> {
+            m.getMessageProperties().setHeader("x-original-routing-key", routingKey);
+            return m;
+        });
+        rejected.increment();
+    }
+}
@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -40,6 +41,7 @@ import static org.ameba.system.ValidationUtil.validate;
  * @author Heiko Scherrer
  */
 @Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@ConditionalOnProperty(name = "owms.events.common.tu.batch.enabled", havingValue = "false", matchIfMissing = true)
 @Component
 class TransportUnitMessageListener {
 
@@ -55,7 +57,7 @@ class TransportUnitMessageListener {
     }
 
     @Measured
-    @RabbitListener(queues = "${owms.events.common.tu.queue-name}")
+    @RabbitListener(id = "transport-units", queues = "${owms.events.common.tu.queue-name}", containerFactory = "tuContainerFactory")
     public void handle(@Payload TransportUnitMO mo, @Header("amqp_receivedRoutingKey") String routingKey) {
         try {
             if ("tu.event.created".equals(routingKey)) {
@@ -18,6 +18,8 @@ package org.openwms.wms.receiving.transport.impl;
 import org.openwms.wms.receiving.transport.TransportUnit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +30,8 @@ import java.util.Optional;
 interface TransportUnitRepository extends JpaRepository<TransportUnit, Long> {
 
     Optional<TransportUnit> findByBarcode(String barcode);
+
+    boolean existsByBarcode(String barcode);
+
+    List<TransportUnit> findByBarcodeIn(Collection<String> barcodes);
 }
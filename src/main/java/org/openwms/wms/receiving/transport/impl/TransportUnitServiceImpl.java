@@ -15,14 +15,24 @@
  */
 package org.openwms.wms.receiving.transport.impl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
+import org.hibernate.Session;
 import org.openwms.wms.receiving.transport.TransportUnit;
 import org.openwms.wms.receiving.transport.TransportUnitService;
 import org.springframework.util.Assert;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * A TransportUnitServiceImpl.
  *
@@ -33,9 +43,15 @@ import org.springframework.validation.annotation.Validated;
 class TransportUnitServiceImpl implements TransportUnitService {
 
     private final TransportUnitRepository repository;
+    private final EntityManager em;
+    private final Counter inserts;
+    private final Counter updates;
 
-    TransportUnitServiceImpl(TransportUnitRepository repository) {
+    TransportUnitServiceImpl(TransportUnitRepository repository, EntityManager em, MeterRegistry meterRegistry) {
         this.repository = repository;
+        this.em = em;
+        this.inserts = meterRegistry.counter("owms.receiving.tu.rows.written", "operation", "insert");
+        this.updates = meterRegistry.counter("owms.receiving.tu.rows.written", "operation", "update");
     }
 
     /**
@@ -50,4 +66,47 @@ class TransportUnitServiceImpl implements TransportUnitService {
         merged.setActualLocation(transportUnit.getActualLocation());
         return repository.save(merged);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Existing TransportUnits are loaded with one query, all inserts and updates are flushed in one JDBC batch and
+     * TransportUnits that are already on the given location are not written at all.
+     */
+    @Measured
+    @Override
+    public int upsertAll(@NotNull Collection<TransportUnit> transportUnits) {
+        if (transportUnits.isEmpty()) {
+            return 0;
+        }
+        var existing = repository.findByBarcodeIn(transportUnits.stream().map(TransportUnit::getBarcode).toList()).stream()
+                .collect(Collectors.toMap(TransportUnit::getBarcode, Function.identity()));
+        var session = em.unwrap(Session.class);
+        session.setJdbcBatchSize(transportUnits.size());
+        var written = 0;
+        for (var transportUnit : transportUnits) {
+            Assert.hasText(transportUnit.getBarcode(), "barcode of TransportUnit must be set before saving");
+            var local = existing.get(transportUnit.getBarcode());
+            if (local == null) {
+                em.persist(transportUnit);
+                inserts.increment();
+                written++;
+            } else if (!Objects.equals(local.getActualLocation(), transportUnit.getActualLocation())) {
+                local.setActualLocation(transportUnit.getActualLocation());
+                updates.increment();
+                written++;
+            }
+        }
+        session.flush();
+        return written;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Measured
+    @Override
+    public boolean exists(@NotBlank String barcode) {
+        return repository.existsByBarcode(barcode);
+    }
 }
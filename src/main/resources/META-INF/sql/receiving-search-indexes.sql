@@ -0,0 +1,16 @@
+-- Secondary indexes to support the ReceivingOrder search (GET /v1/receiving-orders/search).
+-- New schemas get these indexes from the JPA mapping already, this script is meant to be applied to existing
+-- databases that have been created with an earlier version. The statements are idempotent and run on PostgreSQL
+-- and H2.
+
+-- Order state with the expected receipt window and the expected receipt window alone
+create index if not exists IDX_REC_ORDER_STATE_EXP on WMS_REC_ORDER (C_ORDER_STATE, C_EXPECTED_RECEIPT);
+create index if not exists IDX_REC_ORDER_EXP on WMS_REC_ORDER (C_EXPECTED_RECEIPT);
+
+-- Product positions by SKU and by expected warehouse, both narrowed by the position state
+create index if not exists IDX_REC_POS_PRODUCT_SKU on WMS_REC_ORDER_POS_PRODUCT (C_SKU, C_STATE);
+create index if not exists IDX_REC_POS_PRODUCT_WH on WMS_REC_ORDER_POS_PRODUCT (C_EXPECTED_RECEIPT_AT, C_STATE);
+
+-- TransportUnit positions by TransportUnit business key and by expected warehouse, both narrowed by the position state
+create index if not exists IDX_REC_POS_TU_BK on WMS_REC_ORDER_POS_TU (C_TRANSPORT_UNIT_BK, C_STATE);
+create index if not exists IDX_REC_POS_TU_WH on WMS_REC_ORDER_POS_TU (C_EXPECTED_RECEIPT_AT, C_STATE);
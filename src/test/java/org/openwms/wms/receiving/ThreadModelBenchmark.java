@@ -0,0 +1,151 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openwms.core.units.api.Piece;
+import org.openwms.wms.receiving.api.CaptureRequestVO;
+import org.openwms.wms.receiving.api.LocationVO;
+import org.openwms.wms.receiving.api.ProductVO;
+import org.openwms.wms.receiving.api.QuantityCaptureOnLocationRequestVO;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
+/**
+ * A ThreadModelBenchmark is a load test of the REST layer that compares platform threads with virtual threads
+ * ({@code spring.threads.virtual.enabled}). The service is started with the {@code SIMULATION} profile, so remote
+ * services answer after a log-normal latency (20ms median, 100ms p99) and the embedded database is used. Each request
+ * captures a blind receipt on a Location that is not replicated yet, which costs one remote lookup and a couple of
+ * database writes. Tomcat is limited to 50 threads in platform mode, and the priority lanes are disabled to not limit the
+ * load. Compare the throughput and the p99 of the sampled response times of both modes, requests that have not succeeded
+ * are counted as {@code failed}. Run the {@code main} method from
+ * the IDE or with the test classpath.
+ *
+ * @author Heiko Scherrer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(200)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    private static final int LOCATIONS = 200_000;
+    private static final String LOCATION_PLACEHOLDER = "LOCATION";
+    @Param({"platform", "virtual"})
+    public String threads;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI captureUri;
+    private String bodyTemplate;
+
+    /**
+     * Counts the requests of one benchmark thread that have not been answered with 204.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ReceivingRunner.class)
+                .profiles(SIMULATION_PROFILE)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=50",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "spring.main.banner-mode=off",
+                        "eureka.client.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.properties.hibernate.hbm2ddl.import_files=import-TEST.sql",
+                        "logging.level.root=WARN",
+                        "owms.receiving.lanes.enabled=false",
+                        "owms.receiving.capturing.verify-location=true",
+                        "owms.receiving.simulation.generated.locations=" + LOCATIONS,
+                        "owms.receiving.simulation.default.latency.distribution=LOG_NORMAL",
+                        "owms.receiving.simulation.default.latency.median=20ms",
+                        "owms.receiving.simulation.default.latency.p99=100ms"
+                )
+                .run();
+        var request = new QuantityCaptureOnLocationRequestVO();
+        request.setActualLocation(new LocationVO(LOCATION_PLACEHOLDER));
+        request.setQuantityReceived(Piece.of(1));
+        request.setProduct(new ProductVO("C1"));
+        try {
+            bodyTemplate = context.getBean(ObjectMapper.class).writeValueAsString(new CaptureRequestVO[]{request});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        captureUri = URI.create("http://localhost:%s/v1/capture".formatted(context.getEnvironment().getProperty("local.server.port")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int captureBlindReceipt(Failures failures) throws IOException, InterruptedException {
+        var location = "SIM%05d".formatted(ThreadLocalRandom.current().nextInt(1, LOCATIONS + 1));
+        var body = bodyTemplate.replace(LOCATION_PLACEHOLDER, location);
+        var response = client.send(HttpRequest.newBuilder(captureUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 204) {
+            failures.failed++;
+        }
+        return response.statusCode();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ThreadModelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
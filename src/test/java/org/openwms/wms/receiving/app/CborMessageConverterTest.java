@@ -0,0 +1,68 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.wms.receiving.api.messages.ReceivingOrderMO;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.wms.receiving.app.ReceivingOrderMessages.receivingOrder;
+
+/**
+ * A CborMessageConverterTest.
+ *
+ * @author Heiko Scherrer
+ */
+class CborMessageConverterTest {
+
+    @Test void shall_encode_smaller_than_json() {
+        var mo = receivingOrder(5);
+        var cbor = new CborMessageConverter(0).toMessage(mo, new MessageProperties());
+        var json = new Jackson2JsonMessageConverter().toMessage(mo, new MessageProperties());
+
+        assertThat(cbor.getMessageProperties().getContentType()).isEqualTo("application/cbor");
+        assertThat(cbor.getMessageProperties().getContentEncoding()).isNull();
+        assertThat(cbor.getBody()).hasSizeLessThan(json.getBody().length);
+    }
+
+    @Test void shall_roundtrip() {
+        var testee = new CborMessageConverter(0);
+        var mo = receivingOrder(5);
+
+        var result = (ReceivingOrderMO) testee.fromMessage(testee.toMessage(mo, new MessageProperties()));
+
+        assertThat(result).usingRecursiveComparison().isEqualTo(mo);
+    }
+
+    @Test void shall_compress_above_threshold() {
+        var testee = new CborMessageConverter(1024);
+        var small = testee.toMessage(receivingOrder(1), new MessageProperties());
+        var large = testee.toMessage(receivingOrder(500), new MessageProperties());
+
+        assertThat(small.getMessageProperties().getContentEncoding()).isNull();
+        assertThat(large.getMessageProperties().getContentEncoding()).isEqualTo("gzip");
+        assertThat(((ReceivingOrderMO) testee.fromMessage(large)).getPositions()).hasSize(500);
+    }
+
+    @Test void shall_read_json_messages() {
+        var mo = receivingOrder(2);
+        var json = new Jackson2JsonMessageConverter().toMessage(mo, new MessageProperties());
+
+        assertThat(new CborMessageConverter(0).fromMessage(json)).usingRecursiveComparison().isEqualTo(mo);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.aop.Advice;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A ListenerContainerTuningTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ListenerContainerTuningTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ListenerContainerTuning testee = new ListenerContainerTuning(new MockEnvironment()
+            .withProperty("owms.receiving.listeners.default.prefetch", "50")
+            .withProperty("owms.receiving.listeners.default.max-concurrent-consumers", "2")
+            .withProperty("owms.receiving.listeners.transport-units.concurrent-consumers", "4")
+            .withProperty("owms.receiving.listeners.transport-units.max-concurrent-consumers", "8")
+            .withProperty("owms.receiving.listeners.transport-units.virtual-threads", "true"), meterRegistry,
+            new QueueLagMonitor(mock(AmqpAdmin.class), meterRegistry), LoadGovernorTest.governor(mock(RabbitListenerEndpointRegistry.class), meterRegistry, false));
+
+    private SimpleMessageListenerContainer container(String listener, Advice... bootAdvices) {
+        var factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(mock(ConnectionFactory.class));
+        if (bootAdvices.length > 0) {
+            factory.setAdviceChain(bootAdvices);
+        }
+        testee.configure(factory, listener);
+        var endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(listener);
+        endpoint.setQueueNames("queue");
+        endpoint.setMessageListener(message -> {});
+        return factory.createListenerContainer(endpoint);
+    }
+
+    @Test void shall_configure_each_listener() {
+        var tu = container(ListenerContainerTuning.TRANSPORT_UNITS);
+        assertThat(ReflectionTestUtils.getField(tu, "concurrentConsumers")).isEqualTo(4);
+        assertThat(ReflectionTestUtils.getField(tu, "maxConcurrentConsumers")).isEqualTo(8);
+        assertThat(ReflectionTestUtils.getField(tu, "prefetchCount")).isEqualTo(50);
+        assertThat(ReflectionTestUtils.getField(tu, "taskExecutor")).isInstanceOfSatisfying(SimpleAsyncTaskExecutor.class,
+                e -> assertThat(e.getThreadNamePrefix()).isEqualTo("transport-units-listener-"));
+
+        var products = container(ListenerContainerTuning.PRODUCTS);
+        assertThat(ReflectionTestUtils.getField(products, "maxConcurrentConsumers")).isEqualTo(2);
+        assertThat(ReflectionTestUtils.getField(products, "taskExecutor")).isInstanceOfSatisfying(SimpleAsyncTaskExecutor.class,
+                e -> assertThat(e.getThreadNamePrefix()).isNotEqualTo("products-listener-"));
+    }
+
+    @Test void shall_publish_metrics() {
+        var container = container(ListenerContainerTuning.LOCATIONS);
+        assertThat((Advice[]) ReflectionTestUtils.getField(container, "adviceChain")).hasSize(1);
+        assertThat(meterRegistry.get("owms.receiving.listener.utilization").tag("listener", "locations").gauge().value()).isZero();
+        assertThat(meterRegistry.get("owms.receiving.listener.consumers").tag("listener", "locations").gauge().value()).isZero();
+        assertThat(meterRegistry.get("owms.receiving.listener.processing").tag("listener", "locations").timers()).hasSize(2);
+        assertThat(meterRegistry.get("owms.receiving.listener.queue.depth").tag("queue", "queue").gauge().value()).isEqualTo(-1);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test void shall_keep_retrying_failed_messages() {
+        var retry = RetryInterceptorBuilder.stateless().maxAttempts(3).backOffOptions(1, 1, 1).build();
+        var container = container(ListenerContainerTuning.PRODUCTS, retry);
+        var adviceChain = (Advice[]) ReflectionTestUtils.getField(container, "adviceChain");
+        assertThat(adviceChain).hasSize(2).startsWith(retry);
+
+        var attempts = new AtomicInteger();
+        var proxyFactory = new ProxyFactory((BiConsumer<Object, Object>) (channel, message) -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("Failed");
+            }
+        });
+        for (var advice : adviceChain) {
+            proxyFactory.addAdvice(advice);
+        }
+        ((BiConsumer<Object, Object>) proxyFactory.getProxy()).accept(null, new Message(new byte[0], new MessageProperties()));
+
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.get("owms.receiving.listener.processing").tag("listener", "products").tag("outcome", "failure").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("owms.receiving.listener.processing").tag("listener", "products").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+}
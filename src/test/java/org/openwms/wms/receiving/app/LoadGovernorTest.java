@@ -0,0 +1,133 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openwms.wms.receiving.app.LoadGovernor.Level.NORMAL;
+import static org.openwms.wms.receiving.app.LoadGovernor.Level.PAUSED;
+import static org.openwms.wms.receiving.app.LoadGovernor.Level.THROTTLED;
+
+/**
+ * A LoadGovernorTest.
+ *
+ * @author Heiko Scherrer
+ */
+class LoadGovernorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RabbitListenerEndpointRegistry endpointRegistry = mock(RabbitListenerEndpointRegistry.class);
+    private final MessageListenerContainer tuContainer = mock(MessageListenerContainer.class);
+    private final LoadGovernor testee = governor(endpointRegistry, meterRegistry, true);
+
+    static LoadGovernor governor(RabbitListenerEndpointRegistry endpointRegistry, MeterRegistry meterRegistry, boolean enabled) {
+        return new LoadGovernor(endpointRegistry, meterRegistry, enabled, List.of("products", "transport-units"),
+                0.8, Duration.ofMillis(50), Duration.ofMillis(10), 0.95, Duration.ofMillis(500), 0.6, Duration.ofMillis(10), 3, Duration.ofHours(1));
+    }
+
+    private static LoadGovernor.LoadSample sample(double ratio, long waitMillis) {
+        return new LoadGovernor.LoadSample(ratio, Duration.ofMillis(waitMillis));
+    }
+
+    @Test void shall_escalate_immediately_and_resume_with_hysteresis() {
+        when(endpointRegistry.getListenerContainer("transport-units")).thenReturn(tuContainer);
+
+        testee.evaluate(sample(0.85, 0));
+        assertThat(testee.getState().level()).isEqualTo(THROTTLED);
+        assertThat(testee.getState().reason()).isEqualTo("85% active connections, threshold 80%");
+
+        testee.evaluate(sample(0.5, 600));
+        assertThat(testee.getState().level()).isEqualTo(PAUSED);
+        assertThat(testee.getState().reason()).isEqualTo("600ms mean connection wait, threshold 500ms");
+        verify(tuContainer).stop(any(Runnable.class));
+
+        // between the resume and the throttle thresholds nothing changes
+        for (int i = 0; i < 5; i++) {
+            testee.evaluate(sample(0.7, 0));
+        }
+        assertThat(testee.getState().level()).isEqualTo(PAUSED);
+
+        testee.evaluate(sample(0.1, 0));
+        testee.evaluate(sample(0.1, 0));
+        testee.evaluate(sample(0.7, 0));
+        testee.evaluate(sample(0.1, 0));
+        testee.evaluate(sample(0.1, 0));
+        assertThat(testee.getState().level()).isEqualTo(PAUSED);
+        testee.evaluate(sample(0.1, 0));
+        assertThat(testee.getState().level()).isEqualTo(THROTTLED);
+        verify(tuContainer).start();
+
+        for (int i = 0; i < 3; i++) {
+            testee.evaluate(sample(0.1, 0));
+        }
+        assertThat(testee.getState().level()).isEqualTo(NORMAL);
+        verify(tuContainer, times(1)).start();
+        assertThat(meterRegistry.get("owms.receiving.load-governor.level").gauge().value()).isZero();
+        assertThat(meterRegistry.get("owms.receiving.load-governor.transitions").tag("level", "PAUSED").counter().count()).isEqualTo(1);
+    }
+
+    @Test void shall_sample_hikari_metrics() {
+        var active = new AtomicInteger(19);
+        meterRegistry.gauge("hikaricp.connections.active", active);
+        meterRegistry.gauge("hikaricp.connections.max", 20);
+        meterRegistry.timer("hikaricp.connections.acquire").record(Duration.ofMillis(1));
+
+        testee.govern();
+        assertThat(testee.getState().level()).isEqualTo(PAUSED);
+        assertThat(testee.getState().sample().activeRatio()).isEqualTo(0.95);
+    }
+
+    @Test void shall_do_nothing_when_disabled() {
+        var disabled = governor(endpointRegistry, meterRegistry, false);
+        meterRegistry.gauge("hikaricp.connections.active", 20);
+        meterRegistry.gauge("hikaricp.connections.max", 20);
+        meterRegistry.timer("hikaricp.connections.acquire");
+
+        disabled.govern();
+        disabled.throttle("transport-units");
+        assertThat(disabled.getState().level()).isEqualTo(NORMAL);
+        verify(endpointRegistry, never()).getListenerContainer(any());
+    }
+
+    @Test void shall_sample_periodically_on_its_own_thread() {
+        meterRegistry.gauge("hikaricp.connections.active", 20);
+        meterRegistry.gauge("hikaricp.connections.max", 20);
+        meterRegistry.timer("hikaricp.connections.acquire");
+        var governor = new LoadGovernor(endpointRegistry, meterRegistry, true, List.of("products"), 0.8, Duration.ofMillis(50),
+                Duration.ofMillis(10), 0.95, Duration.ofMillis(500), 0.6, Duration.ofMillis(10), 3, Duration.ofMillis(10));
+        try {
+            await().untilAsserted(() -> assertThat(governor.getState().level()).isEqualTo(PAUSED));
+        } finally {
+            governor.destroy();
+        }
+    }
+}
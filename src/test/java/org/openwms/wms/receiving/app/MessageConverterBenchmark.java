@@ -0,0 +1,103 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openwms.wms.receiving.api.messages.ReceivingOrderMO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SerializerMessageConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.openwms.wms.receiving.app.ReceivingOrderMessages.receivingOrder;
+
+/**
+ * A MessageConverterBenchmark compares the AMQP message converters that can be selected with
+ * {@code owms.receiving.serialization} in encode and decode time. The size of each encoded message is logged when the
+ * benchmark is set up. A typical {@code ReceivingOrderMO} has 5 positions, a large one 500. Run the {@code main} method
+ * from the IDE or with the test classpath.
+ *
+ * @author Heiko Scherrer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageConverterBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageConverterBenchmark.class);
+    @Param({"json", "barray", "cbor", "cbor-gzip"})
+    public String serialization;
+    @Param({"5", "500"})
+    public int positions;
+    private MessageConverter converter;
+    private ReceivingOrderMO mo;
+    private Message message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converter = switch (serialization) {
+            case "json" -> new Jackson2JsonMessageConverter();
+            case "barray" -> {
+                var serializer = new SerializerMessageConverter();
+                serializer.setAllowedListPatterns(List.of("*"));
+                yield serializer;
+            }
+            case "cbor" -> new CborMessageConverter(0);
+            case "cbor-gzip" -> new CborMessageConverter(4096);
+            default -> throw new IllegalArgumentException(serialization);
+        };
+        mo = receivingOrder(positions);
+        message = converter.toMessage(mo, new MessageProperties());
+        LOGGER.info("[{}] with [{}] positions encodes to [{}] bytes", serialization, positions, message.getBody().length);
+    }
+
+    @Benchmark
+    public Message encode() {
+        return converter.toMessage(mo, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decode() {
+        return converter.fromMessage(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MessageConverterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.openwms.wms.receiving.app.PriorityLaneFilter.Lane.BLIND_CAPTURE;
+import static org.openwms.wms.receiving.app.PriorityLaneFilter.Lane.BULK_READ;
+import static org.openwms.wms.receiving.app.PriorityLaneFilter.Lane.EXPECTED_CAPTURE;
+import static org.openwms.wms.receiving.app.PriorityLaneFilter.Lane.WRITE;
+
+/**
+ * A PriorityLaneFilterTest.
+ *
+ * @author Heiko Scherrer
+ */
+class PriorityLaneFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final PriorityLaneFilter testee = new PriorityLaneFilter(environment()
+            .withProperty("owms.receiving.lanes.expected-capture.max-concurrent", "1")
+            .withProperty("owms.receiving.lanes.expected-capture.queue-size", "1")
+            .withProperty("owms.receiving.lanes.expected-capture.queue-timeout", "5s")
+            .withProperty("owms.receiving.lanes.bulk-read.max-concurrent", "1")
+            .withProperty("owms.receiving.lanes.bulk-read.queue-size", "0")
+            .withProperty("owms.receiving.lanes.bulk-read.retry-after", "7s"), meterRegistry);
+
+    private static MockEnvironment environment() {
+        var environment = new MockEnvironment();
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+        return environment;
+    }
+
+    @AfterEach void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        var request = new MockHttpServletRequest(method, "/receiving" + path);
+        request.setContextPath("/receiving");
+        return request;
+    }
+
+    @Test void shall_classify_requests() {
+        assertThat(PriorityLaneFilter.classify(request("POST", "/v1/receiving-orders/4711/capture"))).isEqualTo(EXPECTED_CAPTURE);
+        assertThat(PriorityLaneFilter.classify(request("POST", "/v1/capture"))).isEqualTo(BLIND_CAPTURE);
+        assertThat(PriorityLaneFilter.classify(request("POST", "/v1/receiving-orders"))).isEqualTo(WRITE);
+        assertThat(PriorityLaneFilter.classify(request("PATCH", "/v1/receiving-orders/4711"))).isEqualTo(WRITE);
+        assertThat(PriorityLaneFilter.classify(request("GET", "/v1/receiving-orders"))).isEqualTo(BULK_READ);
+        assertThat(PriorityLaneFilter.classify(request("GET", "/v1/receiving-orders/search"))).isEqualTo(BULK_READ);
+        var byOrderId = request("GET", "/v1/receiving-orders");
+        byOrderId.setParameter("orderId", "4711");
+        assertThat(PriorityLaneFilter.classify(byOrderId)).isNull();
+        assertThat(PriorityLaneFilter.classify(request("GET", "/v1/receiving-orders/4711"))).isNull();
+        assertThat(PriorityLaneFilter.classify(request("POST", "/actuator/productsnapshot"))).isNull();
+    }
+
+    private CountDownLatch occupy(String method, String path, CountDownLatch release) {
+        var entered = new CountDownLatch(1);
+        executor.submit(() -> {
+            testee.doFilter(request(method, path), new MockHttpServletResponse(), (FilterChain) (req, res) -> {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return null;
+        });
+        return entered;
+    }
+
+    @Test void shall_shed_a_full_lane() throws Exception {
+        var release = new CountDownLatch(1);
+        assertThat(occupy("GET", "/v1/receiving-orders", release).await(5, TimeUnit.SECONDS)).isTrue();
+
+        var response = new MockHttpServletResponse();
+        testee.doFilter(request("GET", "/v1/receiving-orders"), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("7");
+        assertThat(meterRegistry.get("owms.receiving.lanes.rejected").tag("lane", "bulk-read").counter().count()).isEqualTo(1);
+
+        response = new MockHttpServletResponse();
+        testee.doFilter(request("POST", "/v1/receiving-orders/4711/capture"), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(200);
+        release.countDown();
+    }
+
+    @Test void shall_shed_lower_lanes_while_captures_wait() throws Exception {
+        var release = new CountDownLatch(1);
+        assertThat(occupy("POST", "/v1/receiving-orders/4711/capture", release).await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = occupy("POST", "/v1/receiving-orders/4712/capture", new CountDownLatch(0));
+        await().atMost(5, TimeUnit.SECONDS).until(() ->
+                meterRegistry.get("owms.receiving.lanes.queued").tag("lane", "expected-capture").gauge().value() == 1);
+
+        var response = new MockHttpServletResponse();
+        testee.doFilter(request("POST", "/v1/capture"), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(429);
+
+        release.countDown();
+        assertThat(queued.await(5, TimeUnit.SECONDS)).isTrue();
+        response = new MockHttpServletResponse();
+        testee.doFilter(request("POST", "/v1/capture"), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A QueueLagMonitorTest.
+ *
+ * @author Heiko Scherrer
+ */
+class QueueLagMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+    private final QueueLagMonitor testee = new QueueLagMonitor(amqpAdmin, meterRegistry);
+
+    private static Message message(String queue, Date timestamp, Object publishedAt) {
+        var properties = new MessageProperties();
+        properties.setConsumerQueue(queue);
+        properties.setTimestamp(timestamp);
+        if (publishedAt != null) {
+            properties.setHeader(QueueLagMonitor.PUBLISHED_AT_HEADER, publishedAt);
+        }
+        return new Message(new byte[0], properties);
+    }
+
+    @Test void shall_record_age_from_timestamp_or_header() {
+        var now = System.currentTimeMillis();
+        testee.record(message("tuQueue", new Date(now - 5_000), null));
+        testee.record(message("tuQueue", null, now - 10_000));
+        testee.record(message("tuQueue", null, null));
+        testee.record(message(null, new Date(now), null));
+
+        var age = meterRegistry.get("owms.receiving.listener.message.age").tag("queue", "tuQueue").timer();
+        assertThat(age.count()).isEqualTo(2);
+        assertThat(age.max(TimeUnit.MILLISECONDS)).isBetween(10_000d, 60_000d);
+        assertThat(meterRegistry.find("owms.receiving.listener.message.age").timers()).hasSize(1);
+    }
+
+    @Test void shall_sample_queue_depth() {
+        var properties = new Properties();
+        properties.put(RabbitAdmin.QUEUE_MESSAGE_COUNT, 42);
+        properties.put(RabbitAdmin.QUEUE_CONSUMER_COUNT, 3);
+        when(amqpAdmin.getQueueProperties("tuQueue")).thenReturn(properties);
+        when(amqpAdmin.getQueueProperties("productsQueue")).thenThrow(new AmqpIOException(new IOException("down")));
+        testee.watch("tuQueue", "productsQueue", "unknownQueue");
+
+        testee.sample();
+
+        assertThat(meterRegistry.get("owms.receiving.listener.queue.depth").tag("queue", "tuQueue").gauge().value()).isEqualTo(42);
+        assertThat(meterRegistry.get("owms.receiving.listener.queue.consumers").tag("queue", "tuQueue").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("owms.receiving.listener.queue.depth").tag("queue", "productsQueue").gauge().value()).isEqualTo(-1);
+        assertThat(meterRegistry.get("owms.receiving.listener.queue.depth").tag("queue", "unknownQueue").gauge().value()).isEqualTo(-1);
+    }
+}
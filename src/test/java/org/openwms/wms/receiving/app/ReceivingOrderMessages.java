@@ -0,0 +1,62 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import org.openwms.core.units.api.Piece;
+import org.openwms.wms.receiving.api.messages.ProductMO;
+import org.openwms.wms.receiving.api.messages.ReceivingOrderMO;
+import org.openwms.wms.receiving.api.messages.ReceivingOrderPositionMO;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * A ReceivingOrderMessages creates {@code ReceivingOrderMO}s of different sizes to test and benchmark message
+ * converters.
+ *
+ * @author Heiko Scherrer
+ */
+final class ReceivingOrderMessages {
+
+    private ReceivingOrderMessages() {}
+
+    static ReceivingOrderMO receivingOrder(int positions) {
+        var mo = new ReceivingOrderMO();
+        mo.setpKey("1a2b3c4d-0000-4000-8000-000000000001");
+        mo.setOrderId("RO-0000042");
+        mo.setState("PROCESSING");
+        mo.setDetails(Map.of("supplier", "ACME Corp.", "dock", "D-07"));
+        var list = new ArrayList<ReceivingOrderPositionMO>(positions);
+        for (var i = 1; i <= positions; i++) {
+            var product = new ProductMO();
+            product.setpKey("P-%08d".formatted(i));
+            product.setSku("SKU%05d".formatted(i));
+            product.setLabel("Product %d".formatted(i));
+            product.setBaseUnit(Piece.of(1));
+            product.setOverbookingAllowed(false);
+            var position = new ReceivingOrderPositionMO();
+            position.setPositionId(i);
+            position.setState("CREATED");
+            position.setQuantityExpected(Piece.of(10 + i));
+            position.setQuantityReceived(Piece.of(i));
+            position.setProduct(product);
+            position.setStartMode("AUTOMATIC");
+            list.add(position);
+        }
+        mo.setPositions(list);
+        return mo;
+    }
+}
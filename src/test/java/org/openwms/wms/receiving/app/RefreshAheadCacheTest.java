@@ -0,0 +1,46 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.app;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A RefreshAheadCacheTest.
+ *
+ * @author Heiko Scherrer
+ */
+class RefreshAheadCacheTest {
+
+    @Test void shall_answer_one_miss_after_refresh_time() throws Exception {
+        var testee = new RefreshAheadCache(new CaffeineCache("test", Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1)).build(), false), Duration.ofMillis(50));
+        testee.put("4711", "v1");
+        assertThat(testee.get("4711", String.class)).isEqualTo("v1");
+
+        Thread.sleep(100);
+        assertThat(testee.get("4711")).isNull();
+        assertThat(testee.get("4711", String.class)).isEqualTo("v1");
+
+        testee.put("4711", "v2");
+        assertThat(testee.get("4711", String.class)).isEqualTo("v2");
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.impl;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.wms.receiving.AbstractTestBase;
+import org.openwms.wms.receiving.ReceivingApplicationTest;
+import org.openwms.wms.receiving.api.OrderState;
+import org.openwms.wms.receiving.api.PositionState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A ReceivingOrderSearchIT verifies the search results and guards the query plans of the search queries against
+ * regressions, i.e. each query must be served by its dedicated index and must not fall back to a table scan. The plans
+ * are explained for the SQL statements Hibernate actually generates, these are captured with a {@link StatementInspector}.
+ *
+ * @author Heiko Scherrer
+ */
+@ReceivingApplicationTest
+@Transactional
+@Sql("classpath:import-TEST.sql")
+@Import(ReceivingOrderSearchIT.StatementCaptureConfiguration.class)
+class ReceivingOrderSearchIT extends AbstractTestBase {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 100);
+
+    @TestConfiguration
+    static class StatementCaptureConfiguration {
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private ReceivingService<?> service;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void onBefore() {
+        STATEMENTS.clear();
+    }
+
+    @Test void shall_find_by_sku() {
+        var result = service.search(new ReceivingOrderSearch("C1", null, null, List.of(OrderState.CREATED), null, null, null), FIRST_PAGE);
+        assertThat(result).extracting(ReceivingOrder::getOrderId).containsExactly("T4711");
+
+        result = service.search(new ReceivingOrderSearch("C1", null, null, null, List.of(PositionState.COMPLETED), null, null), FIRST_PAGE);
+        assertThat(result).isEmpty();
+    }
+
+    @Test void shall_find_by_transportUnitBK() {
+        var result = service.search(new ReceivingOrderSearch(null, "00000000000000004712", null, null, null, null, null), FIRST_PAGE);
+        assertThat(result).extracting(ReceivingOrder::getOrderId).containsExactly("T4711");
+
+        result = service.search(new ReceivingOrderSearch("C1", "UNKNOWN", null, null, null, null, null), FIRST_PAGE);
+        assertThat(result).isEmpty();
+    }
+
+    @Test void shall_find_by_state_and_window() {
+        var result = service.search(new ReceivingOrderSearch(null, null, null, List.of(OrderState.COMPLETED), null, null, null), FIRST_PAGE);
+        assertThat(result).extracting(ReceivingOrder::getOrderId).containsExactly("T4712");
+
+        result = service.search(new ReceivingOrderSearch(null, null, null, null, null, ZonedDateTime.now().minusDays(1), ZonedDateTime.now()), FIRST_PAGE);
+        assertThat(result).isEmpty();
+    }
+
+    @Test void shall_limit_page_size() {
+        var result = service.search(new ReceivingOrderSearch(null, null, null, null, null, null, null), PageRequest.of(0, 1));
+        assertThat(result).hasSize(1);
+
+        result = service.search(new ReceivingOrderSearch(null, null, null, null, null, null, null), PageRequest.of(1, 1));
+        assertThat(result).hasSize(1);
+    }
+
+    @Test void plan_uses_sku_index() {
+        service.search(new ReceivingOrderSearch("C1", null, null, null, List.of(PositionState.CREATED, PositionState.PROCESSING), null, null), FIRST_PAGE);
+        assertThat(explain(captured("c_sku"), "C1", "CREATED", "PROCESSING")).contains("IDX_REC_POS_PRODUCT_SKU");
+    }
+
+    @Test void plan_uses_transportUnitBK_index() {
+        service.search(new ReceivingOrderSearch(null, "00000000000000004712", null, null, List.of(PositionState.CREATED), null, null), FIRST_PAGE);
+        assertThat(explain(captured("c_transport_unit_bk"), "00000000000000004712", "CREATED")).contains("IDX_REC_POS_TU_BK");
+    }
+
+    @Test void plan_uses_warehouse_indexes() {
+        service.search(new ReceivingOrderSearch(null, null, "WH01", null, List.of(PositionState.CREATED), null, null), FIRST_PAGE);
+        assertThat(explain(captured("wms_rec_order_pos_product"), "WH01", "CREATED")).contains("IDX_REC_POS_PRODUCT_WH");
+        assertThat(explain(captured("wms_rec_order_pos_tu"), "WH01", "CREATED")).contains("IDX_REC_POS_TU_WH");
+    }
+
+    @Test void plan_uses_order_indexes() {
+        var now = ZonedDateTime.now();
+        service.search(new ReceivingOrderSearch(null, null, null, List.of(OrderState.CREATED), null, now, null), FIRST_PAGE);
+        assertThat(explain(captured("c_expected_receipt>="), "CREATED", Timestamp.from(now.toInstant()), 100))
+                .contains("IDX_REC_ORDER_STATE_EXP");
+
+        STATEMENTS.clear();
+        service.search(new ReceivingOrderSearch(null, null, null, null, null, now, now), FIRST_PAGE);
+        assertThat(explain(captured("c_expected_receipt>="), Timestamp.from(now.toInstant()), Timestamp.from(now.toInstant()), 100))
+                .contains("IDX_REC_ORDER_EXP");
+    }
+
+    private static String captured(String fragment) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains(fragment))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statement with [%s] captured in %s".formatted(fragment, STATEMENTS)));
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+    }
+}
@@ -23,14 +23,21 @@ import org.openwms.wms.receiving.AbstractTestBase;
 import org.openwms.wms.receiving.ReceivingApplicationTest;
 import org.openwms.wms.receiving.api.OrderState;
 import org.openwms.wms.receiving.inventory.Product;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncProductApi;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.openwms.wms.receiving.TestData.PRODUCT1_SKU;
 
 /**
@@ -44,6 +51,10 @@ class ReceivingServiceImplIT extends AbstractTestBase {
 
     @Autowired
     private ReceivingServiceImpl service;
+    @Autowired
+    private SyncProductApi productApi;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Test void createOrderWithNull() {
         var ex = assertThrows(ConstraintViolationException.class, () -> service.createOrder(null));
@@ -88,4 +99,21 @@ class ReceivingServiceImplIT extends AbstractTestBase {
         assertThat(next.getQuantityReceived()).isEqualTo(Piece.of(1));
         assertThat(next.getDetails()).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Sql("classpath:import-TEST.sql")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Test void createOrderWhenPrefetchFails() {
+        when(productApi.findBySKUs(anyCollection())).thenThrow(new IllegalStateException("Service unavailable"));
+        var ro = new ReceivingOrder("4711");
+        ro.getPositions().add(new ReceivingOrderPosition(1, Piece.of(2), new Product(PRODUCT1_SKU)));
+        ro.getPositions().add(new ReceivingOrderPosition(2, Piece.of(1), new Product("C2")));
+        ro.getPositions().forEach(p -> p.setOrder(ro));
+
+        // Committed like in ReceivingOrderCreator, a failed prefetch must not mark the transaction for rollback
+        var order = new TransactionTemplate(transactionManager).execute(s -> service.createOrder(ro));
+
+        verify(productApi).findBySKUs(anyCollection());
+        assertThat(order.isNew()).isFalse();
+        assertThat(order.getPositions()).hasSize(2);
+    }
+}
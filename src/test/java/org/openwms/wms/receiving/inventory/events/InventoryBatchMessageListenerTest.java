@@ -0,0 +1,112 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.openwms.core.units.api.Piece;
+import org.openwms.wms.receiving.events.CacheJanitor;
+import org.openwms.wms.receiving.inventory.Product;
+import org.openwms.wms.receiving.inventory.ProductMapper;
+import org.openwms.wms.receiving.inventory.ProductSynchronizer;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A InventoryBatchMessageListenerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class InventoryBatchMessageListenerTest {
+
+    private final ProductSynchronizer synchronizer = mock(ProductSynchronizer.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InventoryBatchMessageListener testee = new InventoryBatchMessageListener(synchronizer,
+            Mappers.getMapper(ProductMapper.class), mock(CacheJanitor.class), meterRegistry);
+
+    @SuppressWarnings("unchecked")
+    @Test void shall_apply_only_the_latest_event_per_product() {
+        testee.handle(List.of(
+                message("created", product("P1", "L1")),
+                message("created", product("P2", "L2")),
+                message("updated", product("P1", "L1 changed")),
+                message("deleted", product("P2", null)),
+                message("archived", product("P3", "L3"))
+        ));
+
+        ArgumentCaptor<Collection<Product>> upserts = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<String>> deletions = ArgumentCaptor.forClass(Collection.class);
+        verify(synchronizer).synchronize(upserts.capture(), deletions.capture());
+        assertThat(upserts.getValue()).singleElement().satisfies(p -> {
+            assertThat(p.getForeignPKey()).isEqualTo("P1");
+            assertThat(p.getLabel()).isEqualTo("L1 changed");
+        });
+        assertThat(deletions.getValue()).containsExactly("P2");
+        assertThat(meterRegistry.counter("owms.receiving.product.events.conflated").count()).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test void shall_drop_out_of_order_events() {
+        var newer = product("P1", "L1 v2");
+        newer.setVersion(2L);
+        var older = product("P1", "L1 v1");
+        older.setVersion(1L);
+
+        testee.handle(List.of(message("updated", newer), message("updated", older)));
+
+        ArgumentCaptor<Collection<Product>> upserts = ArgumentCaptor.forClass(Collection.class);
+        verify(synchronizer).synchronize(upserts.capture(), anyCollection());
+        assertThat(upserts.getValue()).singleElement().satisfies(p -> {
+            assertThat(p.getLabel()).isEqualTo("L1 v2");
+            assertThat(p.getForeignVersion()).isEqualTo(2L);
+        });
+    }
+
+    @Test void shall_reject_the_whole_batch_on_failure() {
+        doThrow(new IllegalStateException("DB down")).when(synchronizer).synchronize(anyCollection(), any());
+
+        assertThatThrownBy(() -> testee.handle(List.of(message("created", product("P1", "L1")))))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class);
+    }
+
+    private static Message<InventoryProductMO> message(String type, InventoryProductMO mo) {
+        return MessageBuilder.withPayload(mo).setHeader(InventoryBatchMessageListener.EVENT_TYPE_HEADER, type).build();
+    }
+
+    private static InventoryProductMO product(String pKey, String label) {
+        var mo = new InventoryProductMO();
+        mo.setpKey(pKey);
+        mo.setSku("SKU_" + pKey);
+        mo.setLabel(label);
+        mo.setBaseUnit(Piece.of(1));
+        mo.setOverbookingAllowed(false);
+        return mo;
+    }
+}
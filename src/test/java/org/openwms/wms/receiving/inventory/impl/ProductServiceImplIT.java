@@ -0,0 +1,96 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+import org.ameba.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.wms.receiving.AbstractTestBase;
+import org.openwms.wms.receiving.ReceivingApplicationTest;
+import org.openwms.wms.receiving.inventory.ProductService;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncProductApi;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openwms.wms.receiving.TestData.PRODUCT1_SKU;
+
+/**
+ * A ProductServiceImplIT.
+ *
+ * @author Heiko Scherrer
+ */
+@ReceivingApplicationTest
+@Transactional
+@Sql("classpath:import-TEST.sql")
+@TestPropertySource(properties = "owms.receiving.products.resolution=LOCAL_FIRST")
+class ProductServiceImplIT extends AbstractTestBase {
+
+    @Autowired
+    private ProductService service;
+    @Autowired
+    private SyncProductApi productApi;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test void shall_resolve_fresh_product_locally() {
+        assertThat(service.findBySku(PRODUCT1_SKU)).isPresent();
+        verify(productApi, never()).findBySKU(anyString());
+    }
+
+    @Test void shall_ask_remote_on_local_miss() {
+        assertThat(service.findBySku("UNKNOWN")).isEmpty();
+        verify(productApi).findBySKU("UNKNOWN");
+    }
+
+    @Test void shall_remember_unknown_sku() {
+        when(productApi.findBySKU("UNKNOWN2")).thenThrow(new NotFoundException("Not found"));
+        assertThat(service.findBySku("UNKNOWN2")).isEmpty();
+        assertThat(service.findBySku("UNKNOWN2")).isEmpty();
+        verify(productApi, times(1)).findBySKU("UNKNOWN2");
+    }
+
+    @Test void shall_refresh_outdated_product_from_remote() {
+        jdbcTemplate.update("update WMS_REC_PRODUCT set C_VERIFIED_AT = ? where C_SKU = ?", LocalDateTime.now().minusDays(2), PRODUCT1_SKU);
+        var foreignPKey = jdbcTemplate.queryForObject("select C_FOREIGN_PID from WMS_REC_PRODUCT where C_SKU = ?", String.class, PRODUCT1_SKU);
+        var vo = ProductVO.newBuilder().pKey(foreignPKey).sku(PRODUCT1_SKU).build();
+        vo.setLabel("L_C1");
+        vo.setDescription("Changed remotely");
+        vo.setBaseUnit(Piece.of(1));
+        vo.setOverbookingAllowed(false);
+        when(productApi.findBySKU(PRODUCT1_SKU)).thenReturn(Optional.of(vo));
+
+        var result = service.findBySku(PRODUCT1_SKU);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getDescription()).isEqualTo("Changed remotely");
+        assertThat(result.get().getVerifiedAt()).isAfter(LocalDateTime.now().minusMinutes(1));
+        assertThat(service.findBySku(PRODUCT1_SKU)).isPresent();
+        verify(productApi, times(1)).findBySKU(PRODUCT1_SKU);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.wms.receiving.AbstractTestBase;
+import org.openwms.wms.receiving.ReceivingApplicationTest;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncProductApi;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.openwms.wms.receiving.TestData.PRODUCT1_SKU;
+
+/**
+ * A ProductSnapshotLoaderIT loads the product master from a mocked Inventory Service.
+ *
+ * @author Heiko Scherrer
+ */
+@ReceivingApplicationTest
+@Sql("classpath:import-TEST.sql")
+@Sql(scripts = "classpath:import-TEST.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@TestPropertySource(properties = "owms.receiving.products.snapshot.page-size=2")
+class ProductSnapshotLoaderIT extends AbstractTestBase {
+
+    @Autowired
+    private ProductSnapshotLoader testee;
+    @Autowired
+    private ProductRepository repository;
+    @Autowired
+    private SyncProductApi productApi;
+
+    private ProductVO p1, p2, p3;
+
+    @BeforeEach
+    void onSetup() {
+        p1 = product("P1", "S1", "Label 1");
+        p2 = product("P2", "S2", "Label 2");
+        p3 = product("P3", "S3", "Label 3");
+        when(productApi.findAll(0, 2)).thenReturn(List.of(p1, p2));
+        when(productApi.findAll(1, 2)).thenReturn(List.of(p3));
+    }
+
+    @Test void shall_insert_all_pages() {
+        var result = testee.load(ProductSnapshotLoader.Trigger.MANUAL).orElseThrow();
+
+        assertThat(result.complete()).isTrue();
+        assertThat(result.pages()).isEqualTo(2);
+        assertThat(result.inserted()).isEqualTo(3);
+        assertThat(repository.findByForeignPKey("P3")).hasValueSatisfying(p -> {
+            assertThat(p.getSku()).isEqualTo("S3");
+            assertThat(p.getPersistentKey()).isEqualTo("P3");
+            assertThat(p.getBaseUnit()).isEqualTo(Piece.of(1));
+        });
+    }
+
+    @Test void shall_skip_unchanged_pages_and_rewrite_differing_rows() {
+        testee.load(ProductSnapshotLoader.Trigger.STARTUP);
+        var unchanged = testee.load(ProductSnapshotLoader.Trigger.SCHEDULED).orElseThrow();
+        assertThat(unchanged.unchangedPages()).isEqualTo(2);
+        assertThat(unchanged.unchanged()).isEqualTo(3);
+
+        p2.setLabel("Label 2 changed");
+        var changed = testee.load(ProductSnapshotLoader.Trigger.SCHEDULED).orElseThrow();
+
+        assertThat(changed.unchangedPages()).isEqualTo(1);
+        assertThat(changed.updated()).isEqualTo(1);
+        assertThat(changed.unchanged()).isEqualTo(2);
+        assertThat(repository.findByForeignPKey("P2")).hasValueSatisfying(p -> assertThat(p.getLabel()).isEqualTo("Label 2 changed"));
+    }
+
+    @Test void shall_skip_products_with_a_taken_sku() {
+        when(productApi.findAll(1, 2)).thenReturn(List.of(product("P4", PRODUCT1_SKU, "Duplicate")));
+
+        var result = testee.load(ProductSnapshotLoader.Trigger.MANUAL).orElseThrow();
+
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.conflicts()).isEqualTo(1);
+        assertThat(repository.findByForeignPKey("P4")).isEmpty();
+    }
+
+    @Test void shall_stop_when_inventory_is_not_available() {
+        when(productApi.findAll(1, 2)).thenReturn(null);
+
+        var result = testee.load(ProductSnapshotLoader.Trigger.STARTUP).orElseThrow();
+
+        assertThat(result.complete()).isFalse();
+        assertThat(result.inserted()).isEqualTo(2);
+    }
+
+    private static ProductVO product(String pKey, String sku, String label) {
+        var vo = ProductVO.newBuilder().pKey(pKey).sku(sku).build();
+        vo.setLabel(label);
+        vo.setBaseUnit(Piece.of(1));
+        vo.setOverbookingAllowed(false);
+        return vo;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.inventory.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.wms.receiving.AbstractTestBase;
+import org.openwms.wms.receiving.ReceivingApplicationTest;
+import org.openwms.wms.receiving.inventory.Product;
+import org.openwms.wms.receiving.inventory.ProductSynchronizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A ProductSynchronizerImplIT.
+ *
+ * @author Heiko Scherrer
+ */
+@ReceivingApplicationTest
+@Transactional
+@Sql("classpath:import-TEST.sql")
+class ProductSynchronizerImplIT extends AbstractTestBase {
+
+    @Autowired
+    private ProductSynchronizer testee;
+    @Autowired
+    private ProductRepository repository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test void shall_upsert_and_delete_in_one_go() {
+        testee.synchronize(List.of(product("P1", "L1"), product("P2", "L2")), List.of());
+
+        testee.synchronize(List.of(product("P1", "L1 changed"), product("P3", "L3")), List.of("P2"));
+
+        assertThat(repository.findByForeignPKey("P1")).hasValueSatisfying(p -> assertThat(p.getLabel()).isEqualTo("L1 changed"));
+        assertThat(repository.findByForeignPKey("P2")).isEmpty();
+        assertThat(repository.findByForeignPKey("P3")).isPresent();
+        assertThat(repository.findBySkuIn(List.of("SKU_P1", "SKU_P2", "SKU_P3"))).hasSize(2);
+    }
+
+    @Test void shall_skip_stale_and_duplicate_updates() {
+        var staleSkips = meterRegistry.counter("owms.receiving.product.sync.skipped", "reason", "stale");
+        var duplicateSkips = meterRegistry.counter("owms.receiving.product.sync.skipped", "reason", "duplicate");
+        var staleBefore = staleSkips.count();
+        var duplicatesBefore = duplicateSkips.count();
+        testee.create(product("P1", "L1", 2L));
+
+        var stale = testee.update(product("P1", "L1 outdated", 1L));
+        assertThat(stale.getLabel()).isEqualTo("L1");
+        var written = testee.synchronize(List.of(product("P1", "L1 redelivered", 2L), product("P2", "L2")), List.of());
+        assertThat(written).extracting(Product::getForeignPKey).containsExactly("P2");
+        assertThat(testee.synchronize(List.of(product("P2", "L2")), List.of())).isEmpty();
+
+        var updated = testee.update(product("P1", "L1 changed", 3L));
+        assertThat(updated.getLabel()).isEqualTo("L1 changed");
+        assertThat(updated.getForeignVersion()).isEqualTo(3L);
+        assertThat(staleSkips.count() - staleBefore).isEqualTo(2);
+        assertThat(duplicateSkips.count() - duplicatesBefore).isEqualTo(1);
+    }
+
+    @Test void shall_remember_version_of_duplicates() {
+        var staleSkips = meterRegistry.counter("owms.receiving.product.sync.skipped", "reason", "stale");
+        testee.create(product("P1", "L1", 1L));
+
+        var duplicate = product("P1", "L1", 3L);
+        duplicate.setBaseUnit(Piece.of(new BigDecimal("1.000")));
+        var written = testee.synchronize(List.of(duplicate), List.of());
+        assertThat(written).as("A different scale of the base unit is no change").isEmpty();
+        assertThat(repository.findByForeignPKey("P1")).hasValueSatisfying(p -> assertThat(p.getForeignVersion()).isEqualTo(3L));
+
+        var staleBefore = staleSkips.count();
+        var outdated = testee.update(product("P1", "L1 outdated", 2L));
+        assertThat(outdated.getLabel()).isEqualTo("L1");
+        assertThat(staleSkips.count() - staleBefore).isEqualTo(1);
+    }
+
+    private static Product product(String pKey, String label, Long version) {
+        var product = product(pKey, label);
+        product.setForeignVersion(version);
+        return product;
+    }
+
+    private static Product product(String pKey, String label) {
+        var product = new Product("SKU_" + pKey);
+        product.setForeignPKey(pKey);
+        product.setLabel(label);
+        product.setBaseUnit(Piece.of(1));
+        product.setOverbookingAllowed(false);
+        return product;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.location.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.wms.receiving.AbstractTestBase;
+import org.openwms.wms.receiving.ReceivingApplicationTest;
+import org.openwms.wms.receiving.location.LocationService;
+import org.openwms.wms.receiving.spi.wms.location.LocationVO;
+import org.openwms.wms.receiving.spi.wms.location.SyncLocationApi;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A LocationServiceImplIT.
+ *
+ * @author Heiko Scherrer
+ */
+@ReceivingApplicationTest
+@Transactional
+class LocationServiceImplIT extends AbstractTestBase {
+
+    @MockBean
+    private SyncLocationApi locationApi;
+    @Autowired
+    private LocationService testee;
+    @Autowired
+    private LocationBootstrap bootstrap;
+    @Autowired
+    private LocationRepository repository;
+
+    @Test void shall_replicate_remote_location_on_first_lookup() {
+        var remote = LocationVO.of("EXT_/0000/0000/0000/0000");
+        remote.setErpCode("EXT");
+        when(locationApi.findByErpCodeOpt("EXT")).thenReturn(Optional.of(remote));
+
+        assertThat(testee.findByErpCode("EXT")).hasValueSatisfying(l -> assertThat(l.getLocationId()).isEqualTo("EXT_/0000/0000/0000/0000"));
+        assertThat(testee.findByErpCode("EXT")).hasValueSatisfying(l -> assertThat(l.getErpCode()).isEqualTo("EXT"));
+        verify(locationApi, times(1)).findByErpCodeOpt("EXT");
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Test void shall_not_hold_a_transaction_during_remote_lookup() {
+        var remote = LocationVO.of("NTX_/0000/0000/0000/0000");
+        remote.setErpCode("NTX");
+        doAnswer(invocation -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            return Optional.of(remote);
+        }).when(locationApi).findByErpCodeOpt("NTX");
+        try {
+            assertThat(testee.findByErpCode("NTX")).isPresent();
+            assertThat(repository.findFirstByErpCode("NTX")).isPresent();
+        } finally {
+            repository.findFirstByErpCode("NTX").ifPresent(repository::delete);
+        }
+    }
+
+    @Test void shall_replicate_remote_location_on_async_lookup() throws Exception {
+        var remote = LocationVO.of("ASY_/0000/0000/0000/0000");
+        remote.setErpCode("ASY");
+        when(locationApi.findByErpCodeOpt("ASY")).thenReturn(Optional.of(remote));
+
+        assertThat(testee.findByErpCodeAsync("ASY").get(5, TimeUnit.SECONDS)).hasValueSatisfying(l -> assertThat(l.getLocationId()).isEqualTo("ASY_/0000/0000/0000/0000"));
+        var replicated = testee.findByErpCodeAsync("ASY");
+        assertThat(replicated).isCompleted();
+        assertThat(replicated.get()).hasValueSatisfying(l -> assertThat(l.getErpCode()).isEqualTo("ASY"));
+        verify(locationApi, times(1)).findByErpCodeOpt("ASY");
+    }
+
+    @Test void shall_load_all_pages() {
+        when(locationApi.findAll(0, 1000)).thenReturn(List.of(location("L1", "E1"), location("L2", "E2")));
+
+        assertThat(bootstrap.load()).isEqualTo(2);
+        assertThat(bootstrap.load()).isZero();
+        assertThat(repository.findFirstByErpCode("E2")).isPresent();
+    }
+
+    private static LocationVO location(String locationId, String erpCode) {
+        var vo = LocationVO.of(locationId);
+        vo.setErpCode(erpCode);
+        return vo;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.outbox.impl;
+
+import org.ameba.exception.ResourceExistsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.wms.receiving.AbstractTestBase;
+import org.openwms.wms.receiving.ReceivingApplicationTest;
+import org.openwms.wms.receiving.api.LocationVO;
+import org.openwms.wms.receiving.outbox.CommandOutbox;
+import org.openwms.wms.receiving.spi.wms.inventory.PackagingUnitVO;
+import org.openwms.wms.receiving.spi.wms.inventory.ProductVO;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncPackagingUnitApi;
+import org.openwms.wms.receiving.spi.wms.transport.SyncTransportUnitApi;
+import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
+import org.openwms.wms.receiving.transport.TransportUnit;
+import org.openwms.wms.receiving.transport.TransportUnitService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A OutboxDispatcherIT.
+ *
+ * @author Heiko Scherrer
+ */
+@ReceivingApplicationTest
+class OutboxDispatcherIT extends AbstractTestBase {
+
+    @Autowired
+    private CommandOutbox testee;
+    @Autowired
+    private OutboxDispatcher dispatcher;
+    @Autowired
+    private OutboxCommandRepository repository;
+    @Autowired
+    private SyncTransportUnitApi transportUnitApi;
+    @Autowired
+    private SyncPackagingUnitApi packagingUnitApi;
+    @Autowired
+    private TransportUnitService transportUnitService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void onAfter() {
+        repository.deleteAllInBatch();
+        reset(transportUnitApi, packagingUnitApi);
+    }
+
+    @Test void shall_dispatch_after_commit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> testee.moveTU("00000000000000000001", "EXT"));
+
+        verify(transportUnitApi, timeout(5000)).moveTU("00000000000000000001", "EXT");
+        await(() -> repository.count() == 0);
+    }
+
+    @Test void shall_not_dispatch_on_rollback() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            testee.moveTU("00000000000000000002", "EXT");
+            s.setRollbackOnly();
+        });
+
+        dispatcher.sweep();
+        verify(transportUnitApi, timeout(1000).times(0)).moveTU("00000000000000000002", "EXT");
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test void shall_dispatch_packaging_units() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> testee.createPackagingUnitsOnLocation(List.of(packagingUnit())));
+
+        verify(packagingUnitApi, timeout(5000)).createOnLocation(argThat(pus -> pus.size() == 1
+                && "C1".equals(pus.get(0).getProduct().getSku())
+                && Piece.of(3).equals(pus.get(0).getQuantity())
+                && "EXT".equals(pus.get(0).getActualLocation().getErpCode())
+                && "LOT1".equals(pus.get(0).getLotId())));
+        await(() -> repository.count() == 0);
+    }
+
+    @Test void shall_reschedule_failed_command() {
+        doThrow(new IllegalStateException("Service unavailable")).when(packagingUnitApi).createOnLocation(anyList());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> testee.createPackagingUnitsOnLocation(List.of(packagingUnit())));
+
+        await(() -> repository.findAll().stream().anyMatch(c -> c.getAttempts() == 1));
+        var command = repository.findAll().get(0);
+        assertThat(command.getState()).isEqualTo(OutboxCommandState.PENDING);
+        assertThat(command.getLastError()).isEqualTo("Service unavailable");
+        assertThat(command.getNextAttemptAt()).isAfter(command.getCreateDt());
+        verify(transportUnitApi, never()).createTU(any());
+    }
+
+    @Test void shall_dispatch_commands_of_the_same_transportUnit_in_order() {
+        var calls = new CopyOnWriteArrayList<String>();
+        doAnswer(i -> {
+            Thread.sleep(300);
+            calls.add("create");
+            return null;
+        }).when(transportUnitApi).createTU(any());
+        doAnswer(i -> calls.add("move")).when(transportUnitApi).moveTU("00000000000000000003", "EXT");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            testee.createTU(transportUnit("00000000000000000003"));
+            testee.moveTU("00000000000000000003", "EXT");
+        });
+
+        await(() -> repository.count() == 0);
+        assertThat(calls).containsExactly("create", "move");
+    }
+
+    @Test void shall_hold_back_successor_of_failed_command() {
+        doThrow(new IllegalStateException("Service unavailable")).when(transportUnitApi).createTU(any());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            testee.createTU(transportUnit("00000000000000000004"));
+            testee.moveTU("00000000000000000004", "EXT");
+        });
+
+        await(() -> repository.findAll().stream().anyMatch(c -> c.getAttempts() == 1));
+        dispatcher.sweep();
+        verify(transportUnitApi, after(500).never()).moveTU("00000000000000000004", "EXT");
+        assertThat(repository.findAll()).extracting(OutboxCommand::getOrderingKey).containsOnly("00000000000000000004");
+    }
+
+    @Test void shall_reject_strict_creation_of_a_known_transportUnit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            var tu = new TransportUnit("00000000000000000005", "EXT_/0000/0000/0000/0000");
+            tu.setForeignPKey("1111-1111");
+            transportUnitService.upsert(tu);
+            assertThatThrownBy(() -> testee.createTU(transportUnit("00000000000000000005"))).isInstanceOf(ResourceExistsException.class);
+            s.setRollbackOnly();
+        });
+    }
+
+    @Test void shall_reject_strict_creation_of_a_transportUnit_to_be_created() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            testee.createTU(transportUnit("00000000000000000006"));
+            assertThatThrownBy(() -> testee.createTU(transportUnit("00000000000000000006"))).isInstanceOf(ResourceExistsException.class);
+            s.setRollbackOnly();
+        });
+    }
+
+    @Test void shall_fail_strict_creation_on_remote_conflict() {
+        doThrow(new ResourceExistsException("TransportUnit exists")).when(transportUnitApi).createTU(any());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> testee.createTU(transportUnit("00000000000000000007")));
+
+        await(() -> repository.findAll().stream().anyMatch(c -> c.getState() == OutboxCommandState.FAILED));
+        var command = repository.findAll().get(0);
+        assertThat(command.getAttempts()).isOne();
+        assertThat(command.getLastError()).isEqualTo("TransportUnit exists");
+    }
+
+    @Test void shall_bound_the_backoff() {
+        assertThat(dispatcher.backoff(1)).isBetween(Duration.ofMillis(800), Duration.ofMillis(1200));
+        assertThat(dispatcher.backoff(3)).isBetween(Duration.ofMillis(3200), Duration.ofMillis(4800));
+        assertThat(dispatcher.backoff(30)).isBetween(Duration.ofMinutes(4), Duration.ofMinutes(6));
+    }
+
+    private static TransportUnitVO transportUnit(String transportUnitBK) {
+        return new TransportUnitVO(transportUnitBK, org.openwms.wms.receiving.spi.wms.location.LocationVO.of("EXT_/0000/0000/0000/0000"), "FOIL");
+    }
+
+    private static PackagingUnitVO packagingUnit() {
+        var pu = new PackagingUnitVO(ProductVO.newBuilder().sku("C1").build(), Piece.of(3));
+        pu.setActualLocation(new LocationVO("EXT"));
+        pu.setLotId("LOT1");
+        return pu;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("Condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ameba.exception.ResourceExistsException;
+import org.ameba.exception.ServiceLayerException;
+import org.ameba.i18n.Translator;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A ConflictRetryTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ConflictRetryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ConflictRetry testee;
+
+    ConflictRetryTest() {
+        when(transactionManager.getTransaction(any())).thenAnswer(i -> new SimpleTransactionStatus());
+        testee = new ConflictRetry(transactionManager, meterRegistry, new ObjectMapper(), mock(Translator.class), 3, Duration.ofMillis(1), Duration.ofMillis(5), 100, Duration.ofMinutes(1));
+    }
+
+    private static RuntimeException conflict() {
+        return new ServiceLayerException("conflict", new ObjectOptimisticLockingFailureException("ReceivingOrder", 4711L));
+    }
+
+    private double count(String name) {
+        var counter = meterRegistry.find(name).tag("operation", "capture").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test void shall_retry_conflicts_in_new_transactions() {
+        var attempts = new AtomicInteger();
+        var result = testee.execute("capture", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw conflict();
+            }
+            return "captured";
+        });
+        assertThat(result).isEqualTo("captured");
+        assertThat(attempts).hasValue(3);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        assertThat(count("owms.receiving.conflicts")).isEqualTo(2);
+        assertThat(count("owms.receiving.conflicts.retries")).isEqualTo(2);
+    }
+
+    @Test void shall_give_up_after_max_attempts() {
+        var attempts = new AtomicInteger();
+        assertThatThrownBy(() -> testee.execute("capture", () -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        })).isInstanceOf(ServiceLayerException.class);
+        assertThat(attempts).hasValue(3);
+        assertThat(count("owms.receiving.conflicts")).isEqualTo(3);
+        assertThat(count("owms.receiving.conflicts.retries")).isEqualTo(2);
+    }
+
+    @Test void shall_not_retry_other_failures() {
+        var attempts = new AtomicInteger();
+        assertThatThrownBy(() -> testee.execute("capture", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException();
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(attempts).hasValue(1);
+        assertThat(count("owms.receiving.conflicts")).isZero();
+    }
+
+    @Test void shall_execute_once_per_idempotency_key() {
+        var attempts = new AtomicInteger();
+        assertThat(testee.execute("capture", "order-1", "key-1", "request", attempts::incrementAndGet)).isEqualTo(1);
+        assertThat(testee.execute("capture", "order-1", "key-1", "request", attempts::incrementAndGet)).isEqualTo(1);
+        assertThat(testee.execute("capture", "order-1", "key-2", "request", attempts::incrementAndGet)).isEqualTo(2);
+        assertThat(count("owms.receiving.conflicts.replayed")).isEqualTo(1);
+    }
+
+    @Test void shall_scope_idempotency_key_to_resource() {
+        var attempts = new AtomicInteger();
+        assertThat(testee.execute("capture", "order-1", "key-1", "request", attempts::incrementAndGet)).isEqualTo(1);
+        assertThat(testee.execute("capture", "order-2", "key-1", "request", attempts::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test void shall_reject_idempotency_key_reused_for_other_request() {
+        var attempts = new AtomicInteger();
+        assertThat(testee.execute("capture", "order-1", "key-1", "request", attempts::incrementAndGet)).isEqualTo(1);
+        assertThatThrownBy(() -> testee.execute("capture", "order-1", "key-1", "other request", attempts::incrementAndGet))
+                .isInstanceOf(ResourceExistsException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test void shall_not_remember_failures() {
+        var attempts = new AtomicInteger();
+        assertThatThrownBy(() -> testee.execute("capture", "order-1", "key-1", "request", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException();
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(testee.execute("capture", "order-1", "key-1", "request", attempts::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test void shall_execute_once_when_retry_arrives_while_completing() throws Exception {
+        var retryLookedUp = new CountDownLatch(1);
+        var firstCompleted = new CountDownLatch(1);
+        var retry = new ConflictRetry(transactionManager, meterRegistry, new ObjectMapper(), mock(Translator.class), 3,
+                Duration.ofMillis(1), Duration.ofMillis(5), 100, Duration.ofMinutes(1)) {
+            @Override
+            Execution remembered(String key) {
+                var remembered = super.remembered(key);
+                if ("retry".equals(Thread.currentThread().getName())) {
+                    // The retry misses the result and the first execution completes before the retry claims the key
+                    retryLookedUp.countDown();
+                    await(firstCompleted);
+                }
+                return remembered;
+            }
+        };
+        var executions = new AtomicInteger();
+        Supplier<Integer> work = () -> {
+            await(retryLookedUp);
+            return executions.incrementAndGet();
+        };
+
+        var first = Thread.ofPlatform().name("first").start(() -> {
+            retry.execute("capture", "order-1", "key-1", "request", work);
+            firstCompleted.countDown();
+        });
+        var result = new AtomicInteger();
+        var second = Thread.ofPlatform().name("retry").start(() -> result.set(retry.execute("capture", "order-1", "key-1", "request", work)));
+        first.join(5000);
+        second.join(5000);
+
+        assertThat(executions).hasValue(1);
+        assertThat(result).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(500, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test void shall_jitter_the_backoff() {
+        for (var attempt = 1; attempt < 10; attempt++) {
+            assertThat(testee.backoff(attempt)).isBetween(Duration.ZERO, Duration.ofMillis(5));
+        }
+    }
+}
@@ -353,7 +353,7 @@ class ReceivingControllerDocumentation extends AbstractTestBase {
     @Test void shall_do_a_BlindReceipt_with_TU() throws Exception {
         var vo = new TUCaptureRequestVO();
         var tu = new TransportUnitVO();
-        tu.setTransportUnitId("00000000000000004712"); // The captured TU
+        tu.setTransportUnitId("00000000000000004713"); // The captured TU, not known yet
         tu.setTransportUnitType("FP"); // The TU-Type of the captured TU
         var loc = new LocationVO("WE01"); // Where the goods have been captured
         vo.setTransportUnit(tu);
@@ -379,6 +379,25 @@ class ReceivingControllerDocumentation extends AbstractTestBase {
         ;
     }
 
+    @Test void shall_reject_a_BlindReceipt_with_known_TU() throws Exception {
+        var vo = new TUCaptureRequestVO();
+        var tu = new TransportUnitVO();
+        tu.setTransportUnitId("00000000000000004712"); // The captured TU is already known
+        tu.setTransportUnitType("FP");
+        vo.setTransportUnit(tu);
+        vo.setActualLocation(new LocationVO("WE01"));
+        mockMvc
+                .perform(
+                        post("/v1/capture")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(om.writeValueAsString(new CaptureRequestVO[]{vo}))
+                )
+                .andDo(document("br-tu-capture-exists", preprocessResponse(prettyPrint())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("messageKey", is(ReceivingMessages.TU_ALREADY_EXISTS)))
+        ;
+    }
+
     @Test void shall_update_order() throws Exception {
         var vo = new QuantityCaptureRequestVO();
         vo.setTransportUnit(new TransportUnitVO("4711"));
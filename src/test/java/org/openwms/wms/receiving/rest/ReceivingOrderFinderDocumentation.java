@@ -127,6 +127,40 @@ class ReceivingOrderFinderDocumentation extends AbstractTestBase {
         ;
     }
 
+    @Test void shall_search_orders() throws Exception {
+        mockMvc
+                .perform(
+                        get("/v1/receiving-orders/search")
+                                .param("sku", "C1")
+                                .param("state", "CREATED", "PROCESSING")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(1)))
+                .andExpect(jsonPath("$[0].orderId", equalTo("T4711")))
+                .andDo(document("order-search", preprocessResponse(prettyPrint())))
+        ;
+        mockMvc
+                .perform(
+                        get("/v1/receiving-orders/search")
+                                .param("transportUnitBK", "00000000000000004712")
+                                .param("positionState", "CREATED")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(1)))
+                .andExpect(jsonPath("$[0].orderId", equalTo("T4711")))
+                .andDo(document("order-search-tu", preprocessResponse(prettyPrint())))
+        ;
+        mockMvc
+                .perform(
+                        get("/v1/receiving-orders/search")
+                                .param("sku", "C1")
+                                .param("state", "COMPLETED")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(0)))
+        ;
+    }
+
     @Test void shall_NOT_find_order() throws Exception {
         mockMvc
                 .perform(
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import org.ameba.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.openwms.wms.receiving.ReceivingApplicationTest;
+import org.openwms.wms.receiving.spi.wms.inventory.SyncProductApi;
+import org.openwms.wms.receiving.spi.wms.location.LocationVO;
+import org.openwms.wms.receiving.spi.wms.location.SyncLocationApi;
+import org.openwms.wms.receiving.spi.wms.transport.SyncTransportUnitApi;
+import org.openwms.wms.receiving.spi.wms.transport.TransportUnitVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.wms.ReceivingConstants.SIMULATION_PROFILE;
+
+/**
+ * A SimulationIT.
+ *
+ * @author Heiko Scherrer
+ */
+@ActiveProfiles(SIMULATION_PROFILE)
+@ReceivingApplicationTest
+class SimulationIT {
+
+    @Autowired
+    private SyncProductApi productApi;
+    @Autowired
+    private SyncLocationApi locationApi;
+    @Autowired
+    private SyncTransportUnitApi transportUnitApi;
+    @Autowired
+    private SimulatedInventory inventory;
+
+    @Test void shall_serve_generated_products() {
+        assertThat(productApi.findBySKU("SIM00001").orElseThrow().getSku()).isEqualTo("SIM00001");
+        assertThat(productApi.findBySKUs(List.of("SIM00001", "UNKNOWN"))).hasSize(1);
+        assertThatThrownBy(() -> productApi.findBySKU("UNKNOWN")).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test void shall_keep_transport_units() {
+        var source = locationApi.findByErpCodeOpt("SIM00001").orElseThrow();
+        transportUnitApi.createTU(new TransportUnitVO("SIM-TU-1", source, "EURO"));
+        transportUnitApi.moveTU("SIM-TU-1", "SIM00002");
+
+        assertThat(inventory.findTransportUnit("SIM-TU-1")).get()
+                .extracting(TransportUnitVO::getActualLocation)
+                .extracting(LocationVO::getErpCode)
+                .isEqualTo("SIM00002");
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.simulation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ameba.exception.IntegrationLayerException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A SimulationTest.
+ *
+ * @author Heiko Scherrer
+ */
+class SimulationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Simulation simulation(MockEnvironment environment) {
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+        return new Simulation(environment, meterRegistry);
+    }
+
+    @Test void shall_sample_log_normal_latencies() {
+        var random = new Random(42);
+        var samples = new long[10_000];
+        for (var i = 0; i < samples.length; i++) {
+            samples[i] = LatencyDistribution.LOG_NORMAL.sampleNanos(Duration.ofMillis(10), Duration.ofMillis(100), random);
+        }
+        Arrays.sort(samples);
+        assertThat(samples[samples.length / 2]).isBetween(Duration.ofMillis(9).toNanos(), Duration.ofMillis(11).toNanos());
+        assertThat(samples[samples.length * 99 / 100]).isBetween(Duration.ofMillis(80).toNanos(), Duration.ofMillis(125).toNanos());
+    }
+
+    @Test void shall_sample_fixed_and_uniform_latencies() {
+        var random = new Random(42);
+        assertThat(LatencyDistribution.FIXED.sampleNanos(Duration.ofMillis(5), Duration.ZERO, random)).isEqualTo(5_000_000);
+        assertThat(LatencyDistribution.UNIFORM.sampleNanos(Duration.ofMillis(5), Duration.ZERO, random)).isBetween(0L, 10_000_000L);
+        assertThat(LatencyDistribution.NONE.sampleNanos(Duration.ofMillis(5), Duration.ZERO, random)).isZero();
+    }
+
+    @Test void shall_fail_at_the_configured_rate() {
+        var testee = simulation(new MockEnvironment()
+                .withProperty("owms.receiving.simulation.default.failure-rate", "0")
+                .withProperty("owms.receiving.simulation.products.failure-rate", "1"));
+
+        assertThat(testee.call(Simulation.LOCATIONS, () -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> testee.call(Simulation.PRODUCTS, () -> "ok")).isInstanceOf(IntegrationLayerException.class);
+        assertThat(meterRegistry.get("owms.receiving.simulation.calls").tag("service", Simulation.PRODUCTS).tag("outcome", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test void shall_delay_calls() {
+        var testee = simulation(new MockEnvironment()
+                .withProperty("owms.receiving.simulation.default.latency.distribution", "FIXED")
+                .withProperty("owms.receiving.simulation.default.latency.median", "50ms"));
+
+        var start = System.nanoTime();
+        testee.run(Simulation.TRANSPORT_UNITS, () -> {});
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+    }
+}
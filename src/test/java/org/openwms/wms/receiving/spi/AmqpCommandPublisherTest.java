@@ -0,0 +1,186 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ameba.exception.IntegrationLayerException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openwms.wms.receiving.spool.AmqpSpool;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A AmqpCommandPublisherTest.
+ *
+ * @author Heiko Scherrer
+ */
+class AmqpCommandPublisherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RabbitTemplate template = mock(RabbitTemplate.class);
+    private final AmqpSpool spool = mock(AmqpSpool.class);
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private AmqpCommandPublisher testee;
+
+    @BeforeEach
+    void setUp() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(template.getConnectionFactory()).thenReturn(connectionFactory);
+        when(template.invoke(any())).thenAnswer(inv -> inv.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(template));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (testee != null) {
+            testee.destroy();
+        }
+    }
+
+    private AmqpCommandPublisher publisher(String mode, int batchSize, Duration linger, int maxInFlight) {
+        testee = new AmqpCommandPublisher(template, spool, meterRegistry, mode, batchSize, linger, maxInFlight,
+                Duration.ofMillis(50), Duration.ofSeconds(5), 3);
+        return testee;
+    }
+
+    private void confirmWith(boolean... acks) {
+        var calls = new AtomicInteger();
+        doAnswer(inv -> {
+            var i = calls.getAndIncrement();
+            var ack = i < acks.length ? acks[i] : acks[acks.length - 1];
+            inv.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "rejected"));
+            return null;
+        }).when(template).convertAndSend(any(String.class), any(String.class), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test void shall_send_on_caller_thread_in_sync_mode() {
+        publisher("sync", 10, Duration.ofHours(1), 10).publish("ex", "rk", "cmd");
+        verify(spool).send("ex", "rk", "cmd");
+    }
+
+    @Test void shall_send_full_batch_immediately() {
+        confirmWith(true);
+        var publisher = publisher("async", 2, Duration.ofHours(1), 10);
+        publisher.publish("ex", "rk", "cmd1");
+        verify(template, timeout(200).times(0)).convertAndSend(any(String.class), any(String.class), any(Object.class), any(CorrelationData.class));
+
+        publisher.publish("ex", "rk", "cmd2");
+        verify(template, timeout(1000).times(2)).convertAndSend(eq("ex"), eq("rk"), any(Object.class), any(CorrelationData.class));
+        verify(template, timeout(1000)).invoke(any());
+        await().untilAsserted(() -> assertThat(meterRegistry.get("owms.receiving.amqp.published").tag("outcome", "ack").counter().count()).isEqualTo(2));
+    }
+
+    @Test void shall_send_after_linger_time() {
+        confirmWith(true);
+        publisher("async", 100, Duration.ofMillis(10), 10).publish("ex", "rk", "cmd");
+        verify(template, timeout(1000)).convertAndSend(eq("ex"), eq("rk"), eq("cmd"), any(CorrelationData.class));
+        await().untilAsserted(() -> assertThat(meterRegistry.get("owms.receiving.amqp.confirm.latency").timer().count()).isEqualTo(1));
+    }
+
+    @Test void shall_resend_nacked_commands() {
+        confirmWith(false, true);
+        publisher("async", 1, Duration.ofMillis(10), 10).publish("ex", "rk", "cmd");
+        verify(template, timeout(1000).times(2)).convertAndSend(eq("ex"), eq("rk"), eq("cmd"), any(CorrelationData.class));
+        await().untilAsserted(() -> {
+            assertThat(meterRegistry.get("owms.receiving.amqp.published").tag("outcome", "nack").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("owms.receiving.amqp.published").tag("outcome", "ack").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("owms.receiving.amqp.in-flight").gauge().value()).isZero();
+        });
+    }
+
+    @Test void shall_block_when_too_many_are_unconfirmed() {
+        var publisher = publisher("async", 1, Duration.ofMillis(10), 1);
+        publisher.publish("ex", "rk", "cmd1");
+        assertThatThrownBy(() -> publisher.publish("ex", "rk", "cmd2")).isInstanceOf(IntegrationLayerException.class);
+        verify(template, never()).convertAndSend(eq("ex"), eq("rk"), eq("cmd2"), any(CorrelationData.class));
+    }
+
+    @Test void shall_not_start_async_without_publisher_confirms() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+        assertThatThrownBy(() -> publisher("async", 1, Duration.ofMillis(10), 10)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test void shall_keep_order_of_commands_with_same_key_when_resending() {
+        confirmWith(false, true);
+        var publisher = publisher("async", 1, Duration.ofMillis(10), 10);
+        publisher.publish("ex", "create", "create", "TU1");
+        publisher.publish("ex", "move", "move", "TU1");
+
+        verify(template, timeout(1000)).convertAndSend(eq("ex"), eq("move"), eq("move"), any(CorrelationData.class));
+        InOrder order = inOrder(template);
+        order.verify(template, times(2)).convertAndSend(eq("ex"), eq("create"), eq("create"), any(CorrelationData.class));
+        order.verify(template).convertAndSend(eq("ex"), eq("move"), eq("move"), any(CorrelationData.class));
+    }
+
+    @Test void shall_spool_successors_behind_given_up_command() {
+        when(spool.isEnabled()).thenReturn(true);
+        confirmWith(false);
+        // The linger time keeps the first command from being given up before the second one is published
+        var publisher = publisher("async", 10, Duration.ofMillis(100), 10);
+        publisher.publish("ex", "create", "create", "TU1");
+        publisher.publish("ex", "move", "move", "TU1");
+
+        var order = inOrder(spool);
+        order.verify(spool, timeout(1000)).spool("ex", "create", "create");
+        order.verify(spool, timeout(1000)).spool("ex", "move", "move");
+        verify(template, never()).convertAndSend(eq("ex"), eq("move"), eq("move"), any(CorrelationData.class));
+    }
+
+    @Test void shall_spool_held_back_commands_at_shutdown() throws Exception {
+        when(spool.isEnabled()).thenReturn(true);
+        var publisher = publisher("async", 1, Duration.ofMillis(10), 10);
+        publisher.publish("ex", "create", "create", "TU1");
+        publisher.publish("ex", "move", "move", "TU1");
+        verify(template, timeout(1000)).convertAndSend(eq("ex"), eq("create"), eq("create"), any(CorrelationData.class));
+
+        publisher.destroy();
+        verify(spool).spool("ex", "move", "move");
+        verify(template, never()).convertAndSend(eq("ex"), eq("move"), eq("move"), any(CorrelationData.class));
+    }
+
+    @Test void shall_drop_held_back_commands_at_shutdown_without_spool() throws Exception {
+        var publisher = publisher("async", 1, Duration.ofMillis(10), 10);
+        publisher.publish("ex", "create", "create", "TU1");
+        publisher.publish("ex", "move", "move", "TU1");
+        verify(template, timeout(1000)).convertAndSend(eq("ex"), eq("create"), eq("create"), any(CorrelationData.class));
+
+        publisher.destroy();
+        verify(spool, never()).spool(any(), any(), any());
+        verify(template, never()).convertAndSend(eq("ex"), eq("move"), eq("move"), any(CorrelationData.class));
+        assertThat(meterRegistry.get("owms.receiving.amqp.published").tag("outcome", "dropped").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A MicroBatcherTest.
+ *
+ * @author Heiko Scherrer
+ */
+class MicroBatcherTest {
+
+    private final RemoteCallExecutor executor = new RemoteCallExecutor();
+    private final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void onAfter() {
+        executor.destroy();
+    }
+
+    private MicroBatcher<String, String> testee(Duration window, int maxSize, Function<Set<String>, Map<String, String>> lookup) {
+        return new MicroBatcher<>("test", window, maxSize, keys -> {
+            batches.add(Set.copyOf(keys));
+            return lookup.apply(keys);
+        }, executor, new SimpleMeterRegistry());
+    }
+
+    private static Map<String, String> upperCase(Set<String> keys) {
+        return keys.stream().filter(k -> !k.startsWith("missing")).collect(Collectors.toMap(k -> k, String::toUpperCase));
+    }
+
+    @Test void shall_merge_lookups_within_window() {
+        var testee = testee(Duration.ofMillis(100), 50, MicroBatcherTest::upperCase);
+
+        var a = testee.submit("a");
+        var b = testee.submit("b");
+        var a2 = testee.submit("a");
+        var missing = testee.submit("missing");
+
+        assertThat(a.join()).isEqualTo("A");
+        assertThat(b.join()).isEqualTo("B");
+        assertThat(a2).isSameAs(a);
+        assertThat(missing.join()).isNull();
+        assertThat(batches).containsExactly(Set.of("a", "b", "missing"));
+    }
+
+    @Test void shall_send_full_batch_immediately() {
+        var testee = testee(Duration.ofMinutes(1), 2, MicroBatcherTest::upperCase);
+
+        var a = testee.submit("a");
+        var b = testee.submit("b");
+
+        assertThat(a.join()).isEqualTo("A");
+        assertThat(b.join()).isEqualTo("B");
+        assertThat(batches).containsExactly(Set.of("a", "b"));
+    }
+
+    @Test void shall_complete_all_with_null_if_not_possible() {
+        var testee = testee(Duration.ofMillis(10), 50, keys -> null);
+
+        assertThat(testee.submit("a").join()).isNull();
+    }
+
+    @Test void shall_propagate_failure_to_all() {
+        var testee = testee(Duration.ofMillis(10), 50, keys -> {
+            throw new IllegalStateException("Service unavailable");
+        });
+
+        var a = testee.submit("a");
+        var b = testee.submit("b");
+
+        assertThatThrownBy(a::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(b::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A RemoteCallExecutorTest.
+ *
+ * @author Heiko Scherrer
+ */
+class RemoteCallExecutorTest {
+
+    private final RemoteCallExecutor testee = new RemoteCallExecutor();
+
+    @AfterEach
+    void onAfter() {
+        testee.destroy();
+    }
+
+    @Test void shall_supply_result() {
+        assertThat(testee.supply(() -> "result").join()).isEqualTo("result");
+    }
+
+    @Test void shall_interrupt_call_when_cancelled() throws Exception {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        var future = testee.supply(() -> block(started, interrupted));
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        future.cancel(true);
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test void shall_interrupt_call_when_dependent_is_cancelled() throws Exception {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        var future = testee.supply(() -> block(started, interrupted)).thenApply(String::length);
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        future.cancel(true);
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static String block(CountDownLatch started, CountDownLatch interrupted) {
+        started.countDown();
+        try {
+            Thread.sleep(60_000);
+            return "late";
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ameba.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A SpiIsolationTest.
+ *
+ * @author Heiko Scherrer
+ */
+class SpiIsolationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SpiIsolation testee = new SpiIsolation(new MockEnvironment()
+            .withProperty("owms.receiving.spi.isolation.default.minimum-number-of-calls", "2")
+            .withProperty("owms.receiving.spi.isolation.default.sliding-window-size", "2")
+            .withProperty("owms.receiving.spi.isolation.test.max-concurrent-calls", "1"), meterRegistry);
+
+    @Test void shall_route_to_fallback_when_open() {
+        for (var i = 0; i < 2; i++) {
+            String result = testee.call("failing", () -> {
+                throw new IllegalStateException("Service unavailable");
+            }, cause -> cause instanceof IllegalStateException ? "fallback" : "?");
+            assertThat(result).isEqualTo("fallback");
+        }
+
+        assertThat(testee.call("failing", () -> "remote", cause -> cause instanceof CallNotPermittedException ? "fallback" : "?"))
+                .isEqualTo("fallback");
+        assertThat(meterRegistry.get("owms.receiving.spi.breaker.state").tag("spi", "failing").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("owms.receiving.spi.calls").tag("spi", "failing").tag("outcome", "failure").timer().count()).isEqualTo(2);
+    }
+
+    @Test void shall_not_open_on_business_exceptions() {
+        for (var i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> testee.call("definite", () -> {
+                throw new NotFoundException("Product does not exist");
+            }, cause -> "fallback")).isInstanceOf(NotFoundException.class);
+        }
+        assertThat(testee.call("definite", () -> "remote", cause -> "fallback")).isEqualTo("remote");
+    }
+
+    @Test void shall_route_to_fallback_when_saturated() throws Exception {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var blocking = Thread.ofVirtual().start(() -> testee.call("test", () -> {
+            entered.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }, cause -> false));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(testee.call("test", () -> "remote", cause -> cause instanceof RejectedExecutionException ? "fallback" : "?"))
+                .isEqualTo("fallback");
+        release.countDown();
+        blocking.join();
+        assertThat(testee.call("test", () -> "remote", cause -> "fallback")).isEqualTo("remote");
+        assertThat(meterRegistry.get("owms.receiving.spi.rejected").tag("reason", "saturated").counter().count()).isEqualTo(1);
+    }
+}
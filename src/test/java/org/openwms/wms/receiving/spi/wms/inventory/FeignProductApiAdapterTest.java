@@ -0,0 +1,107 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi.wms.inventory;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.ameba.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.wms.receiving.spi.RemoteCallExecutor;
+import org.openwms.wms.receiving.spi.SpiIsolation;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.BY_PRODUCT_UNIT;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.BY_SKU;
+
+/**
+ * A FeignProductApiAdapterTest calls a real Feign client against a local HTTP server.
+ *
+ * @author Heiko Scherrer
+ */
+class FeignProductApiAdapterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RemoteCallExecutor executor = new RemoteCallExecutor();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status;
+    private HttpServer server;
+    private FeignProductApiAdapter testee;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        var productApi = Feign.builder()
+                .contract(new SpringMvcContract())
+                .retryer(Retryer.NEVER_RETRY)
+                .target(ProductApi.class, "http://localhost:" + server.getAddress().getPort());
+        var isolation = new SpiIsolation(new MockEnvironment()
+                .withProperty("owms.receiving.spi.isolation.default.minimum-number-of-calls", "2")
+                .withProperty("owms.receiving.spi.isolation.default.sliding-window-size", "2"), meterRegistry);
+        var productCaches = new ProductCaches(new ConcurrentMapCacheManager(BY_SKU, BY_PRODUCT_UNIT), meterRegistry, 100,
+                Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+        testee = new FeignProductApiAdapter(Validation.buildDefaultValidatorFactory().getValidator(), productApi, productCaches,
+                isolation, new ProductApiFallbackFactory(), executor, meterRegistry, false, Duration.ofMillis(5), 50);
+    }
+
+    @AfterEach
+    void onAfter() {
+        server.stop(0);
+        executor.destroy();
+    }
+
+    @Test void shall_open_breaker_when_remote_fails() {
+        status = 503;
+
+        for (var i = 0; i < 3; i++) {
+            assertThat(testee.findBySKU("C1")).as("Answered by the fallback").isEmpty();
+        }
+
+        assertThat(requests.get()).as("The open breaker doesn't let the third call pass").isEqualTo(2);
+        assertThat(meterRegistry.get("owms.receiving.spi.breaker.state").tag("spi", SpiIsolation.PRODUCTS).gauge().value()).isEqualTo(1);
+    }
+
+    @Test void shall_map_not_found_without_opening_breaker() {
+        status = 404;
+
+        for (var i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> testee.findBySKU("C1")).isInstanceOf(NotFoundException.class);
+        }
+        assertThat(testee.findProductByProductUnitPkey("PU1")).isEmpty();
+
+        assertThat(requests.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("owms.receiving.spi.breaker.state").tag("spi", SpiIsolation.PRODUCTS).gauge().value()).isZero();
+    }
+}
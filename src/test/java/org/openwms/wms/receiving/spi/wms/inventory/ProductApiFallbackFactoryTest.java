@@ -0,0 +1,62 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi.wms.inventory;
+
+import feign.FeignException;
+import feign.Request;
+import org.ameba.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A ProductApiFallbackFactoryTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ProductApiFallbackFactoryTest {
+
+    private final ProductApiFallbackFactory testee = new ProductApiFallbackFactory();
+
+    private static FeignException status(int status) {
+        var request = Request.create(Request.HttpMethod.GET, "/v1/products", Map.of(), null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("ProductApi#findBySKU", feign.Response.builder()
+                .status(status).reason("reason").request(request).headers(Map.of()).build());
+    }
+
+    @Test void shall_throw_not_found_on_single_lookups() {
+        var fallback = testee.create(status(404));
+        assertThatThrownBy(() -> fallback.findBySKU("C1")).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> fallback.findProductByProductUnitPkey("PU1")).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test void shall_return_empty_lists_on_not_found() {
+        var fallback = testee.create(status(404));
+        assertThat(fallback.findAll(0, 10)).isEmpty();
+        assertThat(fallback.findBySKUs(List.of("C1", "C2"))).isEmpty();
+    }
+
+    @Test void shall_fall_back_on_failures() {
+        var fallback = testee.create(status(503));
+        assertThat(fallback.findBySKU("C1")).isNull();
+        assertThat(fallback.findAll(0, 10)).isNull();
+    }
+}
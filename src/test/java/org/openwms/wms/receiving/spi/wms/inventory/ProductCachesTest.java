@@ -0,0 +1,117 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spi.wms.inventory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.BY_PRODUCT_UNIT;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.BY_SKU;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.Cause.DELETED;
+import static org.openwms.wms.receiving.spi.wms.inventory.ProductCaches.Cause.UPDATED;
+
+/**
+ * A ProductCachesTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ProductCachesTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCaches testee;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(BY_SKU, BY_PRODUCT_UNIT);
+        meterRegistry = new SimpleMeterRegistry();
+        testee = new ProductCaches(cacheManager, meterRegistry, 100, Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+        cache("C1", "P1", "PU1", "PU2");
+        cache("C2", "P2", "PU3");
+    }
+
+    private void cache(String sku, String pKey, String... productUnits) {
+        var vo = ProductVO.newBuilder().pKey(pKey).sku(sku).build();
+        cacheManager.getCache(BY_SKU).put(sku, vo);
+        testee.registerSku(vo);
+        for (var pu : productUnits) {
+            cacheManager.getCache(BY_PRODUCT_UNIT).put(pu, vo);
+            testee.registerProductUnit(pu, vo);
+        }
+    }
+
+    @Test void shall_evict_sku_with_productUnit_aliases() {
+        testee.evict(DELETED, "C1", null);
+        assertThat(cacheManager.getCache(BY_SKU).get("C1")).isNull();
+        assertThat(cacheManager.getCache(BY_PRODUCT_UNIT).get("PU1")).isNull();
+        assertThat(cacheManager.getCache(BY_PRODUCT_UNIT).get("PU2")).isNull();
+        assertThat(cacheManager.getCache(BY_SKU).get("C2")).isNotNull();
+        assertThat(cacheManager.getCache(BY_PRODUCT_UNIT).get("PU3")).isNotNull();
+        assertThat(meterRegistry.counter(ProductCaches.EVICTIONS, "cause", "deleted").count()).isEqualTo(3);
+    }
+
+    @Test void shall_evict_by_product_pKey() {
+        testee.evict(DELETED, null, "P2");
+        assertThat(cacheManager.getCache(BY_SKU).get("C2")).isNull();
+        assertThat(cacheManager.getCache(BY_PRODUCT_UNIT).get("PU3")).isNull();
+        assertThat(cacheManager.getCache(BY_SKU).get("C1")).isNotNull();
+    }
+
+    @Test void shall_evict_old_sku_of_renamed_product() {
+        testee.evict(UPDATED, "C1-NEW", "P1");
+        assertThat(cacheManager.getCache(BY_SKU).get("C1")).isNull();
+        assertThat(cacheManager.getCache(BY_PRODUCT_UNIT).get("PU1")).isNull();
+    }
+
+    @Test void shall_refresh_cached_entries_in_place() {
+        var updated = ProductVO.newBuilder().pKey("P1").sku("C1").build();
+        updated.setDescription("Updated");
+        testee.refresh(UPDATED, updated);
+        assertThat(cacheManager.getCache(BY_SKU).get("C1", ProductVO.class).getDescription()).isEqualTo("Updated");
+        assertThat(cacheManager.getCache(BY_PRODUCT_UNIT).get("PU2", ProductVO.class).getDescription()).isEqualTo("Updated");
+        assertThat(meterRegistry.counter(ProductCaches.REFRESHES, "cause", "updated").count()).isEqualTo(3);
+
+        testee.refresh(UPDATED, ProductVO.newBuilder().pKey("P9").sku("C9").build());
+        assertThat(cacheManager.getCache(BY_SKU).get("C9")).isNull();
+    }
+
+    @Test void shall_forget_not_found_sku_when_created() {
+        testee.rememberNotFound("C9");
+        assertThat(testee.isNotFound("C9")).isTrue();
+        testee.evict(ProductCaches.Cause.CREATED, "C9", "P9");
+        assertThat(testee.isNotFound("C9")).isFalse();
+    }
+
+    @Test void shall_not_resurrect_entry_evicted_during_refresh() {
+        cacheManager.getCache(BY_SKU).evict("C1");
+        testee.refresh(UPDATED, ProductVO.newBuilder().pKey("P1").sku("C1").build());
+        assertThat(cacheManager.getCache(BY_SKU).get("C1")).isNull();
+        assertThat(cacheManager.getCache(BY_PRODUCT_UNIT).get("PU1")).isNotNull();
+    }
+
+    @Test void shall_bound_the_index_by_age() throws Exception {
+        testee = new ProductCaches(cacheManager, meterRegistry, 100, Duration.ofMinutes(1), 100, Duration.ofMillis(1));
+        cache("C3", "P3", "PU4");
+        Thread.sleep(10);
+        testee.evict(DELETED, null, "P3");
+        assertThat(cacheManager.getCache(BY_SKU).get("C3")).as("The index entry has expired").isNotNull();
+    }
+}
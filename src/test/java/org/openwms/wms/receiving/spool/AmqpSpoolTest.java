@@ -0,0 +1,236 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.spool;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateConfigurer;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A AmqpSpoolTest.
+ *
+ * @author Heiko Scherrer
+ */
+class AmqpSpoolTest {
+
+    @TempDir
+    Path directory;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private final Channel channel = mock(Channel.class);
+    private final AtomicBoolean brokerAvailable = new AtomicBoolean();
+    private AmqpSpool testee;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var connection = mock(Connection.class);
+        when(connection.createChannel(anyBoolean())).thenReturn(channel);
+        when(connectionFactory.createConnection()).thenAnswer(inv -> {
+            if (!brokerAvailable.get()) {
+                throw new AmqpConnectException(new ConnectException("Connection refused"));
+            }
+            return connection;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (testee != null) {
+            testee.destroy();
+        }
+    }
+
+    private AmqpSpool spool(DataSize segmentSize) {
+        return spool(segmentSize, 8, 100);
+    }
+
+    private AmqpSpool spool(DataSize segmentSize, int sendThreads, int sendQueueCapacity) {
+        testee = new AmqpSpool(new RabbitTemplate(), connectionFactory, meterRegistry, new RabbitTemplateConfigurer(new RabbitProperties()),
+                true, directory, segmentSize, AmqpSpool.FsyncPolicy.ALWAYS, Duration.ofHours(1), Duration.ofMillis(200),
+                sendThreads, sendQueueCapacity);
+        return testee;
+    }
+
+    @Test void shall_send_directly_when_broker_is_available() throws Exception {
+        brokerAvailable.set(true);
+        spool(DataSize.ofKilobytes(1)).send("ex", "rk", "event");
+
+        verify(channel).basicPublish(eq("ex"), eq("rk"), eq(false), any(AMQP.BasicProperties.class), eq("event".getBytes()));
+        assertThat(testee.depth()).isZero();
+    }
+
+    @Test void shall_spool_and_drain_in_order() throws Exception {
+        var spool = spool(DataSize.ofBytes(300));
+        for (var i = 0; i < 10; i++) {
+            spool.send("ex", "rk", "event" + i);
+        }
+        verify(channel, never()).basicPublish(any(), any(), anyBoolean(), any(AMQP.BasicProperties.class), any());
+        assertThat(spool.depth()).isEqualTo(10);
+        assertThat(directory.toFile().list()).hasSizeGreaterThan(1);
+
+        brokerAvailable.set(true);
+        spool.drain();
+
+        InOrder inOrder = inOrder(channel);
+        for (var i = 0; i < 10; i++) {
+            inOrder.verify(channel).basicPublish(eq("ex"), eq("rk"), eq(false), any(AMQP.BasicProperties.class), eq(("event" + i).getBytes()));
+        }
+        assertThat(spool.depth()).isZero();
+        assertThat(spool.bytes()).isZero();
+        assertThat(meterRegistry.get("owms.receiving.amqp.spool.drained").counter().count()).isEqualTo(10);
+        assertThat(directory.toFile().list()).hasSize(1);
+    }
+
+    @Test void shall_recover_spooled_messages_after_restart() throws Exception {
+        var spool = spool(DataSize.ofKilobytes(1));
+        spool.send("ex", "rk", "event1");
+        spool.send("ex", "rk", "event2");
+        brokerAvailable.set(true);
+        spool.destroy();
+
+        var recovered = spool(DataSize.ofKilobytes(1));
+        assertThat(recovered.depth()).isEqualTo(2);
+        recovered.drain();
+        verify(channel).basicPublish(eq("ex"), eq("rk"), eq(false), any(AMQP.BasicProperties.class), eq("event1".getBytes()));
+        verify(channel).basicPublish(eq("ex"), eq("rk"), eq(false), any(AMQP.BasicProperties.class), eq("event2".getBytes()));
+    }
+
+    @Test void shall_cancel_and_spool_when_broker_is_slow() throws Exception {
+        brokerAvailable.set(true);
+        var cancelled = new CountDownLatch(1);
+        doAnswer(inv -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+            }
+            return null;
+        }).when(channel).basicPublish(any(), any(), anyBoolean(), any(AMQP.BasicProperties.class), any());
+        var spool = spool(DataSize.ofKilobytes(1));
+
+        var start = System.nanoTime();
+        spool.send("ex", "rk", "event");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(spool.depth()).isEqualTo(1);
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test void shall_spool_when_too_many_messages_are_sent() throws Exception {
+        brokerAvailable.set(true);
+        var release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            // Ignores the cancellation, like a thread stuck in a socket write
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            return null;
+        }).when(channel).basicPublish(any(), any(), anyBoolean(), any(AMQP.BasicProperties.class), any());
+        var spool = spool(DataSize.ofKilobytes(1), 2, 1);
+        var start = new CountDownLatch(1);
+        var senders = new ArrayList<Thread>();
+        try {
+            for (var i = 0; i < 10; i++) {
+                var event = "event" + i;
+                senders.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        start.await();
+                        spool.send("ex", "rk", event);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            start.countDown();
+            for (var sender : senders) {
+                sender.join(5000);
+            }
+            assertThat(spool.depth()).isEqualTo(10);
+            assertThat(Thread.getAllStackTraces().keySet()).filteredOn(t -> t.getName().startsWith("amqp-spool-sender-")).hasSizeLessThanOrEqualTo(2);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test void shall_keep_all_message_properties() {
+        var properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding("UTF-8");
+        properties.setContentLength(5);
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setPriority(3);
+        properties.setCorrelationId("correlation");
+        properties.setReplyTo("reply");
+        properties.setExpiration("1000");
+        properties.setMessageId("message");
+        properties.setTimestamp(new Date(1000L));
+        properties.setType("type");
+        properties.setAppId("app");
+        properties.setHeader("string", "value");
+        properties.setHeader("int", 1);
+        properties.setHeader("long", 2L);
+        properties.setHeader("boolean", true);
+        properties.setHeader("decimal", new BigDecimal("1.5"));
+        properties.setHeader("list", List.of("a", 1));
+        properties.setHeader("map", Map.of("key", 1L));
+
+        var decoded = AmqpSpool.decode(AmqpSpool.encode(new AmqpSpool.SpooledMessage("ex", "rk", new Message("event".getBytes(), properties))));
+
+        assertThat(decoded.exchange()).isEqualTo("ex");
+        assertThat(decoded.routingKey()).isEqualTo("rk");
+        assertThat(decoded.message().getBody()).isEqualTo("event".getBytes());
+        assertThat(decoded.message().getMessageProperties()).isEqualTo(properties);
+        assertThat(decoded.message().getMessageProperties().getHeaders()).containsExactlyInAnyOrderEntriesOf(properties.getHeaders());
+    }
+}
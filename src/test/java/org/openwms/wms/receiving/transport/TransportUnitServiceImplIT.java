@@ -22,6 +22,8 @@ import org.openwms.wms.receiving.AbstractTestBase;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -62,4 +64,19 @@ class TransportUnitServiceImplIT extends AbstractTestBase {
         assertThat(tu.getBarcode()).isEqualTo("4709");
         assertThat(tu.isNew()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void upsertAll() {
+        var tu = new TransportUnit("4710", "EXT_/0000/0000/0000/0000");
+        tu.setForeignPKey("1111-1112");
+        var other = new TransportUnit("4711", "EXT_/0000/0000/0000/0000");
+        other.setForeignPKey("1111-1113");
+        assertThat(service.upsertAll(List.of(tu, other))).isEqualTo(2);
+
+        var moved = new TransportUnit("4710", "INIT/0000/0000/0000/0000");
+        var unchanged = new TransportUnit("4711", "EXT_/0000/0000/0000/0000");
+        assertThat(service.upsertAll(List.of(moved, unchanged))).isEqualTo(1);
+        assertThat(service.upsert(new TransportUnit("4710", "INIT/0000/0000/0000/0000")).getActualLocation())
+                .isEqualTo("INIT/0000/0000/0000/0000");
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.wms.receiving.transport.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.openwms.common.location.api.messages.LocationMO;
+import org.openwms.common.transport.api.messages.TransportUnitMO;
+import org.openwms.wms.receiving.transport.TransportUnit;
+import org.openwms.wms.receiving.transport.TransportUnitMapper;
+import org.openwms.wms.receiving.transport.TransportUnitService;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openwms.wms.ReceivingConstants.POISON_MESSAGE;
+
+/**
+ * A TransportUnitBatchMessageListenerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TransportUnitBatchMessageListenerTest {
+
+    private final TransportUnitService service = mock(TransportUnitService.class);
+    private final Validator validator = mock(Validator.class);
+    private final AmqpTemplate amqpTemplate = mock(AmqpTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransportUnitBatchMessageListener testee = new TransportUnitBatchMessageListener(service,
+            Mappers.getMapper(TransportUnitMapper.class), validator, amqpTemplate, "dle", meterRegistry);
+
+    @SuppressWarnings("unchecked")
+    @Test void shall_keep_only_the_last_location_per_barcode() {
+        testee.handle(List.of(
+                message("tu.event.created", "4711", "EXT_/0000/0000/0000/0000"),
+                message("tu.event.moved.CONV/0001", "4711", "CONV/0000/0000/0000/0001"),
+                message("tu.event.moved.CONV/0002", "4712", "CONV/0000/0000/0000/0002"),
+                message("tu.event.moved.CONV/0003", "4711", "CONV/0000/0000/0000/0003"),
+                message("tu.event.deleted", "4713", "CONV/0000/0000/0000/0003")
+        ));
+
+        ArgumentCaptor<Collection<TransportUnit>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(service).upsertAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(TransportUnit::getBarcode, TransportUnit::getActualLocation)
+                .containsExactly(
+                        tuple("4711", "CONV/0000/0000/0000/0003"),
+                        tuple("4712", "CONV/0000/0000/0000/0002")
+                );
+        assertThat(meterRegistry.counter("owms.receiving.tu.events.received").count()).isEqualTo(5);
+        assertThat(meterRegistry.counter("owms.receiving.tu.events.conflated").count()).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test void shall_dead_letter_only_invalid_messages() {
+        when(validator.validate(argThat(mo -> mo instanceof TransportUnitMO tu && "4712".equals(tu.getBarcode())), any(Class[].class)))
+                .thenThrow(new ConstraintViolationException("Invalid", Set.of()));
+
+        testee.handle(List.of(
+                message("tu.event.moved.CONV/0001", "4711", "CONV/0000/0000/0000/0001"),
+                message("tu.event.moved.CONV/0002", "4712", "CONV/0000/0000/0000/0002")
+        ));
+
+        ArgumentCaptor<Collection<TransportUnit>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(service).upsertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(TransportUnit::getBarcode).containsExactly("4711");
+        verify(amqpTemplate).convertAndSend(eq("dle"), eq(POISON_MESSAGE), argThat((Object mo) -> mo instanceof TransportUnitMO tu && "4712".equals(tu.getBarcode())), any(MessagePostProcessor.class));
+        assertThat(meterRegistry.counter("owms.receiving.tu.events.rejected").count()).isEqualTo(1);
+    }
+
+    @Test void shall_reject_batch_violating_constraints() {
+        when(service.upsertAll(any())).thenThrow(new DataIntegrityViolationException("Duplicate"));
+
+        assertThatThrownBy(() -> testee.handle(List.of(message("tu.event.moved.CONV/0001", "4711", "CONV/0000/0000/0000/0001"))))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class);
+    }
+
+    @Test void shall_leave_transient_failures_to_the_retry() {
+        when(service.upsertAll(any())).thenThrow(new CannotAcquireLockException("Lock timeout"));
+
+        assertThatThrownBy(() -> testee.handle(List.of(message("tu.event.moved.CONV/0001", "4711", "CONV/0000/0000/0000/0001"))))
+                .isInstanceOf(CannotAcquireLockException.class);
+    }
+
+    private static Message<TransportUnitMO> message(String routingKey, String barcode, String location) {
+        var mo = TransportUnitMO.newBuilder().withBarcode(barcode).withActualLocation(LocationMO.ofId(location)).build();
+        return MessageBuilder.withPayload(mo).setHeader(AmqpHeaders.RECEIVED_ROUTING_KEY, routingKey).build();
+    }
+}
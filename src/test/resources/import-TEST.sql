@@ -8,8 +8,8 @@ delete from WMS_REC_PRODUCT;
 delete from WMS_REC_TRANSPORT_UNIT;
 
 -- Product
-insert into WMS_REC_PRODUCT (c_pk,c_pid,c_foreign_pid,c_sku,c_label,c_description,c_base_unit_type,c_base_unit_qty,c_overbooking_allowed,c_ol,c_created,c_created_by) values (1000,RANDOM(),RANDOM(),'C1', 'L_C1','Skateboard gearings 608ZZ','PC@org.openwms.core.units.api.Piece','1',false,0,now(),'SYSTEM');
-insert into WMS_REC_PRODUCT (c_pk,c_pid,c_foreign_pid,c_sku,c_label,c_description,c_base_unit_type,c_base_unit_qty,c_overbooking_allowed,c_ol,c_created,c_created_by) values (1001,RANDOM(),RANDOM(),'C2', 'L_C2','Notch M8','PC@org.openwms.core.units.api.Piece','1',true,0,now(),'SYSTEM');
+insert into WMS_REC_PRODUCT (c_pk,c_pid,c_foreign_pid,c_sku,c_label,c_description,c_base_unit_type,c_base_unit_qty,c_overbooking_allowed,c_ol,c_created,c_created_by,c_verified_at) values (1000,RANDOM(),RANDOM(),'C1', 'L_C1','Skateboard gearings 608ZZ','PC@org.openwms.core.units.api.Piece','1',false,0,now(),'SYSTEM',now());
+insert into WMS_REC_PRODUCT (c_pk,c_pid,c_foreign_pid,c_sku,c_label,c_description,c_base_unit_type,c_base_unit_qty,c_overbooking_allowed,c_ol,c_created,c_created_by,c_verified_at) values (1001,RANDOM(),RANDOM(),'C2', 'L_C2','Notch M8','PC@org.openwms.core.units.api.Piece','1',true,0,now(),'SYSTEM',now());
 
 -- ReceivingOrder
 insert into WMS_REC_ORDER (c_pk,c_pid,c_order_id,c_order_state,c_locked,c_priority,c_start_earliest_at,c_ol,c_created,c_created_by) values (1000,'d8099b89-bdb6-40d3-9580-d56aeadd578f','T4711','CREATED',false,0,now(),0,now(),'SYSTEM');